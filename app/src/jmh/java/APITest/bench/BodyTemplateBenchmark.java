@@ -0,0 +1,97 @@
+package APITest.bench;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import APITest.utils.RequestBodies;
+
+/**
+ * Cost of producing request bodies from text blocks, formatted and encoded
+ * on every call as the tests used to, against the pre-encoded
+ * {@link RequestBodies} templates. Each invocation builds one body per 64
+ * bytes of payload.
+ */
+@State(Scope.Benchmark)
+public class BodyTemplateBenchmark {
+
+    private static final String REGISTRATION = """
+            {
+                "clientName": "Postman",
+                "clientEmail": "%s"
+            }
+        """;
+
+    private static final String NEW_OBJECT = """
+            {
+               "name": "Apple MacBook Pro 16",
+               "data": {
+                  "year": 2019,
+                  "price": 1849.99,
+                  "CPU model": "Intel Core i9",
+                  "Hard disk size": "1 TB"
+               }
+            }
+        """;
+
+    @Param({"1024", "102400", "1048576", "10485760"})
+    public int payloadBytes;
+
+    private final OutputStream sink = OutputStream.nullOutputStream();
+
+    private String[] emails;
+
+    private int count;
+
+    @Setup
+    public void setup() {
+        this.count = Math.max(1, this.payloadBytes / 64);
+        this.emails = new String[64];
+        for (int i = 0; i < this.emails.length; i++) {
+            this.emails[i] = "client" + i + "@example.com";
+        }
+    }
+
+    @Benchmark
+    public void registrationFormatted(Blackhole blackhole) {
+        for (int i = 0; i < this.count; i++) {
+            String body = REGISTRATION.formatted(this.emails[i & 63]);
+            blackhole.consume(body.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Benchmark
+    public void registrationRendered(Blackhole blackhole) {
+        for (int i = 0; i < this.count; i++) {
+            blackhole.consume(RequestBodies.CLIENT_REGISTRATION.render(this.emails[i & 63]));
+        }
+    }
+
+    @Benchmark
+    public void registrationWritten() throws IOException {
+        for (int i = 0; i < this.count; i++) {
+            RequestBodies.CLIENT_REGISTRATION.writeTo(this.sink, this.emails[i & 63]);
+        }
+    }
+
+    @Benchmark
+    public void objectEncoded(Blackhole blackhole) {
+        for (int i = 0; i < this.count; i++) {
+            blackhole.consume(NEW_OBJECT.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    @Benchmark
+    public void objectRendered(Blackhole blackhole) {
+        for (int i = 0; i < this.count; i++) {
+            blackhole.consume(RequestBodies.NEW_OBJECT.render());
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package APITest.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import APITest.utils.DataFactory;
+import APITest.utils.Order;
+import APITest.utils.data.TestDataPools;
+import net.datafaker.Faker;
+
+/**
+ * Cost of generating client e-mails and order payloads per call with Faker,
+ * as {@code DataFactory.generateRandomEmail()} does, against drawing them
+ * from pre-generated {@link TestDataPools}. Each invocation generates one
+ * value per 64 bytes of payload, about the size of one registration or
+ * order body.
+ *
+ * <p>On a single core the pools' producer threads compete with the
+ * benchmark thread, so the pooled figures include building the values, not
+ * just handing them out.</p>
+ */
+@State(Scope.Benchmark)
+public class DataFactoryBenchmark {
+
+    @Param({"1024", "102400", "1048576", "10485760"})
+    public int payloadBytes;
+
+    private final DataFactory dataFactory = new DataFactory();
+
+    private final Faker faker = new Faker();
+
+    private TestDataPools pools;
+
+    private int count;
+
+    @Setup
+    public void setup() {
+        this.pools = new TestDataPools(42);
+        this.count = Math.max(1, this.payloadBytes / 64);
+    }
+
+    @TearDown
+    public void teardown() {
+        this.pools.close();
+    }
+
+    @Benchmark
+    public void emailsFaker(Blackhole blackhole) {
+        for (int i = 0; i < this.count; i++) {
+            blackhole.consume(this.dataFactory.generateRandomEmail());
+        }
+    }
+
+    @Benchmark
+    public void emailsPooled(Blackhole blackhole) {
+        for (int i = 0; i < this.count; i++) {
+            blackhole.consume(this.pools.nextEmail());
+        }
+    }
+
+    @Benchmark
+    public void ordersFaker(Blackhole blackhole) {
+        for (int i = 0; i < this.count; i++) {
+            blackhole.consume(new Order(this.faker.number().numberBetween(1, 7), this.faker.name().fullName()));
+        }
+    }
+
+    @Benchmark
+    public void ordersPooled(Blackhole blackhole) {
+        for (int i = 0; i < this.count; i++) {
+            blackhole.consume(this.pools.nextOrder());
+        }
+    }
+}
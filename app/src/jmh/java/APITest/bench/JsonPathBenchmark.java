@@ -0,0 +1,75 @@
+package APITest.bench;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import APITest.utils.json.StreamingJsonPath;
+import io.restassured.path.json.JsonPath;
+
+/**
+ * Cost of reading {@code data.capacity} with
+ * {@code response.jsonPath().getString(...)}: RestAssured parses the whole
+ * body into a Groovy object graph before evaluating the path. The {@code *Streaming} variants read the same values
+ * with {@link StreamingJsonPath}; compare {@code gc.alloc.rate.norm} for
+ * memory.
+ *
+ * <p>{@code data.capacity} comes first in the record, so its streaming read
+ * stops after a few tokens; {@code [*].id} over a book list has to visit
+ * every element and shows the cost of a full pass.</p>
+ */
+@State(Scope.Benchmark)
+public class JsonPathBenchmark {
+
+    private static final StreamingJsonPath CAPACITY = StreamingJsonPath.compile("data.capacity");
+
+    private static final StreamingJsonPath BOOK_IDS = StreamingJsonPath.compile("[*].id");
+
+    @Param({"1024", "102400", "1048576", "10485760"})
+    public int payloadBytes;
+
+    private String body;
+
+    private byte[] bytes;
+
+    private String books;
+
+    private byte[] bookBytes;
+
+    @Setup
+    public void setup() {
+        this.body = Payloads.objectRecord(this.payloadBytes);
+        this.bytes = this.body.getBytes(StandardCharsets.UTF_8);
+        this.books = Payloads.bookList(this.payloadBytes);
+        this.bookBytes = this.books.getBytes(StandardCharsets.UTF_8);
+        if (!this.capacity().equals(this.capacityStreaming())
+                || this.bookIds().size() != this.bookIdsStreaming().size()) {
+            throw new IllegalStateException("JsonPath and StreamingJsonPath disagree");
+        }
+    }
+
+    @Benchmark
+    public String capacity() {
+        return new JsonPath(this.body).getString("data.capacity");
+    }
+
+    @Benchmark
+    public String capacityStreaming() {
+        return CAPACITY.extract(this.bytes).getString("data.capacity");
+    }
+
+    @Benchmark
+    public List<Object> bookIds() {
+        return new JsonPath(this.books).getList("id");
+    }
+
+    @Benchmark
+    public List<Object> bookIdsStreaming() {
+        return BOOK_IDS.extract(this.bookBytes).getList("[*].id");
+    }
+}
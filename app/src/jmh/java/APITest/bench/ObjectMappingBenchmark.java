@@ -0,0 +1,68 @@
+package APITest.bench;
+
+import java.nio.charset.StandardCharsets;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import APITest.utils.Order;
+import APITest.utils.OrderResponse;
+import APITest.utils.json.CodecMapper;
+import APITest.utils.json.MappingMode;
+
+/**
+ * Per-request cost of {@code TokenAuthTest.placeOrder}'s object mapping:
+ * serializing one {@link Order} and deserializing one
+ * {@link OrderResponse}, through Jackson data binding against the
+ * precomputed codecs of {@link CodecMapper}. Each invocation maps one
+ * request per 64 bytes of payload, so the {@code gc.alloc.rate.norm}
+ * figure divided by that count is the allocation per request.
+ */
+@State(Scope.Benchmark)
+public class ObjectMappingBenchmark {
+
+    @Param({"1024", "102400", "1048576", "10485760"})
+    public int payloadBytes;
+
+    private final CodecMapper reflective = CodecMapper.of(MappingMode.REFLECTIVE);
+
+    private final CodecMapper codec = CodecMapper.of(MappingMode.CODEC);
+
+    private Order[] orders;
+
+    private byte[][] responses;
+
+    private int count;
+
+    @Setup
+    public void setup() {
+        this.count = Math.max(1, this.payloadBytes / 64);
+        this.orders = new Order[64];
+        this.responses = new byte[64][];
+        for (int i = 0; i < 64; i++) {
+            this.orders[i] = new Order(i % 6 + 1, "Columbina " + i);
+            this.responses[i] = ("{\"created\":true,\"orderId\":\"" + String.format("%021d", i) + "\"}")
+                .getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    @Benchmark
+    public void requestsReflective(Blackhole blackhole) {
+        for (int i = 0; i < this.count; i++) {
+            blackhole.consume(this.reflective.write(this.orders[i & 63]));
+            blackhole.consume(this.reflective.read(this.responses[i & 63], OrderResponse.class));
+        }
+    }
+
+    @Benchmark
+    public void requestsCodec(Blackhole blackhole) {
+        for (int i = 0; i < this.count; i++) {
+            blackhole.consume(this.codec.write(this.orders[i & 63]));
+            blackhole.consume(this.codec.read(this.responses[i & 63], OrderResponse.class));
+        }
+    }
+}
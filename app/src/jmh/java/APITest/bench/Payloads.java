@@ -0,0 +1,97 @@
+package APITest.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import APITest.utils.Order;
+
+/**
+ * Canned payloads of a requested size, shaped like the responses the suite
+ * handles, so the benchmarks measure parsing cost as bodies grow.
+ *
+ * <p>Each builder repeats or pads realistic content until the payload
+ * reaches at least {@code bytes} characters (all content is ASCII, so
+ * characters equal bytes).</p>
+ */
+final class Payloads {
+
+    private Payloads() { }
+
+    /**
+     * A {@code GET /objects/1} response whose {@code data} object carries
+     * extra entries, as the RESTful API returns for richer objects. The
+     * {@code data.capacity} field stays first in {@code data}.
+     */
+    static String objectRecord(int bytes) {
+        StringBuilder json = new StringBuilder(bytes + 128)
+            .append("{\"id\":\"1\",\"name\":\"Google Pixel 6 Pro\",\"data\":")
+            .append("{\"capacity\":\"128 GB\",\"color\":\"Cloudy White\"");
+        for (int i = 0; json.length() < bytes; i++) {
+            json.append(",\"spec").append(i).append("\":\"value of specification number ").append(i).append('"');
+        }
+        return json.append("}}").toString();
+    }
+
+    /**
+     * A {@code GET /books} response: an array of book summaries matching
+     * {@code schemas/books-schema.json}.
+     */
+    static String bookList(int bytes) {
+        StringBuilder json = new StringBuilder(bytes + 128).append('[');
+        for (int i = 1; json.length() < bytes; i++) {
+            if (i > 1) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(i)
+                .append(",\"name\":\"The Russian - volume ").append(i)
+                .append("\",\"type\":\"").append(i % 2 == 0 ? "non-fiction" : "fiction")
+                .append("\",\"available\":").append(i % 5 != 0).append('}');
+        }
+        return json.append(']').toString();
+    }
+
+    /**
+     * An array of {@code POST /orders} responses, i.e. what a batch of
+     * {@code OrderResponse} deserializations reads.
+     */
+    static String orderResponses(int bytes) {
+        StringBuilder json = new StringBuilder(bytes + 128).append('[');
+        for (int i = 0; json.length() < bytes; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"created\":true,\"orderId\":\"").append(String.format("%021d", i)).append("\"}");
+        }
+        return json.append(']').toString();
+    }
+
+    /**
+     * Enough {@link Order}s to serialize to roughly {@code bytes}.
+     */
+    static List<Order> orders(int bytes) {
+        // {"bookId":1,"customerName":"Columbina"} is 40 bytes plus a separator.
+        int count = Math.max(1, bytes / 41);
+        List<Order> orders = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            orders.add(new Order(i % 6 + 1, "Columbina"));
+        }
+        return orders;
+    }
+
+    /**
+     * A {@code NumberToWords} SOAP response whose body is padded with
+     * additional result elements before the one {@code SOAPTest} reads.
+     */
+    static String soapResponse(int bytes) {
+        StringBuilder xml = new StringBuilder(bytes + 512)
+            .append("<?xml version=\"1.0\" encoding=\"utf-8\"?>")
+            .append("<soap:Envelope xmlns:soap=\"http://schemas.xmlsoap.org/soap/envelope/\"><soap:Body>")
+            .append("<m:NumberToWordsResponse xmlns:m=\"http://www.dataaccess.com/webservicesserver/\">");
+        for (int i = 0; xml.length() < bytes; i++) {
+            xml.append("<m:Trace>step ").append(i).append(" of the number conversion</m:Trace>");
+        }
+        return xml.append("<m:NumberToWordsResult>five hundred </m:NumberToWordsResult>")
+            .append("</m:NumberToWordsResponse></soap:Body></soap:Envelope>")
+            .toString();
+    }
+}
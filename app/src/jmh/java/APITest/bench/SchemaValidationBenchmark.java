@@ -0,0 +1,60 @@
+package APITest.bench;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import APITest.utils.schema.SchemaRegistry;
+import io.restassured.module.jsv.JsonSchemaValidator;
+
+/**
+ * Cost of validating a book list against {@code schemas/books-schema.json}:
+ * {@link #validate()} uses RestAssured's matcher, which reloads the schema on
+ * every call, and {@link #validateCached()} the compiled schema of
+ * {@link SchemaRegistry} used by {@code BookValidatorSchema.validateBookSchema}.
+ * {@link #validateStreaming()} checks the same body item by item from a
+ * stream, as {@code validateBookSchemaStreaming} does; compare
+ * {@code gc.alloc.rate.norm} for the memory side.
+ */
+@State(Scope.Benchmark)
+public class SchemaValidationBenchmark {
+
+    @Param({"1024", "102400", "1048576", "10485760"})
+    public int payloadBytes;
+
+    private String body;
+
+    private byte[] bytes;
+
+    @Setup
+    public void setup() throws IOException {
+        this.body = Payloads.bookList(this.payloadBytes);
+        this.bytes = this.body.getBytes(StandardCharsets.UTF_8);
+        if (!this.validate() || !this.validateCached() || !this.validateStreaming()) {
+            throw new IllegalStateException("Canned book list does not match books-schema.json");
+        }
+    }
+
+    @Benchmark
+    public boolean validate() {
+        return JsonSchemaValidator.matchesJsonSchemaInClasspath("schemas/books-schema.json").matches(this.body);
+    }
+
+    @Benchmark
+    public boolean validateCached() {
+        return SchemaRegistry.matchesJsonSchemaInClasspath("schemas/books-schema.json").matches(this.body);
+    }
+
+    @Benchmark
+    public boolean validateStreaming() throws IOException {
+        return SchemaRegistry.shared()
+            .validateArray("schemas/books-schema.json", new ByteArrayInputStream(this.bytes))
+            .isValid();
+    }
+}
@@ -0,0 +1,50 @@
+package APITest.bench;
+
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import APITest.utils.Order;
+import APITest.utils.OrderResponse;
+
+/**
+ * Jackson costs behind {@code body(newOrder)} and
+ * {@code extract().as(OrderResponse.class)} in {@code TokenAuthTest}:
+ * serializing {@link Order}s and deserializing {@link OrderResponse}s,
+ * batched up to the requested payload size.
+ */
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    @Param({"1024", "102400", "1048576", "10485760"})
+    public int payloadBytes;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private List<Order> orders;
+
+    private String responses;
+
+    @Setup
+    public void setup() {
+        this.orders = Payloads.orders(this.payloadBytes);
+        this.responses = Payloads.orderResponses(this.payloadBytes);
+    }
+
+    @Benchmark
+    public byte[] serializeOrders() throws JsonProcessingException {
+        return this.mapper.writeValueAsBytes(this.orders);
+    }
+
+    @Benchmark
+    public OrderResponse[] deserializeOrderResponses() throws JsonProcessingException {
+        return this.mapper.readValue(this.responses, OrderResponse[].class);
+    }
+}
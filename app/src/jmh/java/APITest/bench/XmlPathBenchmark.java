@@ -0,0 +1,48 @@
+package APITest.bench;
+
+import java.nio.charset.StandardCharsets;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import APITest.utils.soap.SoapReader;
+import io.restassured.path.xml.XmlPath;
+
+/**
+ * Cost of reading {@code NumberToWordsResult} out of a SOAP envelope, with
+ * RestAssured's {@code XmlPath} and with the single StAX pass of
+ * {@link SoapReader} used by {@code SOAPTest}. The result element comes last
+ * in the canned response, so both have to scan the whole body.
+ */
+@State(Scope.Benchmark)
+public class XmlPathBenchmark {
+
+    @Param({"1024", "102400", "1048576", "10485760"})
+    public int payloadBytes;
+
+    private String body;
+
+    private byte[] bytes;
+
+    @Setup
+    public void setup() {
+        this.body = Payloads.soapResponse(this.payloadBytes);
+        this.bytes = this.body.getBytes(StandardCharsets.UTF_8);
+        if (!this.numberToWordsResult().equals(this.numberToWordsResultStreaming())) {
+            throw new IllegalStateException("XmlPath and SoapReader disagree");
+        }
+    }
+
+    @Benchmark
+    public String numberToWordsResult() {
+        return new XmlPath(this.body).getString("Envelope.Body.NumberToWordsResponse.NumberToWordsResult");
+    }
+
+    @Benchmark
+    public String numberToWordsResultStreaming() {
+        return SoapReader.read(this.bytes, "NumberToWordsResult").get("NumberToWordsResult");
+    }
+}
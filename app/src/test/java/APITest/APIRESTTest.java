@@ -2,11 +2,19 @@ package APITest;
 
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.greaterThan;
+import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+import APITest.utils.ApiSpecs;
+import APITest.utils.RequestBodies;
+import APITest.utils.json.JsonValues;
+import APITest.utils.json.StreamingJsonPath;
+import APITest.utils.fixture.ObjectFixtures;
+
 import static io.restassured.RestAssured.given;
 import io.restassured.http.ContentType;
 import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
 
 /**
  * Integration tests for the RESTful API at https://api.restful-api.dev.
@@ -20,48 +28,80 @@ import io.restassured.response.Response;
 public class APIRESTTest {
 
     /**
-     * Base URI of the API under test.
+     * Fields read by {@link #validateFieldsInRecordWithJsonPath()}.
+     */
+    private static final StreamingJsonPath RECORD_FIELDS = StreamingJsonPath.compile("name", "data.capacity");
+
+    /**
+     * Request specification for the API under test.
      * <p>
-     * This URL is used as the base for all requests performed by the test methods.
+     * Built once in {@link #setup()} from {@link ApiSpecs#objects()} and
+     * shared by all test methods, so they can run in parallel without
+     * touching RestAssured's global configuration.
      * </p>
      */
-    private final String BASE_URI = "https://api.restful-api.dev";
+    private RequestSpecification spec;
+
+    /**
+     * Objects used by {@link #updateRecord()} and {@link #deleteRecord()},
+     * one each.
+     */
+    private static final int OBJECTS_NEEDED = 2;
+
+    /**
+     * The objects provisioned by {@link #setup()}.
+     */
+    private ObjectFixtures.Batch objects;
+
+    /**
+     * Creates the test class; TestNG builds the specification in
+     * {@link #setup()}.
+     */
+    public APIRESTTest() { }
+
+    /**
+     * Creates an instance bound to {@code spec}, so the CRUD helpers can be
+     * reused outside TestNG, e.g. as load-test scenarios.
+     *
+     * @param spec request specification targeting the {@code /objects} API
+     */
+    APIRESTTest(RequestSpecification spec) {
+        this.spec = spec;
+    }
+
+    /**
+     * Builds the request specification used by every test in this class and
+     * starts creating the objects the update and delete tests need, in one
+     * concurrent batch, while the other tests run.
+     */
+    @BeforeClass
+    public void setup() {
+        this.spec = ApiSpecs.objects();
+        this.objects = ObjectFixtures.shared()
+            .provision(APIRESTTest.class.getSimpleName(), OBJECTS_NEEDED, this::createItem);
+    }
 
     /**
      * Creates a new object via POST /objects and returns the created object's id.
      *
      * <p>The payload represents a device with name and nested data fields.
-     * The method logs request and response details, asserts a 200 status code,
-     * and extracts the generated {@code id} field from the response.</p>
+     * The method asserts a 200 status code
+     * and extracts the generated {@code id} field from the response, which
+     * it reports to {@link ObjectFixtures} for the end-of-suite sweep.</p>
      *
      * @return the id of the newly-created object as a String
      */
-    private String createItem() {
-        String requestBody = """
-            {
-                "name": "Apple MacBook Pro 16",
-                "data": {
-                    "year": 2019,
-                    "price": 1849.99,
-                    "CPU model": "Intel Core i9",
-                    "Hard disk size": "1 TB"
-                }
-            }
-        """;
-
-        String id = given()
-            .baseUri(this.BASE_URI)
-            .accept(ContentType.ANY)
+    String createItem() {
+        String id = given(this.spec)
             .contentType(ContentType.JSON)
-            .log().all()
-            .body(requestBody)
+            .body(RequestBodies.NEW_OBJECT.render())
         .when()
             .post("/objects")
         .then()
-            .statusCode(200).log().all()
+            .statusCode(200)
             .extract()
             .path("id");
-        System.out.println("Created record ID: " + id);
+        ObjectFixtures.shared().created(id);
         return id;
     }
 
@@ -73,16 +113,12 @@ public class APIRESTTest {
      */
     @Test
     public void getRecords() {
-        given()
-            .baseUri(this.BASE_URI)
-            .accept(ContentType.ANY)
-            .log().all()
+        given(this.spec)
         .when()
             .get("/objects")
         .then()
             .statusCode(200)
-            .body("size()", greaterThan(0))
-            .log().all();
+            .body("size()", greaterThan(0));
     }
 
     /**
@@ -94,10 +130,7 @@ public class APIRESTTest {
     @Test
     public void getRecordById() {
 
-        given()
-            .baseUri(this.BASE_URI)
-            .accept(ContentType.ANY)
-            .log().all()
+        given(this.spec)
         .when()
             .get("/objects/1")
         .then()
@@ -106,117 +139,97 @@ public class APIRESTTest {
             .body("id", equalTo("1"))
             .body("name", equalTo("Google Pixel 6 Pro"))
             .body("data.color", equalTo("Cloudy White"))
-            .body("data.capacity", equalTo("128 GB"))
-            .log().all();
+            .body("data.capacity", equalTo("128 GB"));
     }
 
     
     /**
      * Creates a new record by sending a POST to /objects with a sample payload.
      *
-     * <p>Verifies that the server returns HTTP 200 on successful creation.</p>
+     * <p>Verifies that the server returns HTTP 200 on successful creation.
+     * The record is deleted by the end-of-suite sweep of
+     * {@link ObjectFixtures}.</p>
      */
     @Test
     public void createNewRcord() {
-        String requestBody = """
-            {
-                "name": "Apple MacBook Pro 16",
-                "data": {
-                    "year": 2019,
-                    "price": 1849.99,
-                    "CPU model": "Intel Core i9",
-                    "Hard disk size": "1 TB"
-                }
-            }
-        """;
-        
-        given()
-            .baseUri(this.BASE_URI)
-            .accept(ContentType.ANY)
-            .contentType(ContentType.JSON)
-            .log().all()
-            .body(requestBody)
-        .when()
-            .post("/objects")
-        .then()
-            .statusCode(200)
-            .log().all();
+
+        this.createItem();
     }
 
     /**
-     * Creates a temporary object and updates it via PUT /objects/{id}.
+     * Updates a temporary object via PUT /objects/{id}.
      *
-     * <p>The method first creates a new item (using {@link #createItem()}), then
-     * sends an updated payload to the PUT endpoint and verifies HTTP 200.</p>
+     * <p>The method takes an object provisioned by {@link #setup()}, waiting
+     * for it if needed, then updates it with {@link #updateItem(String)},
+     * which verifies HTTP 200.</p>
      */
     @Test
     public void updateRecord() {
 
-        String createdId = this.createItem();
-
-        String requestBody = """
-            {
-                "name": "Apple MacBook Pro 16",
-                "data": {
-                    "year": 2019,
-                    "price": 2049.99,
-                    "CPU model": "Intel Core i9",
-                    "Hard disk size": "1 TB",
-                    "color": "silver"
-                }
-            }
-        """;
-
-        given()
-            .baseUri(this.BASE_URI)
-            .accept(ContentType.ANY)
+        String createdId = this.objects.take();
+
+        this.updateItem(createdId);
+
+    }
+
+    /**
+     * Replaces the object {@code id} via PUT /objects/{id} with a new price
+     * and color, asserting HTTP 200.
+     *
+     * @param id the id of an object created through {@link #createItem()}
+     */
+    void updateItem(String id) {
+        given(this.spec)
             .contentType(ContentType.JSON)
-            .log().all()
-            .body(requestBody)
+            .body(RequestBodies.UPDATED_OBJECT.render())
         .when()
-            .put("/objects/"+createdId)
+            .put("/objects/{id}", id)
         .then()
-            .statusCode(200)
-            .log().all();
-
+            .statusCode(200);
     }
 
     /**
-     * Creates and deletes a record, then verifies that the deletion message references the id.
+     * Deletes a record provisioned by {@link #setup()}, then verifies that the deletion message references the id.
      *
      * <p>Ensures delete operation returns HTTP 200 and the expected confirmation message.</p>
      */
     @Test
     public void deleteRecord() {
 
-        String createdId = this.createItem();
+        String createdId = this.objects.take();
 
-        given()
-            .baseUri(this.BASE_URI)
-            .accept(ContentType.ANY)
+        this.deleteItem(createdId);
+    }
+
+    /**
+     * Deletes the object {@code id} via DELETE /objects/{id} and asserts the
+     * confirmation message references it.
+     *
+     * @param id the id of an object created through {@link #createItem()}
+     */
+    void deleteItem(String id) {
+        given(this.spec)
             .contentType(ContentType.JSON)
-            .log().all()
         .when()
-            .delete("/objects/"+createdId)
+            .delete("/objects/{id}", id)
         .then()
             .statusCode(200)
-            .body("message", equalTo("Object with id = "+createdId+" has been deleted."))
-            .log().all(); 
+            .body("message", equalTo("Object with id = "+id+" has been deleted."));
+        ObjectFixtures.shared().deleted(id);
     }
 
     /**
      * Retrieves object with id=1, extracts fields, prints them, and asserts expected values.
      *
-     * <p>This method demonstrates extracting a full Response object and using JsonPath
-     * to access nested fields before asserting their expected values.</p>
+     * <p>This method demonstrates extracting a full Response object and reading
+     * nested fields with {@link StreamingJsonPath}, which stops parsing once both
+     * fields are found, before asserting their expected values.</p>
      */
     @Test
     public void validateFieldsInRecordWithJsonPath() {
 
         Response response = 
-            given()
-                .baseUri(this.BASE_URI)
-                .accept(ContentType.ANY)
+            given(this.spec)
                 .get("/objects/1")
             .then()
                 .statusCode(200)
@@ -224,8 +237,9 @@ public class APIRESTTest {
                 .response();
 
         
-        String name = response.jsonPath().getString("name");
-        String capacity = response.jsonPath().getString("data.capacity");
+        JsonValues fields = RECORD_FIELDS.extract(response.asByteArray());
+        String name = fields.getString("name");
+        String capacity = fields.getString("data.capacity");
 
         System.out.println("Name: " + name);
         System.out.println("Capacity: " + capacity);
@@ -29,12 +29,11 @@ public class APITest {
             .baseUri(this.BASE_URI)
             .accept(ContentType.ANY)
             .contentType(ContentType.JSON)
-            .log().all()
             .body(requestBody)
         .when()
             .post("/objects")
         .then()
-            .statusCode(200).log().all()
+            .statusCode(200)
             .extract()
             .path("id");
         System.out.println("Created record ID: " + id);
@@ -46,13 +45,11 @@ public class APITest {
         given()
             .baseUri(this.BASE_URI)
             .accept(ContentType.ANY)
-            .log().all()
         .when()
             .get("/objects")
         .then()
             .statusCode(200)
-            .body("size()", greaterThan(0))
-            .log().all();
+            .body("size()", greaterThan(0));
     }
 
     @Test
@@ -61,7 +58,6 @@ public class APITest {
         given()
             .baseUri(this.BASE_URI)
             .accept(ContentType.ANY)
-            .log().all()
         .when()
             .get("/objects/1")
         .then()
@@ -70,8 +66,7 @@ public class APITest {
             .body("id", equalTo("1"))
             .body("name", equalTo("Google Pixel 6 Pro"))
             .body("data.color", equalTo("Cloudy White"))
-            .body("data.capacity", equalTo("128 GB"))
-            .log().all();
+            .body("data.capacity", equalTo("128 GB"));
     }
 
     
@@ -93,13 +88,11 @@ public class APITest {
             .baseUri(this.BASE_URI)
             .accept(ContentType.ANY)
             .contentType(ContentType.JSON)
-            .log().all()
             .body(requestBody)
         .when()
             .post("/objects")
         .then()
-            .statusCode(200)
-            .log().all();
+            .statusCode(200);
     }
 
     @Test
@@ -124,13 +117,11 @@ public class APITest {
             .baseUri(this.BASE_URI)
             .accept(ContentType.ANY)
             .contentType(ContentType.JSON)
-            .log().all()
             .body(requestBody)
         .when()
             .put("/objects/"+createdId)
         .then()
-            .statusCode(200)
-            .log().all();
+            .statusCode(200);
 
     }
 
@@ -143,13 +134,11 @@ public class APITest {
             .baseUri(this.BASE_URI)
             .accept(ContentType.ANY)
             .contentType(ContentType.JSON)
-            .log().all()
         .when()
             .delete("/objects/"+createdId)
         .then()
             .statusCode(200)
-            .body("message", equalTo("Object with id = "+createdId+" has been deleted."))
-            .log().all(); 
+            .body("message", equalTo("Object with id = "+createdId+" has been deleted."));
     }
 
     @Test
@@ -3,6 +3,8 @@ package APITest;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+import APITest.utils.RequestBodies;
+import APITest.utils.SuiteConfig;
 import static io.restassured.RestAssured.given;
 import io.restassured.http.ContentType;
 
@@ -21,11 +23,6 @@ public class AuthTest {
      */
     private final String BASE_URI = "https://postman-echo.com/basic-auth";
 
-    /**
-     * Base URI for the Simple Books API used in {@link #tokenAuthTest()}.
-     */
-    private final String BASE_URI_2 = "https://simple-books-api.click";
-    
     /**
      * TestNG setup placeholder. Left intentionally minimal because each test
      * configures its own target URIs as needed.
@@ -48,7 +45,6 @@ public class AuthTest {
         .when()
             .get(this.BASE_URI)
         .then()
-            .log().all()
             .statusCode(200);
     }
 
@@ -60,23 +56,13 @@ public class AuthTest {
      */
     public void tokenAuthTest() {
 
-         String requestBody = """
-            {
-                "clientName": "Postman",
-                "clientEmail": "fatencio@example11.com"
-            }
-        """;
-        
         given()
-            .baseUri(this.BASE_URI_2)
+            .baseUri(SuiteConfig.booksBaseUri())
             .contentType("application/json")
             .accept(ContentType.ANY)
-            .body(requestBody)
-        .log().all()
+            .body(RequestBodies.CLIENT_REGISTRATION.render("fatencio@example11.com"))
         .when()
-            .post("/api-clients/")
-        .then()
-            .log().all();
+            .post("/api-clients/");
  
     }
 }
@@ -0,0 +1,80 @@
+package APITest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.testng.Reporter;
+import org.testng.annotations.AfterSuite;
+
+import APITest.utils.SuiteConfig;
+import APITest.utils.baseline.Baseline;
+import APITest.utils.baseline.BaselineMode;
+import APITest.utils.baseline.GateReport;
+import APITest.utils.baseline.RegressionGate;
+import APITest.utils.metrics.HttpMetrics;
+import APITest.utils.metrics.MetricsListener;
+
+/**
+ * Performance regression gate of a suite, run after every other test of it.
+ *
+ * <p>With {@code -Dsuite.baseline=record} it adds the run's per-endpoint
+ * latency distributions and throughput, as collected by
+ * {@link MetricsListener}, to {@code <suite.baseline.dir>/<suite>.json},
+ * which keeps the last {@code suite.baseline.runs} recorded runs; record a
+ * few. With {@code -Dsuite.baseline=compare} it judges the run against them
+ * with a {@link RegressionGate} and fails if an endpoint or the throughput
+ * regressed, e.g. when {@code GET /books}, which
+ * {@code BookValidatorSchema.validResponseTime} calls repeatedly, got
+ * significantly slower. Record and compare against the same environment:
+ * a baseline taken against the stub server says nothing about the public
+ * APIs.</p>
+ */
+public class BaselineGate {
+
+    @AfterSuite(alwaysRun = true)
+    public void gate() throws IOException {
+        BaselineMode mode = BaselineMode.configured();
+        if (mode == BaselineMode.OFF) {
+            return;
+        }
+        HttpMetrics metrics = MetricsListener.active();
+        if (metrics == null) {
+            throw new IllegalStateException("-D" + SuiteConfig.BASELINE + "=" + SuiteConfig.baseline()
+                + " needs the HTTP metrics, which -D" + SuiteConfig.METRICS + "=off disables");
+        }
+        String suite = Reporter.getCurrentTestResult().getTestContext().getSuite().getName();
+        Baseline.Run run = Baseline.Run.of(metrics);
+        Path file = Baseline.file(SuiteConfig.baselineDir(), suite);
+
+        if (mode == BaselineMode.RECORD) {
+            Baseline baseline = Files.exists(file) ? Baseline.read(file) : new Baseline(suite, List.of());
+            baseline = baseline.plus(run, SuiteConfig.baselineRuns());
+            baseline.write(file);
+            log(String.format("Baseline (%s): %d requests over %d endpoints, %.1f requests/s, recorded as run %d "
+                + "of %s", suite, run.requests(), run.latencies().size(), run.throughput(), baseline.runs().size(),
+                file));
+            return;
+        }
+
+        if (!Files.exists(file)) {
+            throw new IllegalStateException("No baseline at " + file + "; record one with -D"
+                + SuiteConfig.BASELINE + "=record");
+        }
+        Baseline baseline = Baseline.read(file);
+        GateReport report = RegressionGate.configured().compare(baseline, run);
+        String summary = String.format("Baseline (%s): %d runs, p95 limit +%.0f%%, throughput limit -%.0f%%, "
+            + "alpha %s%n%s", suite, baseline.runs().size(), SuiteConfig.baselineP95Increase() * 100,
+            SuiteConfig.baselineThroughputDrop() * 100, SuiteConfig.baselineAlpha(), report);
+        log(summary);
+        if (!report.passed()) {
+            throw new AssertionError("Performance regressed against " + file + "\n" + summary);
+        }
+    }
+
+    private static void log(String message) {
+        System.out.println(message);
+        Reporter.log(message);
+    }
+}
@@ -0,0 +1,81 @@
+package APITest;
+
+import static org.testng.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import APITest.utils.ApiSpecs;
+import APITest.utils.SuiteConfig;
+import APITest.utils.load.LoadReport;
+import APITest.utils.load.LoadRunner;
+import APITest.utils.load.LoadScenario;
+
+/**
+ * Load tests replaying the functional flows as workload scenarios.
+ *
+ * <p>Each test repeats a flow through {@link LoadRunner} for
+ * {@code suite.load.duration} seconds, prints the per-endpoint throughput and
+ * latency table, writes it to {@code build/reports/load/} and fails when more
+ * than {@code suite.load.maxErrorRate} of the iterations failed.</p>
+ *
+ * <p>Run with {@code gradle loadTest}, which starts the in-process stubs
+ * unless {@code -Dsuite.books.stub=false -Dsuite.objects.stub=false} is
+ * given. {@code -Dsuite.load.rate=50} switches to a fixed arrival rate.</p>
+ */
+public class LoadTest {
+
+    private APIRESTTest objects;
+
+    private TokenAuthTest orders;
+
+    @BeforeClass(groups = {"load"})
+    public void setup() {
+        this.objects = new APIRESTTest(ApiSpecs.objects());
+
+        this.orders = new TokenAuthTest(ApiSpecs.books());
+    }
+
+    /**
+     * Creates, updates and deletes an object on every iteration, as
+     * {@code APIRESTTest.updateRecord} and {@code deleteRecord} do.
+     */
+    @Test(groups = {"load"})
+    public void objectsCrud() throws Exception {
+        this.run(new LoadScenario("objects-crud", () -> {
+            String id = this.objects.createItem();
+            this.objects.updateItem(id);
+            this.objects.deleteItem(id);
+        }));
+    }
+
+    /**
+     * Places a book order on every iteration, as
+     * {@code TokenAuthTest.submitOrder} does.
+     */
+    @Test(groups = {"load"})
+    public void submitOrders() throws Exception {
+        this.run(new LoadScenario("orders", this.orders::placeOrder));
+    }
+
+    private void run(LoadScenario scenario) throws Exception {
+        LoadReport report = new LoadRunner(scenario).run();
+        System.out.println(report);
+
+        Path reports = Path.of("build", "reports", "load");
+        try {
+            Files.createDirectories(reports);
+            Files.writeString(reports.resolve(scenario.name() + ".txt"), report.toString());
+        } catch (IOException e) {
+            System.out.println("Could not write load report: " + e.getMessage());
+        }
+
+        assertTrue(report.iterations() > 0, "No iteration of " + scenario.name() + " completed");
+        assertTrue(report.failureRatio() <= SuiteConfig.loadMaxErrorRate(),
+            String.format("%s failed %d of %d iterations", scenario.name(), report.failures(), report.iterations()));
+    }
+}
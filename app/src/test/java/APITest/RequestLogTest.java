@@ -0,0 +1,147 @@
+package APITest;
+
+import static io.restassured.RestAssured.given;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import APITest.utils.DataFactory;
+import APITest.utils.RequestBodies;
+import APITest.utils.async.AsyncApi;
+import APITest.utils.logging.LogMode;
+import APITest.utils.logging.RequestLog;
+import APITest.utils.logging.RequestLogFilter;
+import APITest.utils.schedule.TaskGraph;
+import APITest.utils.schedule.TaskGraph.Task;
+import APITest.utils.stub.BooksApiStub;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.http.ContentType;
+import io.restassured.specification.RequestSpecification;
+
+/**
+ * Checks that the per-test request log, printed for failed tests in
+ * {@code -Dsuite.log=failures} mode, shows the exchanges readably.
+ *
+ * <p>Each test opens a fresh {@link RequestLog} and sends through its own
+ * {@code failures}-mode {@link RequestLogFilter}, so the checks hold
+ * whatever {@code -Dsuite.log} the suite runs with. Requests go to a
+ * private in-process stub. Run with {@code gradle harnessTest}, which
+ * checks the suite's own infrastructure rather than the APIs.</p>
+ */
+public class RequestLogTest {
+
+    private BooksApiStub books;
+
+    private RequestSpecification spec;
+
+    private final RequestLogFilter filter = new RequestLogFilter(LogMode.FAILURES);
+
+    /**
+     * A fixture looking up a missing book, which fails.
+     */
+    private Task<String> missingBook;
+
+    /**
+     * Starts the stub and a fixture graph whose only task fails, so its
+     * request is recorded after this method's log was closed.
+     */
+    @BeforeClass(groups = {"harness"})
+    public void setup() throws IOException {
+        this.books = new BooksApiStub().start();
+        this.spec = new RequestSpecBuilder()
+            .setBaseUri(this.books.baseUri())
+            .setContentType(ContentType.JSON)
+            .addFilter(this.filter)
+            .build();
+
+        TaskGraph fixtures = new TaskGraph(RequestLogTest.class.getSimpleName());
+        this.missingBook = fixtures.add("missing book", () -> given(this.spec)
+            .get("/books/{id}", 9997)
+            .then()
+            .statusCode(200)
+            .extract()
+            .path("name"));
+        fixtures.start();
+    }
+
+    @AfterClass(groups = {"harness"}, alwaysRun = true)
+    public void tearDown() {
+        this.books.stop();
+    }
+
+    /**
+     * Sends a {@link RequestBodies} template, rendered to {@code byte[]},
+     * and asserts the log shows it as JSON rather than as a list of byte
+     * values.
+     */
+    @Test(groups = {"harness"})
+    public void logsRenderedBodiesAsJson() {
+        String email = new DataFactory().uniqueEmail();
+        RequestLog.open();
+        given(this.spec)
+            .body(RequestBodies.CLIENT_REGISTRATION.render(email))
+            .when()
+            .post("/api-clients")
+            .then()
+            .statusCode(201);
+
+        String log = text(RequestLog.current());
+        assertTrue(log.contains("\"clientEmail\"") && log.contains(email), "Request body not logged as JSON:\n" + log);
+        assertFalse(log.contains("[123, 34"), "Request body logged as bytes:\n" + log);
+    }
+
+    /**
+     * Fails two {@link AsyncApi} lookups of missing books and asserts the
+     * test's log holds both, although they were sent from other threads.
+     */
+    @Test(groups = {"harness"})
+    public void logsAsyncRequestsWithTheTest() {
+        RequestLog.open();
+        AsyncApi async = new AsyncApi(this.spec);
+
+        assertThrows(AssertionError.class, () -> AsyncApi.awaitAll(List.of(
+            async.get("/books/{id}", 9998).then(response -> response.statusCode(200)),
+            async.get("/books/{id}", 9999).then(response -> response.statusCode(200)))));
+
+        String log = text(RequestLog.current());
+        assertTrue(log.contains("/books/9998") && log.contains("/books/9999"),
+            "Async requests missing from the log:\n" + log);
+        assertTrue(log.contains("No book with id 9999"), "Async response missing from the log:\n" + log);
+    }
+
+    /**
+     * Awaits the failing fixture started from {@link #setup()} and asserts
+     * its request lands in the awaiting test's log.
+     */
+    @Test(groups = {"harness"})
+    public void logsFailedFixturesWithTheAwaitingTest() {
+        RequestLog.open();
+
+        assertThrows(AssertionError.class, this.missingBook::await);
+
+        String log = text(RequestLog.current());
+        assertTrue(log.contains("/books/9997"), "Fixture request missing from the log:\n" + log);
+        assertTrue(log.contains("No book with id 9997"), "Fixture response missing from the log:\n" + log);
+    }
+
+    /**
+     * Returns the log as printed for a failed test.
+     */
+    private static String text(RequestLog log) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (PrintStream out = new PrintStream(buffer, true, StandardCharsets.UTF_8)) {
+            log.printTo("RequestLogTest", out);
+        }
+        return buffer.toString(StandardCharsets.UTF_8);
+    }
+}
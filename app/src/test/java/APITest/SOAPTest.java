@@ -3,6 +3,10 @@ package APITest;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import APITest.utils.SuiteConfig;
+import APITest.utils.soap.SoapEnvelope;
+import APITest.utils.soap.SoapReader;
+import APITest.utils.soap.SoapValues;
 import io.restassured.RestAssured;
 import io.restassured.response.Response;
 
@@ -10,56 +14,52 @@ import io.restassured.response.Response;
  * Tests SOAP NumberConversion service (NumberToWords operation) using RestAssured.
  *
  * <p>This test class sends a SOAP request to the NumberConversion web service
- * hosted at dataaccess.com and verifies that the response contains the expected
- * textual number representation.</p>
+ * hosted at dataaccess.com (or its in-process stub, with
+ * {@code -Dsuite.soap.stub=true}) and verifies that the response contains the
+ * expected textual number representation.</p>
  */
 public class SOAPTest {
 
     /**
-     * Base URI for the SOAP NumberConversion service used in tests.
+     * Namespace of the NumberConversion operations.
      */
-    private final String BASE_URI = "https://www.dataaccess.com/webservicesserver/NumberConversion.wso";
+    static final String NAMESPACE = "http://www.dataaccess.com/webservicesserver/";
 
     /**
      * Sends a SOAP NumberToWords request for the integer 500 and verifies:
      * <ul>
      *   <li>HTTP response status code is 200</li>
-     *   <li>Response body contains the phrase "five hundred"</li>
+     *   <li>The NumberToWordsResult contains the phrase "five hundred"</li>
      * </ul>
      *
-     * <p>The test uses RestAssured to build and post an XML SOAP envelope and
-     * extracts the NumberToWordsResult from the SOAP response for assertion.</p>
+     * <p>The envelope is written with {@link SoapEnvelope} and the result is read
+     * with {@link SoapReader} in one streaming pass over the response, without
+     * building an XML tree.</p>
      */
     @Test(groups = {"api-soap"})
     public void sampleSOAPTest() {
-        
-        String requestBody = """
-        <?xml version="1.0" encoding="utf-8"?>
-        <soap:Envelope xmlns:soap="http://schemas.xmlsoap.org/soap/envelope/">
-            <soap:Body>
-                <NumberToWords xmlns="http://www.dataaccess.com/webservicesserver/">
-                    <ubiNum>500</ubiNum>
-                </NumberToWords>
-            </soap:Body>
-        </soap:Envelope>
-        """;
+
+        byte[] requestBody = SoapEnvelope.request(NAMESPACE, "NumberToWords")
+            .with("ubiNum", 500)
+            .toBytes();
 
         Response response = RestAssured.given()
-            .contentType("text/xml; charset=utf-8")
+            .contentType(SoapEnvelope.CONTENT_TYPE)
             .body(requestBody)
-            .post(this.BASE_URI)
+            .post(SuiteConfig.soapUri())
             .then()
             .statusCode(200)
-            .log().all()
             .extract().response();
 
-        System.out.println("Response SOAP Body: " + response.getBody().asString());
-
         //Extracting value from the response XML
-        String result = response.xmlPath().getString("Envelope.Body.NumberToWordsResponse.NumberToWordsResult").toLowerCase().trim();
+        SoapValues values = SoapReader.read(response.asByteArray(), "NumberToWordsResult");
+        Assert.assertFalse(values.isFault(), "SOAP fault: " + values.fault());
+        Assert.assertNotNull(values.get("NumberToWordsResult"), "Response has no NumberToWordsResult.");
+
+        String result = values.get("NumberToWordsResult").toLowerCase().trim();
         System.out.println("Extracted Result: " + result);
 
-        Assert.assertTrue(response.getBody().asString().contains("five hundred"), "Response body does not contain the expected result.");
+        Assert.assertTrue(result.contains("five hundred"), "Response body does not contain the expected result.");
 
     }
-}   
+}
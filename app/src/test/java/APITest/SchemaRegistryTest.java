@@ -0,0 +1,46 @@
+package APITest;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.testng.annotations.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.fge.jackson.JsonLoader;
+import com.github.fge.jsonschema.main.JsonSchemaFactory;
+
+import APITest.utils.schema.SchemaRegistry;
+
+/**
+ * Checks that the {@link SchemaRegistry} compiles each schema once and
+ * reuses it for every later validation. Run with {@code gradle harnessTest}.
+ */
+public class SchemaRegistryTest {
+
+    private static final String SCHEMA = "schemas/books-schema.json";
+
+    private static final String BOOKS = "[{\"id\": 1, \"name\": \"Dune\", \"type\": \"fiction\", \"available\": true}]";
+
+    @Test(groups = {"harness"})
+    public void compilesEachSchemaOnce() throws IOException {
+        SchemaRegistry registry = new SchemaRegistry(JsonSchemaFactory.byDefault());
+        JsonNode books = JsonLoader.fromString(BOOKS);
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(registry.validate(SCHEMA, books).isSuccess());
+        }
+        assertTrue(registry.matcher(SCHEMA).matches(BOOKS));
+        assertEquals(registry.compilations(), 1, "compilations after validating a body 4 times");
+
+        for (int i = 0; i < 2; i++) {
+            assertTrue(registry.validateArray(SCHEMA,
+                new ByteArrayInputStream(BOOKS.getBytes(StandardCharsets.UTF_8))).isValid());
+        }
+        assertEquals(registry.compilations(), 2, "compilations after also validating an array twice");
+        assertEquals(registry.stats().get(SCHEMA).validations(), 6);
+    }
+}
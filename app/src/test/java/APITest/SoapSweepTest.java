@@ -0,0 +1,111 @@
+package APITest;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import APITest.utils.SuiteConfig;
+import APITest.utils.http.Transport;
+import APITest.utils.soap.SoapBatchReport;
+import APITest.utils.soap.SoapBatchRunner;
+import APITest.utils.soap.SoapEnvelope;
+
+/**
+ * Sweeps the NumberConversion operations over many inputs with
+ * {@link SoapBatchRunner}, where {@link SOAPTest} checks a single value.
+ *
+ * <p>Each test is one TestNG method however many inputs it sends
+ * ({@code suite.soap.sweep}, 10 000 by default). It prints the pass/fail and
+ * latency report, writes it to {@code build/reports/load/} and fails when more
+ * than {@code suite.load.maxErrorRate} of the inputs failed.</p>
+ *
+ * <p>Run with {@code gradle loadTest}, which starts the in-process SOAP stub
+ * unless {@code -Dsuite.soap.stub=false} is given.
+ * {@code -Dsuite.transport=okhttp} sends through OkHttp instead of
+ * RestAssured.</p>
+ */
+public class SoapSweepTest {
+
+    /**
+     * Lower-case words separated by spaces or hyphens.
+     */
+    private static final Pattern WORDS = Pattern.compile("[a-z]+([ -][a-z]+)*");
+
+    private Transport transport;
+
+    @BeforeClass(groups = {"load"})
+    public void setup() {
+        this.transport = Transport.configured();
+    }
+
+    @AfterClass(groups = {"load"}, alwaysRun = true)
+    public void teardown() {
+        if (this.transport != null) {
+            this.transport.close();
+        }
+    }
+
+    /**
+     * Converts {@code 0 .. suite.soap.sweep - 1} to words and checks every
+     * result is spelled out, and is "zero" exactly for {@code 0}.
+     */
+    @Test(groups = {"load"})
+    public void numberToWordsSweep() throws Exception {
+        SoapBatchReport report = new SoapBatchRunner<Long>(this.transport, SuiteConfig.soapUri(),
+                SoapEnvelope.request(SOAPTest.NAMESPACE, "NumberToWords").template("ubiNum"))
+            .expecting("NumberToWordsResult", (number, result) -> {
+                String words = result.trim();
+                return WORDS.matcher(words).matches() && (number == 0) == words.equals("zero");
+            })
+            .run(LongStream.range(0, SuiteConfig.soapSweep()).boxed());
+
+        this.check(report, SuiteConfig.soapSweep());
+    }
+
+    /**
+     * Converts dollar amounts read line by line from a text stream, as a
+     * sweep over values kept in a file would.
+     */
+    @Test(groups = {"load"})
+    public void numberToDollarsSweep() throws Exception {
+        long count = Math.max(1, SuiteConfig.soapSweep() / 10);
+        String amounts = LongStream.range(0, count)
+            .mapToObj(cents -> String.format("%d.%02d", cents * 7 / 100, cents * 7 % 100))
+            .collect(Collectors.joining("\n"));
+
+        SoapBatchReport report = new SoapBatchRunner<String>(this.transport, SuiteConfig.soapUri(),
+                SoapEnvelope.request(SOAPTest.NAMESPACE, "NumberToDollars").template("dNum"))
+            .expecting("NumberToDollarsResult", (amount, result) -> result.contains("dollar"))
+            .run(SoapBatchRunner.lines(new ByteArrayInputStream(amounts.getBytes(StandardCharsets.UTF_8))));
+
+        this.check(report, count);
+    }
+
+    private void check(SoapBatchReport report, long expectedInputs) {
+        System.out.println(report);
+
+        Path reports = Path.of("build", "reports", "load");
+        try {
+            Files.createDirectories(reports);
+            Files.writeString(reports.resolve("soap-" + report.operation() + ".txt"), report.toString());
+        } catch (IOException e) {
+            System.out.println("Could not write SOAP sweep report: " + e.getMessage());
+        }
+
+        assertEquals(report.inputs(), expectedInputs, "Not every input of " + report.operation() + " completed");
+        assertTrue(report.failureRatio() <= SuiteConfig.loadMaxErrorRate(),
+            String.format("%s failed %d of %d inputs", report.operation(), report.failed(), report.inputs()));
+    }
+}
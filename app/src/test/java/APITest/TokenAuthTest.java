@@ -1,49 +1,111 @@
 package APITest;
 
+import static org.hamcrest.Matchers.equalTo;
+import static org.testng.Assert.assertTrue;
+
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+import APITest.utils.ApiSpecs;
 import APITest.utils.DataFactory;
 import APITest.utils.Order;
 import APITest.utils.OrderResponse;
-import io.restassured.RestAssured;
+import APITest.utils.TokenProvider;
+import APITest.utils.json.CodecMapper;
+import APITest.utils.schedule.TaskGraph;
+import APITest.utils.schedule.TaskGraph.Task;
+import io.restassured.filter.Filter;
 import static io.restassured.RestAssured.given;
 import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
 
 
 /**
  * Tests that exercise authenticated endpoints of the "Simple Books" API.
  *
- * <p>This test class uses RestAssured and TestNG. It acquires a bearer token
- * via {@link APITest.utils.DataFactory} in the {@link #setup()} method and
- * reuses it for authenticated requests against endpoints such as
- * {@code /orders} and {@code /books}.</p>
+ * <p>This test class uses RestAssured and TestNG. It authorizes requests
+ * with the suite-wide bearer token from {@link APITest.utils.TokenProvider}
+ * against endpoints such as {@code /orders} and {@code /books}.</p>
  */
 public class TokenAuthTest {
 
     /**
-     * Bearer token retrieved from the API to authorize requests.
+     * Request specification targeting the Simple Books API, built in
+     * {@link #setup()} instead of assigning {@code RestAssured.baseURI}.
+     */
+    private RequestSpecification spec;
+
+    /**
+     * Filter adding the shared bearer token to authorized requests.
+     */
+    private Filter bearer;
+
+    /**
+     * An order placed in the background from {@link #startOrderFixtures()},
+     * with a token fetched for it.
+     */
+    private Task<OrderResponse> order;
+
+    /**
+     * The order read back with the token that placed it, once placed.
+     */
+    private Task<Response> orderLookup;
+
+    /**
+     * Source of the order payloads.
+     */
+    private final DataFactory dataFactory = new DataFactory();
+
+    /**
+     * Maps orders and confirmations; see {@code -Dsuite.mapping}.
      */
-    private String token;
+    private final CodecMapper mapper = CodecMapper.configured();
 
     /**
-     * Helper used to generate test data and to obtain the authentication token.
+     * Creates the test class; TestNG builds the specification in
+     * {@link #setup()}.
      */
-    private DataFactory dataFactory;
+    public TokenAuthTest() { }
+
+    /**
+     * Creates an instance bound to {@code spec} and the shared bearer
+     * token, so {@link #placeOrder()} can be reused outside TestNG, e.g. as
+     * a load-test scenario, without starting the order fixtures.
+     *
+     * @param spec request specification targeting the Simple Books API
+     */
+    TokenAuthTest(RequestSpecification spec) {
+        this.spec = spec;
+        this.bearer = TokenProvider.shared().bearer();
+    }
 
     @BeforeClass(groups = {"api-auth"})
     /**
      * TestNG setup executed once before tests in this class.
      *
-     * <p>Configures the RestAssured base URI and initializes the
-     * {@link DataFactory} and authentication token used by the test methods.</p>
+     * <p>Builds the request specification and obtains the bearer filter
+     * used by the test methods.</p>
      */
     public void setup() {
 
-        RestAssured.baseURI = "https://simple-books-api.click";
-        this.dataFactory = new DataFactory();
-        this.token = this.dataFactory.generateToken();
-        
+        this.spec = ApiSpecs.books();
+        this.bearer = TokenProvider.shared().bearer();
+    }
+
+    @BeforeClass(groups = {"api-auth"}, dependsOnMethods = "setup")
+    /**
+     * Starts the order fixtures without waiting for them: a token, an order
+     * placed with it and the order read back with the same token, which
+     * the stub requires.
+     */
+    public void startOrderFixtures() {
+        TaskGraph fixtures = new TaskGraph(TokenAuthTest.class.getSimpleName());
+        Task<String> token = fixtures.add("token", TokenProvider.shared()::token);
+        this.order = fixtures.add("order", token, this::placeOrder);
+        this.orderLookup = fixtures.add("order lookup", token, this.order,
+            (bearerToken, placed) -> this.getOrder(bearerToken, placed.getOrderId()));
+        fixtures.start();
     }
     
     @Test(groups = {"api-auth"})
@@ -53,14 +115,13 @@ public class TokenAuthTest {
      */
     public void testTokenBooks() {
        
-        given()
-            .headers("Authorization", "Bearer " + this.token)
+        given(this.spec)
+            .filter(this.bearer)
             .contentType(ContentType.JSON)
             .when()
             .get("/orders")
             .then()
-            .statusCode(200)
-            .log().all();
+            .statusCode(200);
 
     }
 
@@ -71,14 +132,13 @@ public class TokenAuthTest {
      */
     public void getAllBooks() {
        
-        given()
-            .headers("Authorization", "Bearer " + this.token)
+        given(this.spec)
+            .filter(this.bearer)
             .contentType(ContentType.JSON)
             .when()
             .get("/books")
             .then()
-            .statusCode(200)
-            .log().all();
+            .statusCode(200);
 
     }
 
@@ -89,20 +149,72 @@ public class TokenAuthTest {
      * {@link APITest.utils.OrderResponse} for further inspection.
      */
     public void submitOrder() {
-        Order newOrder = new Order(1, "Columbina");
+        OrderResponse orderResponse = this.order.await();
+
+        assertTrue(orderResponse.isCreated(), "Order not created: " + orderResponse);
+        System.out.println("Order response data: " + orderResponse.toString());
+    }
+
+    @Test(groups = {"api-auth"})
+    /**
+     * Reads the order placed by {@link #startOrderFixtures()} back from
+     * {@code /orders/{id}} and asserts it is the one submitted.
+     */
+    public void getSubmittedOrder() {
+        String orderId = this.order.await().getOrderId();
+
+        this.orderLookup.await()
+            .then()
+            .statusCode(200)
+            .body("id", equalTo(orderId));
+    }
+
+    /**
+     * Orders an in-stock book for a pooled customer name with the shared
+     * bearer token and asserts {@code 201 Created}. Requires
+     * {@link #setup()} to have run, or the instance to be created with a
+     * specification.
+     *
+     * @return the deserialized order confirmation
+     */
+    OrderResponse placeOrder() {
+        return this.postOrder(given(this.spec).filter(this.bearer));
+    }
+
+    /**
+     * Orders an in-stock book, authorized with {@code token}, and asserts
+     * {@code 201 Created}.
+     *
+     * @param token the bearer token to send
+     * @return the deserialized order confirmation
+     */
+    OrderResponse placeOrder(String token) {
+        return this.postOrder(given(this.spec).header("Authorization", "Bearer " + token));
+    }
+
+    /**
+     * Reads an order with the token that placed it; the stub answers
+     * {@code 404} to any other client.
+     */
+    private Response getOrder(String token, String orderId) {
+        return given(this.spec)
+            .header("Authorization", "Bearer " + token)
+            .when()
+            .get("/orders/{id}", orderId);
+    }
 
-        OrderResponse orderResponse = given()
-            .headers("Authorization", "Bearer " + this.token)
+    private OrderResponse postOrder(RequestSpecification request) {
+        Order newOrder = this.dataFactory.order();
+
+        return request
             .contentType(ContentType.JSON)
-            .body(newOrder)
+            .body(newOrder, this.mapper)
             .when()
             .post("/orders")
             .then()
             .statusCode(201)
             .extract()
-            .as(OrderResponse.class);
-
-        System.out.println("Order response data: " + orderResponse.toString());
+            .as(OrderResponse.class, this.mapper);
     }
 
    
@@ -0,0 +1,177 @@
+package APITest;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import APITest.utils.DataFactory;
+import APITest.utils.SuiteConfig;
+import APITest.utils.http.Transport;
+import APITest.utils.http.TransportFilter;
+import APITest.utils.http.TransportRequest;
+import APITest.utils.http.TransportResponse;
+import APITest.utils.stub.BooksApiStub;
+import APITest.utils.stub.ObjectsApiStub;
+import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.filter.Filter;
+
+/**
+ * Compares the RestAssured and OkHttp transports on the same flows.
+ *
+ * <p>For each transport the benchmark reports:</p>
+ * <ul>
+ *   <li>throughput of the CRUD flow of {@link APIRESTTest} and the order
+ *   flow of {@link TokenAuthTest} on a platform pool of
+ *   {@code suite.threads} workers. The flows build and check their
+ *   requests with RestAssured either way; for OkHttp a
+ *   {@link TransportFilter} sends them, as {@code -Dsuite.transport=okhttp}
+ *   does for the whole suite;</li>
+ *   <li>throughput of asynchronously dispatched {@code GET /objects/1}
+ *   requests;</li>
+ *   <li>bytes allocated per request on the calling thread, measured over a
+ *   sequential run.</li>
+ * </ul>
+ *
+ * <p>Both transports talk to private in-process stubs without artificial
+ * latency, so the figures reflect client-side cost. Run with
+ * {@code gradle perfTest}.</p>
+ */
+public class TransportBenchmarkTest {
+
+    /**
+     * Requests issued by one flow iteration: create, update, delete, order.
+     */
+    private static final int REQUESTS_PER_ITERATION = 4;
+
+    private BooksApiStub books;
+
+    private ObjectsApiStub objects;
+
+    private String token;
+
+    @BeforeClass(groups = {"perf"})
+    public void setup() throws IOException {
+        this.books = new BooksApiStub().start();
+        this.objects = new ObjectsApiStub().start();
+        this.token = new DataFactory().generateToken(this.books.baseUri());
+    }
+
+    @AfterClass(groups = {"perf"}, alwaysRun = true)
+    public void tearDown() {
+        this.books.stop();
+        this.objects.stop();
+    }
+
+    /**
+     * Runs every measurement on both transports and prints a comparison
+     * table. Every flow must pass on both transports.
+     */
+    @Test(groups = {"perf"})
+    public void compareTransports() throws Exception {
+        int iterations = Math.max(1, SuiteConfig.perfRequests() / REQUESTS_PER_ITERATION);
+        int threads = SuiteConfig.threadCount();
+
+        APIRESTTest objectFlows = new APIRESTTest(new RequestSpecBuilder().setBaseUri(this.objects.baseUri()).build());
+        TokenAuthTest orderFlows = new TokenAuthTest(new RequestSpecBuilder().setBaseUri(this.books.baseUri()).build());
+        Runnable flow = () -> {
+            String id = objectFlows.createItem();
+            objectFlows.updateItem(id);
+            objectFlows.deleteItem(id);
+            orderFlows.placeOrder(this.token);
+        };
+
+        System.out.printf("%n%-14s %14s %14s %16s%n", "transport", "flow req/s", "async GET/s", "bytes/request");
+        for (String name : List.of("restassured", "okhttp")) {
+            List<Filter> previous = new ArrayList<>(RestAssured.filters());
+            try (Transport transport = Transport.create(name)) {
+                RestAssured.replaceFiltersWith(routedThrough(transport, previous));
+                this.flowThroughput(flow, Math.min(iterations, 50), threads);
+
+                double allocated = this.allocatedPerRequest(flow, Math.max(1, iterations / 4));
+                double flowRate = this.flowThroughput(flow, iterations, threads);
+                double asyncRate = this.asyncThroughput(transport, iterations * REQUESTS_PER_ITERATION);
+                System.out.printf("%-14s %14.1f %14.1f %16.0f%n", name, flowRate, asyncRate, allocated);
+            } finally {
+                RestAssured.replaceFiltersWith(previous);
+            }
+        }
+    }
+
+    /**
+     * Returns the global filters with any installed {@link TransportFilter}
+     * replaced by one for {@code transport}, or removed for RestAssured's
+     * own client.
+     */
+    private static List<Filter> routedThrough(Transport transport, List<Filter> filters) {
+        List<Filter> routed = new ArrayList<>(filters);
+        routed.removeIf(filter -> filter instanceof TransportFilter);
+        if (!transport.name().equals("restassured")) {
+            routed.add(new TransportFilter(transport));
+        }
+        return routed;
+    }
+
+    /**
+     * Runs {@code iterations} flow iterations on a fixed platform pool and
+     * returns requests per second.
+     */
+    private double flowThroughput(Runnable flow, int iterations, int threads) throws Exception {
+        List<Future<?>> futures = new ArrayList<>(iterations);
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (int i = 0; i < iterations; i++) {
+                futures.add(executor.submit(flow));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        return iterations * REQUESTS_PER_ITERATION / seconds(start);
+    }
+
+    /**
+     * Dispatches {@code requests} GETs through {@link Transport#sendAsync}
+     * and returns completed requests per second.
+     */
+    private double asyncThroughput(Transport transport, int requests) {
+        TransportRequest request = TransportRequest.of("GET", this.objects.baseUri() + "/objects/1", null);
+        List<CompletableFuture<TransportResponse>> futures = new ArrayList<>(requests);
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            futures.add(transport.sendAsync(request));
+        }
+        for (CompletableFuture<TransportResponse> future : futures) {
+            if (future.join().status() != 200) {
+                throw new AssertionError("GET /objects/1 answered " + future.join().status());
+            }
+        }
+        return requests / seconds(start);
+    }
+
+    /**
+     * Runs {@code iterations} flow iterations on the calling thread and
+     * returns the bytes it allocated per request.
+     */
+    private double allocatedPerRequest(Runnable flow, int iterations) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < iterations; i++) {
+            flow.run();
+        }
+        return (double) (threads.getCurrentThreadAllocatedBytes() - before) / (iterations * REQUESTS_PER_ITERATION);
+    }
+
+    private static double seconds(long start) {
+        return (System.nanoTime() - start) / 1_000_000_000.0;
+    }
+}
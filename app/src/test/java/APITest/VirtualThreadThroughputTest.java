@@ -0,0 +1,105 @@
+package APITest;
+
+import static org.hamcrest.Matchers.equalTo;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import APITest.utils.SuiteConfig;
+import APITest.utils.stub.BooksApiStub;
+import static io.restassured.RestAssured.given;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.specification.RequestSpecification;
+
+/**
+ * Measures how many I/O-bound API checks per second the suite can complete
+ * on a fixed platform-thread pool versus one virtual thread per check.
+ *
+ * <p>Each check mirrors {@code APIRESTTest.getRecordById}: a GET for a
+ * single record followed by status and field assertions. It runs against a
+ * private {@link BooksApiStub} with a fixed artificial latency so the
+ * numbers reflect time spent waiting on the network rather than loopback
+ * speed. Results are printed as a small table; run with
+ * {@code gradle perfTest}.</p>
+ */
+public class VirtualThreadThroughputTest {
+
+    /**
+     * Simulated round-trip time of every stubbed response.
+     */
+    private static final Duration LATENCY = Duration.ofMillis(50);
+
+    private BooksApiStub stub;
+
+    private RequestSpecification spec;
+
+    @BeforeClass(groups = {"perf"})
+    public void setup() throws IOException {
+        this.stub = new BooksApiStub().withLatency(LATENCY).start();
+        this.spec = new RequestSpecBuilder().setBaseUri(this.stub.baseUri()).build();
+    }
+
+    @AfterClass(groups = {"perf"}, alwaysRun = true)
+    public void tearDown() {
+        this.stub.stop();
+    }
+
+    /**
+     * Runs the same batch of checks on a platform pool sized by
+     * {@code suite.threads} and on virtual threads, then prints both
+     * throughputs. Every check must pass in both modes.
+     */
+    @Test(groups = {"perf"})
+    public void compareVirtualAndPlatformThreads() throws Exception {
+        int requests = SuiteConfig.perfRequests();
+        int poolSize = SuiteConfig.threadCount();
+
+        this.throughput(Executors.newVirtualThreadPerTaskExecutor(), Math.min(requests, 200));
+
+        double platform = this.throughput(Executors.newFixedThreadPool(poolSize), requests);
+        double virtual = this.throughput(Executors.newVirtualThreadPerTaskExecutor(), requests);
+
+        System.out.printf("%n%-28s %12s%n", "executor (" + requests + " checks)", "checks/s");
+        System.out.printf("%-28s %12.1f%n", "platform pool x" + poolSize, platform);
+        System.out.printf("%-28s %12.1f%n", "virtual thread per check", virtual);
+        System.out.printf("%-28s %11.1fx%n", "speed-up", virtual / platform);
+    }
+
+    /**
+     * Submits {@code requests} checks to {@code executor}, waits for all of
+     * them and returns the completed checks per second.
+     */
+    private double throughput(ExecutorService executor, int requests) throws Exception {
+        List<Future<?>> futures = new ArrayList<>(requests);
+        long start = System.nanoTime();
+        try (executor) {
+            for (int i = 0; i < requests; i++) {
+                int id = i % 6 + 1;
+                futures.add(executor.submit(() -> this.getRecordById(id)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        return requests / seconds;
+    }
+
+    private void getRecordById(int id) {
+        given(this.spec)
+            .when()
+            .get("/books/{id}", id)
+            .then()
+            .statusCode(200)
+            .body("id", equalTo(id));
+    }
+}
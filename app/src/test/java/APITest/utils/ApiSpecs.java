@@ -0,0 +1,46 @@
+package APITest.utils;
+
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.http.ContentType;
+import io.restassured.specification.RequestSpecification;
+
+/**
+ * Factory for the per-class request specifications used by the suite.
+ *
+ * <p>Test classes build their specification once (typically in
+ * {@code @BeforeClass}) and pass it to {@code given(spec)} instead of
+ * assigning {@code RestAssured.baseURI} and other global statics. The
+ * returned specifications are only read after construction, so a single
+ * instance can be shared by all methods of a class running in parallel.</p>
+ */
+public final class ApiSpecs {
+
+    private ApiSpecs() { }
+
+    /**
+     * Specification for the Simple Books API at
+     * {@link SuiteConfig#booksBaseUri()}.
+     *
+     * @return a JSON request specification for the Simple Books API
+     */
+    public static RequestSpecification books() {
+        return new RequestSpecBuilder()
+            .setBaseUri(SuiteConfig.booksBaseUri())
+            .setContentType(ContentType.JSON)
+            .build();
+    }
+
+    /**
+     * Specification for the RESTful {@code /objects} API at
+     * {@link SuiteConfig#objectsBaseUri()}.
+     *
+     * @return a JSON request specification for the RESTful API
+     */
+    public static RequestSpecification objects() {
+        return new RequestSpecBuilder()
+            .setBaseUri(SuiteConfig.objectsBaseUri())
+            .setAccept(ContentType.ANY)
+            .setContentType(ContentType.JSON)
+            .build();
+    }
+}
@@ -1,17 +1,25 @@
 package APITest.utils;
 
 import static io.restassured.RestAssured.given;
+
+import APITest.utils.data.DataStream;
+import APITest.utils.data.TestDataPools;
+import APITest.utils.json.StreamingJsonPath;
 import io.restassured.http.ContentType;
 import io.restassured.response.Response;
-import net.datafaker.Faker;
 
 /**
  * Helper that produces test data and performs lightweight setup actions used
  * across API tests.
  *
- * <p>Responsibilities include generating random, realistic values (emails)
- * and creating an API client to obtain a reusable bearer token for
- * authenticated requests.</p>
+ * <p>Responsibilities include generating random, realistic values (emails,
+ * customer names, orders) and creating an API client to obtain a reusable
+ * bearer token for authenticated requests. Values for high-volume callers
+ * come from the pre-generated {@link TestDataPools}.</p>
+ *
+ * <p>All values derive from {@code suite.data.seed}: tests and load workers
+ * draw from their own {@link DataStream}, so a run is reproduced, at any
+ * parallelism, by passing the seed it printed back in.</p>
  */
 public class DataFactory {
 
@@ -21,24 +29,68 @@ public class DataFactory {
     private String token;
 
     /**
-     * Faker instance used to generate realistic random data.
+     * Returns a randomly generated, valid-looking email address from the
+     * Faker of the calling thread's {@link DataStream}, so the same test
+     * gets the same address for the same {@code suite.data.seed}.
+     *
+     * @return a random email address
      */
-    private final Faker faker;
+    public String generateRandomEmail() {
+        return DataStream.current().faker().internet().emailAddress();
+    }
 
     /**
-     * Constructs a new DataFactory and initializes the internal faker.
+     * Returns an email address never handed out before in this run. Much
+     * cheaper than {@link #generateRandomEmail()} in load scenarios.
+     *
+     * <p>Under a bound {@link DataStream} the address is the stream's next
+     * one, so it is reproducible from the seed; otherwise it is taken from
+     * the pre-generated {@link TestDataPools#shared()} pool.</p>
+     *
+     * @return a unique email address
      */
-    public DataFactory() {
-        this.faker = new Faker();
+    public String uniqueEmail() {
+        DataStream stream = DataStream.current();
+        TestDataPools pools = TestDataPools.shared();
+        return stream.isBound() ? pools.email(stream.nextIndex()) : pools.nextEmail();
     }
 
     /**
-     * Returns a randomly generated, valid-looking email address.
+     * Returns a realistic customer name, from the bound {@link DataStream}
+     * or else the pre-generated pool.
      *
-     * @return a random email address
+     * @return a customer name
      */
-    public String generateRandomEmail() {
-        return faker.internet().emailAddress(); 
+    public String customerName() {
+        DataStream stream = DataStream.current();
+        TestDataPools pools = TestDataPools.shared();
+        return stream.isBound() ? pools.customerName(stream.nextIndex()) : pools.nextCustomerName();
+    }
+
+    /**
+     * Returns a new order for an in-stock book, from the bound
+     * {@link DataStream} or else the pre-generated pool.
+     *
+     * @return an order payload
+     */
+    public Order order() {
+        DataStream stream = DataStream.current();
+        TestDataPools pools = TestDataPools.shared();
+        return stream.isBound() ? pools.order(stream.nextIndex()) : pools.nextOrder();
+    }
+
+    /**
+     * Registers a new API client against {@link SuiteConfig#booksBaseUri()}
+     * and returns an authentication token.
+     *
+     * <p>Test classes should prefer {@link TokenProvider#shared()}, which
+     * reuses tokens across the suite instead of registering a client per
+     * caller.</p>
+     *
+     * @return the bearer token string extracted from the registration response
+     */
+    public String generateToken() {
+        return this.generateToken(SuiteConfig.booksBaseUri());
     }
 
     /**
@@ -46,31 +98,26 @@ public class DataFactory {
      *
      * <p>This method issues a POST to {@code /api-clients} with generated
      * credentials, asserts the creation {@code 201} response, extracts the
-     * {@code accessToken} field and caches it in {@link #token}.</p>
+     * {@code accessToken} field with {@link StreamingJsonPath} and caches it
+     * in {@link #token}.</p>
      *
+     * @param baseUri base URI of the Simple Books API to register against
      * @return the bearer token string extracted from the registration response
      */
-    public String generateToken() {
-        
-        String requestBody = """
-            {
-                "clientName": "Postman",
-                "clientEmail": "%s"
-            }
-        """.formatted(this.generateRandomEmail());
+    public String generateToken(String baseUri) {
 
         Response response = given()
+            .baseUri(baseUri)
             .contentType(ContentType.JSON)
-            .body(requestBody)
+            .body(RequestBodies.CLIENT_REGISTRATION.render(this.uniqueEmail()))
             .when()
             .post("/api-clients")
             .then()
             .statusCode(201)
-            .log().all()
             .extract()
             .response();
 
-        this.token = response.jsonPath().getString("accessToken");
+        this.token = StreamingJsonPath.getString(response.asByteArray(), "accessToken");
 
         return this.token;
     }
@@ -0,0 +1,60 @@
+package APITest.utils;
+
+import java.net.URI;
+
+import io.restassured.specification.QueryableRequestSpecification;
+
+/**
+ * Derives stable endpoint names such as {@code PUT /objects/{id}} from
+ * concrete requests, so timings and metrics can be grouped per endpoint
+ * rather than per URL.
+ */
+public final class Endpoints {
+
+    private Endpoints() { }
+
+    /**
+     * Returns the endpoint template of a request about to be sent.
+     *
+     * <p>Paths declared with placeholders ({@code "/objects/{id}"}) are used
+     * as-is; otherwise every path segment containing a digit is treated as
+     * an identifier and replaced by {@code {id}}.</p>
+     *
+     * @param request the request specification seen by a filter
+     * @return the method and templated path, e.g. {@code GET /books/{id}}
+     */
+    public static String template(QueryableRequestSpecification request) {
+        String declared = request.getUserDefinedPath();
+        if (declared != null && declared.contains("{")) {
+            return request.getMethod() + " " + stripQuery(declared);
+        }
+        return template(request.getMethod(), URI.create(request.getURI()).getPath());
+    }
+
+    /**
+     * Returns the endpoint template for {@code method} and a concrete path.
+     *
+     * @param method the HTTP method
+     * @param path the request path, optionally with a query string
+     * @return the method and templated path
+     */
+    public static String template(String method, String path) {
+        String bare = stripQuery(path == null || path.isEmpty() ? "/" : path);
+        StringBuilder template = new StringBuilder(method).append(' ');
+        for (String segment : bare.split("/")) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+            template.append('/').append(segment.chars().anyMatch(Character::isDigit) ? "{id}" : segment);
+        }
+        if (template.charAt(template.length() - 1) == ' ') {
+            template.append('/');
+        }
+        return template.toString();
+    }
+
+    private static String stripQuery(String path) {
+        int query = path.indexOf('?');
+        return query < 0 ? path : path.substring(0, query);
+    }
+}
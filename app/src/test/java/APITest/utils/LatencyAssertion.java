@@ -0,0 +1,157 @@
+package APITest.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * Percentile-based latency assertion for a single endpoint.
+ *
+ * <p>Instead of checking that one request finished under a threshold, the
+ * call is repeated: a few unrecorded warm-up calls first, then
+ * {@code iterations} calls recorded into an HdrHistogram with microsecond
+ * precision. Each bound added through {@link #percentileBelow(double, Duration)}
+ * is then checked against the recorded distribution.</p>
+ *
+ * <pre>{@code
+ * LatencyAssertion.measure("GET /books", () -> given(spec).get("/books").then().statusCode(200))
+ *     .percentileBelow(50, Duration.ofMillis(100))
+ *     .percentileBelow(99, Duration.ofMillis(150))
+ *     .verify();
+ * }</pre>
+ *
+ * <p>Calls run sequentially on the calling thread, so the figures describe
+ * latency, not throughput. When a bound is exceeded the {@link AssertionError}
+ * carries the full percentile distribution in milliseconds.</p>
+ */
+public final class LatencyAssertion {
+
+    /**
+     * Significant decimal digits kept by the histogram.
+     */
+    private static final int PRECISION = 3;
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    /**
+     * An upper bound on one percentile.
+     */
+    private record Bound(double percentile, Duration max) { }
+
+    private final String name;
+
+    private final Runnable call;
+
+    private final List<Bound> bounds = new ArrayList<>();
+
+    private int warmup = SuiteConfig.latencyWarmup();
+
+    private int iterations = SuiteConfig.latencyIterations();
+
+    private LatencyAssertion(String name, Runnable call) {
+        this.name = name;
+        this.call = call;
+    }
+
+    /**
+     * Starts a latency assertion for {@code call}.
+     *
+     * @param name label used in failure messages, e.g. {@code "GET /books"}
+     * @param call one call of the endpoint, including any response assertions
+     * @return a new assertion without bounds
+     */
+    public static LatencyAssertion measure(String name, Runnable call) {
+        return new LatencyAssertion(name, call);
+    }
+
+    /**
+     * Sets the number of unrecorded warm-up calls.
+     *
+     * @param warmup calls made before recording starts
+     * @return this instance, for chaining
+     */
+    public LatencyAssertion withWarmup(int warmup) {
+        this.warmup = Math.max(0, warmup);
+        return this;
+    }
+
+    /**
+     * Sets the number of recorded calls.
+     *
+     * @param iterations calls recorded into the histogram
+     * @return this instance, for chaining
+     */
+    public LatencyAssertion withIterations(int iterations) {
+        this.iterations = Math.max(1, iterations);
+        return this;
+    }
+
+    /**
+     * Requires the given percentile of the recorded calls to be strictly
+     * below {@code max}.
+     *
+     * @param percentile a percentile between {@code 0} and {@code 100}
+     * @param max the exclusive upper bound
+     * @return this instance, for chaining
+     */
+    public LatencyAssertion percentileBelow(double percentile, Duration max) {
+        this.bounds.add(new Bound(percentile, max));
+        return this;
+    }
+
+    /**
+     * Runs the warm-up and the recorded calls, then checks every bound.
+     *
+     * @return the recorded histogram, in nanoseconds
+     * @throws AssertionError if a bound is exceeded
+     */
+    public Histogram verify() {
+        for (int i = 0; i < this.warmup; i++) {
+            this.call.run();
+        }
+
+        Histogram histogram = new Histogram(PRECISION);
+        for (int i = 0; i < this.iterations; i++) {
+            long start = System.nanoTime();
+            this.call.run();
+            histogram.recordValue(System.nanoTime() - start);
+        }
+
+        List<String> violations = new ArrayList<>();
+        for (Bound bound : this.bounds) {
+            long actual = histogram.getValueAtPercentile(bound.percentile());
+            if (actual >= bound.max().toNanos()) {
+                violations.add(String.format("p%s = %.2f ms (limit %d ms)",
+                    format(bound.percentile()), actual / NANOS_PER_MILLI, bound.max().toMillis()));
+            }
+        }
+        if (!violations.isEmpty()) {
+            throw new AssertionError(String.format("%s latency over %d calls exceeded %s%n%s",
+                this.name, this.iterations, String.join(", ", violations), distribution(histogram)));
+        }
+        return histogram;
+    }
+
+    /**
+     * Renders the histogram's percentile distribution in milliseconds.
+     *
+     * @param histogram a histogram recorded in nanoseconds
+     * @return the distribution table as printed by HdrHistogram
+     */
+    public static String distribution(Histogram histogram) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (PrintStream print = new PrintStream(out, true, StandardCharsets.UTF_8)) {
+            histogram.outputPercentileDistribution(print, NANOS_PER_MILLI);
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private static String format(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+    }
+}
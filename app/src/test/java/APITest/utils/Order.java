@@ -1,7 +1,21 @@
 package APITest.utils;
 
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import APITest.utils.json.JsonCodec;
+
 public class Order {
 
+    /**
+     * Maps orders without reflection; see {@code CodecMapper}.
+     */
+    public static final JsonCodec<Order> CODEC = new Codec();
+
     private int bookId;
     private String customerName;
 
@@ -30,4 +44,40 @@ public class Order {
     public String toString() {
         return "Order [bookId=" + bookId + ", customerName=" + customerName + "]";
     }
+
+    private static final class Codec implements JsonCodec<Order> {
+
+        private static final SerializedString BOOK_ID = new SerializedString("bookId");
+
+        private static final SerializedString CUSTOMER_NAME = new SerializedString("customerName");
+
+        @Override
+        public void write(JsonGenerator generator, Order order) throws IOException {
+            generator.writeStartObject();
+            generator.writeFieldName(BOOK_ID);
+            generator.writeNumber(order.bookId);
+            generator.writeFieldName(CUSTOMER_NAME);
+            generator.writeString(order.customerName);
+            generator.writeEndObject();
+        }
+
+        @Override
+        public Order read(JsonParser parser) throws IOException {
+            if (parser.currentToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected an order object, got " + parser.currentToken());
+            }
+            int bookId = 0;
+            String customerName = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                switch (field) {
+                    case "bookId" -> bookId = parser.getIntValue();
+                    case "customerName" -> customerName = parser.getValueAsString();
+                    default -> parser.skipChildren();
+                }
+            }
+            return new Order(bookId, customerName);
+        }
+    }
 }
@@ -1,7 +1,21 @@
 package APITest.utils;
 
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import APITest.utils.json.JsonCodec;
+
 public class OrderResponse {
-    
+
+    /**
+     * Maps order confirmations without reflection; see {@code CodecMapper}.
+     */
+    public static final JsonCodec<OrderResponse> CODEC = new Codec();
+
     private String orderId;
     private boolean created;
 
@@ -27,5 +41,39 @@ public class OrderResponse {
     public String toString() {
         return "OrderResponse [orderId=" + orderId + ", created=" + created + "]";
     }
-    
+
+    private static final class Codec implements JsonCodec<OrderResponse> {
+
+        private static final SerializedString ORDER_ID = new SerializedString("orderId");
+
+        private static final SerializedString CREATED = new SerializedString("created");
+
+        @Override
+        public void write(JsonGenerator generator, OrderResponse response) throws IOException {
+            generator.writeStartObject();
+            generator.writeFieldName(CREATED);
+            generator.writeBoolean(response.created);
+            generator.writeFieldName(ORDER_ID);
+            generator.writeString(response.orderId);
+            generator.writeEndObject();
+        }
+
+        @Override
+        public OrderResponse read(JsonParser parser) throws IOException {
+            if (parser.currentToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected an order response object, got " + parser.currentToken());
+            }
+            OrderResponse response = new OrderResponse();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                parser.nextToken();
+                switch (field) {
+                    case "orderId" -> response.orderId = parser.getValueAsString();
+                    case "created" -> response.created = parser.getValueAsBoolean();
+                    default -> parser.skipChildren();
+                }
+            }
+            return response;
+        }
+    }
 }
@@ -0,0 +1,32 @@
+package APITest.utils;
+
+import java.util.List;
+
+import org.testng.IAlterSuiteListener;
+import org.testng.xml.XmlSuite;
+
+/**
+ * Switches the suite to TestNG's parallel execution when
+ * {@code -Dsuite.parallel=methods|classes|tests} is set.
+ *
+ * <p>The thread count comes from {@code -Dsuite.threads} and defaults to
+ * the number of available processors. Without the property the suites run
+ * exactly as declared in {@code testNG.xml}.</p>
+ */
+public class ParallelModeListener implements IAlterSuiteListener {
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        String mode = SuiteConfig.parallelMode();
+        if (mode == null) {
+            return;
+        }
+        XmlSuite.ParallelMode parallel = XmlSuite.ParallelMode.getValidParallel(mode);
+        int threads = SuiteConfig.threadCount();
+        for (XmlSuite suite : suites) {
+            suite.setParallel(parallel);
+            suite.setThreadCount(threads);
+        }
+        System.out.println("Running suites with parallel=" + parallel + " threads=" + threads);
+    }
+}
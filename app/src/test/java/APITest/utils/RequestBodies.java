@@ -0,0 +1,53 @@
+package APITest.utils;
+
+import APITest.utils.json.JsonTemplate;
+
+/**
+ * Request bodies the suite sends repeatedly, compiled once into
+ * {@link JsonTemplate}s.
+ */
+public final class RequestBodies {
+
+    /**
+     * Simple Books client registration; placeholder {@code email}.
+     */
+    public static final JsonTemplate CLIENT_REGISTRATION = JsonTemplate.compile("""
+        {
+            "clientName": "Postman",
+            "clientEmail": "${email}"
+        }
+        """);
+
+    /**
+     * The device created by the {@code /objects} tests.
+     */
+    public static final JsonTemplate NEW_OBJECT = JsonTemplate.compile("""
+        {
+            "name": "Apple MacBook Pro 16",
+            "data": {
+                "year": 2019,
+                "price": 1849.99,
+                "CPU model": "Intel Core i9",
+                "Hard disk size": "1 TB"
+            }
+        }
+        """);
+
+    /**
+     * The same device after the update sent by {@code APIRESTTest.updateRecord}.
+     */
+    public static final JsonTemplate UPDATED_OBJECT = JsonTemplate.compile("""
+        {
+            "name": "Apple MacBook Pro 16",
+            "data": {
+                "year": 2019,
+                "price": 2049.99,
+                "CPU model": "Intel Core i9",
+                "Hard disk size": "1 TB",
+                "color": "silver"
+            }
+        }
+        """);
+
+    private RequestBodies() { }
+}
@@ -0,0 +1,702 @@
+package APITest.utils;
+
+import java.nio.file.Path;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Central access point for the suite's runtime configuration.
+ *
+ * <p>Values are read from JVM system properties prefixed with {@code suite.}
+ * (forwarded by the Gradle {@code test} task), falling back to the public
+ * endpoints the tests were originally written against.</p>
+ */
+public final class SuiteConfig {
+
+    /**
+     * Public Simple Books API used when no override is configured.
+     */
+    public static final String DEFAULT_BOOKS_BASE_URI = "https://simple-books-api.click";
+
+    /**
+     * System property overriding the Simple Books API base URI.
+     */
+    public static final String BOOKS_BASE_URI = "suite.books.baseUri";
+
+    /**
+     * Public RESTful API (the {@code /objects} CRUD service) used when no
+     * override is configured.
+     */
+    public static final String DEFAULT_OBJECTS_BASE_URI = "https://api.restful-api.dev";
+
+    /**
+     * System property overriding the RESTful API base URI.
+     */
+    public static final String OBJECTS_BASE_URI = "suite.objects.baseUri";
+
+    /**
+     * Default endpoint of the SOAP NumberConversion service.
+     */
+    public static final String DEFAULT_SOAP_URI = "https://www.dataaccess.com/webservicesserver/NumberConversion.wso";
+
+    /**
+     * System property overriding the SOAP NumberConversion endpoint.
+     */
+    public static final String SOAP_URI = "suite.soap.uri";
+
+    /**
+     * System property that, when {@code true}, starts the in-process
+     * Simple Books stub for the duration of the suite.
+     */
+    public static final String BOOKS_STUB = "suite.books.stub";
+
+    /**
+     * System property that, when {@code true}, starts the in-process
+     * RESTful {@code /objects} stub for the duration of the suite.
+     */
+    public static final String OBJECTS_STUB = "suite.objects.stub";
+
+    /**
+     * System property that, when {@code true}, starts the in-process
+     * NumberConversion SOAP stub for the duration of the suite.
+     */
+    public static final String SOAP_STUB = "suite.soap.stub";
+
+    /**
+     * System property adding an artificial per-response delay (in
+     * milliseconds) to the in-process stub.
+     */
+    public static final String STUB_LATENCY_MS = "suite.stub.latencyMs";
+
+    /**
+     * System property sizing the shared bearer-token pool used by
+     * {@link TokenProvider}.
+     */
+    public static final String TOKEN_POOL_SIZE = "suite.tokens.pool";
+
+    /**
+     * System property selecting TestNG's parallel mode
+     * ({@code methods}, {@code classes}, {@code tests} or {@code none}).
+     */
+    public static final String PARALLEL = "suite.parallel";
+
+    /**
+     * System property with the worker thread count used in parallel mode.
+     */
+    public static final String THREADS = "suite.threads";
+
+    /**
+     * System property with the number of requests each performance
+     * measurement issues.
+     */
+    public static final String PERF_REQUESTS = "suite.perf.requests";
+
+    /**
+     * System property with the number of concurrent workers a closed-model
+     * load run uses.
+     */
+    public static final String LOAD_CONCURRENCY = "suite.load.concurrency";
+
+    /**
+     * System property with the target iterations per second of an
+     * open-model load run; {@code 0} selects the closed model.
+     */
+    public static final String LOAD_RATE = "suite.load.rate";
+
+    /**
+     * Highest open-model rate, one start per nanosecond: the resolution of
+     * the load runner's schedule.
+     */
+    public static final double MAX_LOAD_RATE = 1e9;
+
+    /**
+     * System property with the measured duration of a load run, in seconds.
+     */
+    public static final String LOAD_DURATION = "suite.load.duration";
+
+    /**
+     * System property with the unrecorded warm-up preceding a load run, in
+     * seconds.
+     */
+    public static final String LOAD_WARMUP = "suite.load.warmup";
+
+    /**
+     * System property with the highest fraction of failed iterations a load
+     * run may report.
+     */
+    public static final String LOAD_MAX_ERROR_RATE = "suite.load.maxErrorRate";
+
+    /**
+     * System property with the number of measured calls of a latency
+     * assertion.
+     */
+    public static final String LATENCY_ITERATIONS = "suite.latency.iterations";
+
+    /**
+     * System property with the number of unrecorded warm-up calls preceding
+     * a latency assertion.
+     */
+    public static final String LATENCY_WARMUP = "suite.latency.warmup";
+
+    /**
+     * System property selecting how request/response details are logged:
+     * {@code all} prints every exchange as it happens, {@code failures}
+     * buffers each test's exchanges and prints them only when it fails,
+     * {@code none} disables request logging.
+     */
+    public static final String LOG = "suite.log";
+
+    /**
+     * System property with the fraction of passing tests whose buffered
+     * exchanges are printed anyway in {@code failures} mode.
+     */
+    public static final String LOG_SAMPLE = "suite.log.sample";
+
+    /**
+     * System property that, when {@code false}, disables the shared HTTP
+     * connection pool and restores RestAssured's client-per-request default.
+     */
+    public static final String HTTP_POOL = "suite.http.pool";
+
+    /**
+     * System property with the maximum number of pooled connections.
+     */
+    public static final String HTTP_MAX_TOTAL = "suite.http.maxTotal";
+
+    /**
+     * System property with the maximum number of pooled connections per
+     * host.
+     */
+    public static final String HTTP_MAX_PER_ROUTE = "suite.http.maxPerRoute";
+
+    /**
+     * System property with how long, in seconds, an idle connection is kept
+     * alive when the server does not send a {@code Keep-Alive} timeout.
+     */
+    public static final String HTTP_KEEP_ALIVE = "suite.http.keepAlive";
+
+    /**
+     * System property selecting the HTTP client requests are sent with:
+     * {@code restassured} (its Apache HttpClient) or {@code okhttp}.
+     */
+    public static final String TRANSPORT = "suite.transport";
+
+    /**
+     * System property limiting how many invalid items a streaming schema
+     * validation collects before it stops reading the body.
+     */
+    public static final String SCHEMA_MAX_VIOLATIONS = "suite.schema.maxViolations";
+
+    /**
+     * System property selecting whether RestAssured exchanges are recorded
+     * to, or replayed from, the replay file: {@code off}, {@code record} or
+     * {@code replay}.
+     */
+    public static final String REPLAY = "suite.replay";
+
+    /**
+     * System property with the path of the replay file.
+     */
+    public static final String REPLAY_FILE = "suite.replay.file";
+
+    /**
+     * System property letting a replay answer a request recorded with a
+     * different body from the exchanges recorded for its route, and repeat
+     * the last exchange once the recorded ones are used up.
+     */
+    public static final String REPLAY_LENIENT = "suite.replay.lenient";
+
+    /**
+     * System property with how many inputs a SOAP sweep sends.
+     */
+    public static final String SOAP_SWEEP = "suite.soap.sweep";
+
+    /**
+     * System property capping how many SOAP sweep requests are in flight at
+     * once.
+     */
+    public static final String SOAP_MAX_IN_FLIGHT = "suite.soap.maxInFlight";
+
+    /**
+     * System property with the seed generated test data derives from.
+     */
+    public static final String DATA_SEED = "suite.data.seed";
+
+    /**
+     * System property selecting how DTOs are mapped to and from JSON:
+     * {@code codec} or {@code reflective}.
+     */
+    public static final String OBJECT_MAPPING = "suite.mapping";
+
+    /**
+     * System property selecting how the suite's HTTP metrics are exported:
+     * {@code prometheus}, {@code json} or {@code off}.
+     */
+    public static final String METRICS = "suite.metrics";
+
+    /**
+     * System property with the directory metrics files are written to.
+     */
+    public static final String METRICS_DIR = "suite.metrics.dir";
+
+    /**
+     * System property selecting what the performance baseline gate does:
+     * {@code off}, {@code record} or {@code compare}.
+     */
+    public static final String BASELINE = "suite.baseline";
+
+    /**
+     * System property with the directory baseline files are kept in.
+     */
+    public static final String BASELINE_DIR = "suite.baseline.dir";
+
+    /**
+     * System property with how many recorded runs a baseline keeps.
+     */
+    public static final String BASELINE_RUNS = "suite.baseline.runs";
+
+    /**
+     * System property with the largest tolerated relative p95 increase of an
+     * endpoint over its baseline, e.g. {@code 0.15} for 15%.
+     */
+    public static final String BASELINE_P95_INCREASE = "suite.baseline.p95Increase";
+
+    /**
+     * System property with the largest tolerated relative drop of the
+     * suite's throughput below its baseline.
+     */
+    public static final String BASELINE_THROUGHPUT_DROP = "suite.baseline.throughputDrop";
+
+    /**
+     * System property with the significance level a slowdown must reach to
+     * count as a regression.
+     */
+    public static final String BASELINE_ALPHA = "suite.baseline.alpha";
+
+    /**
+     * System property with the fewest samples an endpoint needs, in both
+     * runs, to be gated.
+     */
+    public static final String BASELINE_MIN_SAMPLES = "suite.baseline.minSamples";
+
+    /**
+     * Seed used when {@value #DATA_SEED} is not set, drawn once per JVM.
+     */
+    private static final long RANDOM_DATA_SEED = new SecureRandom().nextLong();
+
+    private SuiteConfig() { }
+
+    /**
+     * Returns the base URI of the Simple Books API the suite should target.
+     *
+     * @return the configured base URI, or {@link #DEFAULT_BOOKS_BASE_URI}
+     */
+    public static String booksBaseUri() {
+        return System.getProperty(BOOKS_BASE_URI, DEFAULT_BOOKS_BASE_URI);
+    }
+
+    /**
+     * Returns the base URI of the RESTful {@code /objects} API.
+     *
+     * @return the configured base URI, or {@link #DEFAULT_OBJECTS_BASE_URI}
+     */
+    public static String objectsBaseUri() {
+        return System.getProperty(OBJECTS_BASE_URI, DEFAULT_OBJECTS_BASE_URI);
+    }
+
+    /**
+     * Returns the endpoint of the SOAP NumberConversion service.
+     *
+     * @return the configured endpoint, or {@link #DEFAULT_SOAP_URI}
+     */
+    public static String soapUri() {
+        return System.getProperty(SOAP_URI, DEFAULT_SOAP_URI);
+    }
+
+    /**
+     * Indicates whether the in-process Simple Books stub was requested.
+     *
+     * @return {@code true} if {@value #BOOKS_STUB} is set to {@code true}
+     */
+    public static boolean useBooksStub() {
+        return Boolean.getBoolean(BOOKS_STUB);
+    }
+
+    /**
+     * Indicates whether the in-process RESTful {@code /objects} stub was
+     * requested.
+     *
+     * @return {@code true} if {@value #OBJECTS_STUB} is set to {@code true}
+     */
+    public static boolean useObjectsStub() {
+        return Boolean.getBoolean(OBJECTS_STUB);
+    }
+
+    /**
+     * Indicates whether the in-process NumberConversion SOAP stub was
+     * requested.
+     *
+     * @return {@code true} if {@value #SOAP_STUB} is set to {@code true}
+     */
+    public static boolean useSoapStub() {
+        return Boolean.getBoolean(SOAP_STUB);
+    }
+
+    /**
+     * Returns how many bearer tokens {@link TokenProvider} may keep for
+     * concurrent workers.
+     *
+     * @return the configured pool size, at least {@code 1}
+     */
+    public static int tokenPoolSize() {
+        return Math.max(1, Integer.getInteger(TOKEN_POOL_SIZE, 1));
+    }
+
+    /**
+     * Returns the requested TestNG parallel mode, if any.
+     *
+     * @return the value of {@value #PARALLEL}, or {@code null} when unset
+     */
+    public static String parallelMode() {
+        String mode = System.getProperty(PARALLEL);
+        return mode == null || mode.isBlank() ? null : mode.trim();
+    }
+
+    /**
+     * Returns the number of worker threads to use in parallel mode.
+     *
+     * @return the value of {@value #THREADS}, defaulting to the number of
+     *         available processors
+     */
+    public static int threadCount() {
+        return Math.max(1, Integer.getInteger(THREADS, Runtime.getRuntime().availableProcessors()));
+    }
+
+    /**
+     * Returns the artificial response delay for the in-process stub.
+     *
+     * @return the value of {@value #STUB_LATENCY_MS}, defaulting to {@code 0}
+     */
+    public static long stubLatencyMillis() {
+        return Math.max(0L, Long.getLong(STUB_LATENCY_MS, 0L));
+    }
+
+    /**
+     * Returns how many requests a performance measurement should issue.
+     *
+     * @return the value of {@value #PERF_REQUESTS}, defaulting to {@code 1000}
+     */
+    public static int perfRequests() {
+        return Math.max(1, Integer.getInteger(PERF_REQUESTS, 1000));
+    }
+
+    /**
+     * Returns how many workers a closed-model load run keeps busy.
+     *
+     * @return the value of {@value #LOAD_CONCURRENCY}, defaulting to {@code 8}
+     */
+    public static int loadConcurrency() {
+        return Math.max(1, Integer.getInteger(LOAD_CONCURRENCY, 8));
+    }
+
+    /**
+     * Returns the target rate of an open-model load run.
+     *
+     * @return the value of {@value #LOAD_RATE} in iterations per second,
+     *         at most {@link #MAX_LOAD_RATE}, defaulting to {@code 0}
+     *         (closed model)
+     */
+    public static double loadRate() {
+        double rate = Double.parseDouble(System.getProperty(LOAD_RATE, "0"));
+        return rate > 0 ? Math.min(rate, MAX_LOAD_RATE) : 0.0;
+    }
+
+    /**
+     * Returns how long a load run is measured.
+     *
+     * @return the value of {@value #LOAD_DURATION}, defaulting to 10 seconds
+     */
+    public static Duration loadDuration() {
+        return Duration.ofSeconds(Math.max(1L, Long.getLong(LOAD_DURATION, 10L)));
+    }
+
+    /**
+     * Returns the warm-up run before measurement starts.
+     *
+     * @return the value of {@value #LOAD_WARMUP}, defaulting to 2 seconds
+     */
+    public static Duration loadWarmup() {
+        return Duration.ofSeconds(Math.max(0L, Long.getLong(LOAD_WARMUP, 2L)));
+    }
+
+    /**
+     * Returns the highest tolerated fraction of failed load iterations.
+     *
+     * @return the value of {@value #LOAD_MAX_ERROR_RATE}, defaulting to
+     *         {@code 0.01}
+     */
+    public static double loadMaxErrorRate() {
+        return Double.parseDouble(System.getProperty(LOAD_MAX_ERROR_RATE, "0.01"));
+    }
+
+    /**
+     * Returns how many calls a latency assertion records.
+     *
+     * @return the value of {@value #LATENCY_ITERATIONS}, defaulting to
+     *         {@code 50}
+     */
+    public static int latencyIterations() {
+        return Math.max(1, Integer.getInteger(LATENCY_ITERATIONS, 50));
+    }
+
+    /**
+     * Returns how many warm-up calls precede a latency assertion.
+     *
+     * @return the value of {@value #LATENCY_WARMUP}, defaulting to {@code 5}
+     */
+    public static int latencyWarmup() {
+        return Math.max(0, Integer.getInteger(LATENCY_WARMUP, 5));
+    }
+
+    /**
+     * Returns the request logging mode.
+     *
+     * @return the value of {@value #LOG} in lower case, defaulting to
+     *         {@code all}
+     */
+    public static String logMode() {
+        return System.getProperty(LOG, "all").trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Returns the fraction of passing tests logged in {@code failures} mode.
+     *
+     * @return the value of {@value #LOG_SAMPLE} between {@code 0} and
+     *         {@code 1}, defaulting to {@code 0}
+     */
+    public static double logSampleRate() {
+        double rate = Double.parseDouble(System.getProperty(LOG_SAMPLE, "0"));
+        return Math.max(0.0, Math.min(1.0, rate));
+    }
+
+    /**
+     * Indicates whether requests share the suite-wide connection pool.
+     *
+     * @return {@code false} only if {@value #HTTP_POOL} is {@code false}
+     */
+    public static boolean useHttpPool() {
+        return Boolean.parseBoolean(System.getProperty(HTTP_POOL, "true"));
+    }
+
+    /**
+     * Returns the maximum number of pooled connections.
+     *
+     * @return the value of {@value #HTTP_MAX_TOTAL}, defaulting to {@code 100}
+     */
+    public static int httpMaxTotal() {
+        return Math.max(1, Integer.getInteger(HTTP_MAX_TOTAL, 100));
+    }
+
+    /**
+     * Returns the maximum number of pooled connections per host.
+     *
+     * @return the value of {@value #HTTP_MAX_PER_ROUTE}, defaulting to
+     *         {@code 20}
+     */
+    public static int httpMaxPerRoute() {
+        return Math.max(1, Integer.getInteger(HTTP_MAX_PER_ROUTE, 20));
+    }
+
+    /**
+     * Returns how long idle pooled connections are kept.
+     *
+     * @return the value of {@value #HTTP_KEEP_ALIVE}, defaulting to 30
+     *         seconds
+     */
+    public static Duration httpKeepAlive() {
+        return Duration.ofSeconds(Math.max(1L, Long.getLong(HTTP_KEEP_ALIVE, 30L)));
+    }
+
+    /**
+     * Returns the transport requests should be sent with.
+     *
+     * @return the value of {@value #TRANSPORT}, defaulting to
+     *         {@code restassured}
+     */
+    public static String transport() {
+        return System.getProperty(TRANSPORT, "restassured").trim();
+    }
+
+    /**
+     * Returns how many violations a streaming schema validation reports
+     * before aborting.
+     *
+     * @return the value of {@value #SCHEMA_MAX_VIOLATIONS}, defaulting to
+     *         {@code 10}
+     */
+    public static int schemaMaxViolations() {
+        return Math.max(1, Integer.getInteger(SCHEMA_MAX_VIOLATIONS, 10));
+    }
+
+    /**
+     * Returns the record/replay mode.
+     *
+     * @return the value of {@value #REPLAY} in lower case, defaulting to
+     *         {@code off}
+     */
+    public static String replayMode() {
+        return System.getProperty(REPLAY, "off").trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Returns the file exchanges are recorded to and replayed from.
+     *
+     * @return the value of {@value #REPLAY_FILE}, defaulting to
+     *         {@code build/replay/exchanges.rpl}
+     */
+    public static Path replayFile() {
+        return Path.of(System.getProperty(REPLAY_FILE, "build/replay/exchanges.rpl"));
+    }
+
+    /**
+     * Indicates whether replays may fall back to any exchange of a route and
+     * repeat exchanges.
+     *
+     * @return {@code true} if {@value #REPLAY_LENIENT} is set to {@code true}
+     */
+    public static boolean replayLenient() {
+        return Boolean.getBoolean(REPLAY_LENIENT);
+    }
+
+    /**
+     * Returns how many inputs a SOAP sweep sends.
+     *
+     * @return the value of {@value #SOAP_SWEEP}, defaulting to {@code 10000}
+     */
+    public static long soapSweep() {
+        return Math.max(1L, Long.getLong(SOAP_SWEEP, 10_000L));
+    }
+
+    /**
+     * Returns how many SOAP sweep requests may be in flight at once.
+     *
+     * @return the value of {@value #SOAP_MAX_IN_FLIGHT}, defaulting to
+     *         {@link #httpMaxPerRoute()} so the sweep never waits for a
+     *         pooled connection
+     */
+    public static int soapMaxInFlight() {
+        return Math.max(1, Integer.getInteger(SOAP_MAX_IN_FLIGHT, httpMaxPerRoute()));
+    }
+
+    /**
+     * Returns the seed generated test data derives from.
+     *
+     * @return the value of {@value #DATA_SEED}, defaulting to a seed drawn
+     *         at random once per run
+     */
+    public static long dataSeed() {
+        return Long.getLong(DATA_SEED, RANDOM_DATA_SEED);
+    }
+
+    /**
+     * Returns how DTOs are mapped to and from JSON.
+     *
+     * @return the value of {@value #OBJECT_MAPPING} in lower case,
+     *         defaulting to {@code codec}
+     */
+    public static String objectMapping() {
+        return System.getProperty(OBJECT_MAPPING, "codec").trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Returns how the suite's HTTP metrics are exported.
+     *
+     * @return the value of {@value #METRICS} in lower case, defaulting to
+     *         {@code prometheus}
+     */
+    public static String metrics() {
+        return System.getProperty(METRICS, "prometheus").trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Returns the directory metrics files are written to.
+     *
+     * @return the value of {@value #METRICS_DIR}, defaulting to
+     *         {@code build/reports/metrics}
+     */
+    public static Path metricsDir() {
+        return Path.of(System.getProperty(METRICS_DIR, "build/reports/metrics"));
+    }
+
+    /**
+     * Returns what the performance baseline gate does.
+     *
+     * @return the value of {@value #BASELINE} in lower case, defaulting to
+     *         {@code off}
+     */
+    public static String baseline() {
+        return System.getProperty(BASELINE, "off").trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Returns the directory baseline files are kept in, one per suite.
+     *
+     * @return the value of {@value #BASELINE_DIR}, defaulting to
+     *         {@code src/test/baselines} so recorded baselines can be
+     *         committed
+     */
+    public static Path baselineDir() {
+        return Path.of(System.getProperty(BASELINE_DIR, "src/test/baselines"));
+    }
+
+    /**
+     * Returns how many recorded runs a baseline keeps; recording another
+     * drops the oldest.
+     *
+     * @return the value of {@value #BASELINE_RUNS}, defaulting to {@code 5}
+     */
+    public static int baselineRuns() {
+        return Math.max(1, Integer.getInteger(BASELINE_RUNS, 5));
+    }
+
+    /**
+     * Returns the largest tolerated relative p95 increase of an endpoint.
+     *
+     * @return the value of {@value #BASELINE_P95_INCREASE}, defaulting to
+     *         {@code 0.15}
+     */
+    public static double baselineP95Increase() {
+        return Math.max(0.0, Double.parseDouble(System.getProperty(BASELINE_P95_INCREASE, "0.15")));
+    }
+
+    /**
+     * Returns the largest tolerated relative throughput drop of the suite.
+     *
+     * @return the value of {@value #BASELINE_THROUGHPUT_DROP}, defaulting to
+     *         {@code 0.15}
+     */
+    public static double baselineThroughputDrop() {
+        return Math.max(0.0, Double.parseDouble(System.getProperty(BASELINE_THROUGHPUT_DROP, "0.15")));
+    }
+
+    /**
+     * Returns the significance level of the regression tests.
+     *
+     * @return the value of {@value #BASELINE_ALPHA}, defaulting to
+     *         {@code 0.05}
+     */
+    public static double baselineAlpha() {
+        return Double.parseDouble(System.getProperty(BASELINE_ALPHA, "0.05"));
+    }
+
+    /**
+     * Returns the fewest samples an endpoint needs in both runs to be gated.
+     *
+     * @return the value of {@value #BASELINE_MIN_SAMPLES}, defaulting to
+     *         {@code 5}
+     */
+    public static int baselineMinSamples() {
+        return Math.max(2, Integer.getInteger(BASELINE_MIN_SAMPLES, 5));
+    }
+}
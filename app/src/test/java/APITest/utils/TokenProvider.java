@@ -0,0 +1,181 @@
+package APITest.utils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import io.restassured.RestAssured;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Suite-wide source of Simple Books bearer tokens.
+ *
+ * <p>Instead of every test class registering its own API client through
+ * {@link DataFactory#generateToken()}, classes share the tokens held here.
+ * A token is issued lazily the first time it is needed and then reused
+ * until the API rejects it with {@code 401 Unauthorized}.</p>
+ *
+ * <p>For parallel runs the provider keeps a small pool of tokens (sized by
+ * {@value SuiteConfig#TOKEN_POOL_SIZE}) and pins each worker thread to one
+ * slot, round-robin. All methods are thread-safe.</p>
+ */
+public final class TokenProvider {
+
+    private static final TokenProvider SHARED = new TokenProvider(SuiteConfig.tokenPoolSize());
+
+    /**
+     * A token together with the base URI it was issued by, so a change of
+     * target (e.g. switching to the stub) never reuses a foreign token.
+     */
+    private record Issued(String baseUri, String token) { }
+
+    private final Issued[] slots;
+
+    /**
+     * One lock per slot. {@link ReentrantLock} rather than
+     * {@code synchronized} so virtual threads waiting on an issuance do not
+     * pin their carrier thread.
+     */
+    private final ReentrantLock[] locks;
+
+    private final ReentrantLock issueLock = new ReentrantLock();
+
+    private final AtomicInteger nextSlot = new AtomicInteger();
+
+    private final ThreadLocal<Integer> slot;
+
+    private final AtomicInteger issuedCount = new AtomicInteger();
+
+    private final DataFactory dataFactory = new DataFactory();
+
+    /**
+     * Creates a provider with the given number of token slots.
+     *
+     * @param poolSize number of tokens kept for concurrent workers
+     */
+    public TokenProvider(int poolSize) {
+        this.slots = new Issued[Math.max(1, poolSize)];
+        this.locks = new ReentrantLock[this.slots.length];
+        for (int i = 0; i < this.locks.length; i++) {
+            this.locks[i] = new ReentrantLock();
+        }
+        this.slot = ThreadLocal.withInitial(() -> Math.floorMod(this.nextSlot.getAndIncrement(), this.slots.length));
+    }
+
+    /**
+     * Returns the provider shared by the whole suite.
+     *
+     * @return the suite-wide token provider
+     */
+    public static TokenProvider shared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns a valid token for the calling thread, issuing one against
+     * {@link SuiteConfig#booksBaseUri()} if its slot is still empty.
+     *
+     * @return a bearer token
+     */
+    public String token() {
+        String baseUri = SuiteConfig.booksBaseUri();
+        int index = this.slot.get();
+        this.locks[index].lock();
+        try {
+            Issued current = this.slots[index];
+            if (current == null || !current.baseUri().equals(baseUri)) {
+                current = this.issue(baseUri);
+                this.slots[index] = current;
+            }
+            return current.token();
+        } finally {
+            this.locks[index].unlock();
+        }
+    }
+
+    /**
+     * Replaces {@code staleToken} after the API rejected it. If another
+     * thread already refreshed the slot, the newer token is returned without
+     * registering a further client.
+     *
+     * @param staleToken the token that received a {@code 401}
+     * @return a token that has not been rejected yet
+     */
+    public String refresh(String staleToken) {
+        String baseUri = SuiteConfig.booksBaseUri();
+        int index = this.slot.get();
+        this.locks[index].lock();
+        try {
+            Issued current = this.slots[index];
+            if (current == null || current.token().equals(staleToken) || !current.baseUri().equals(baseUri)) {
+                current = this.issue(baseUri);
+                this.slots[index] = current;
+            }
+            return current.token();
+        } finally {
+            this.locks[index].unlock();
+        }
+    }
+
+    /**
+     * Returns how many API clients this provider has registered so far.
+     *
+     * @return the number of tokens issued
+     */
+    public int issuedCount() {
+        return this.issuedCount.get();
+    }
+
+    /**
+     * Returns a filter that authorizes requests with this provider's token.
+     *
+     * <p>Requests that already carry an {@code Authorization} header are
+     * left untouched, so negative tests can still send invalid credentials.
+     * On a {@code 401} the token is refreshed and the request is retried
+     * once.</p>
+     *
+     * @return a RestAssured filter adding the bearer token
+     */
+    public Filter bearer() {
+        return new BearerFilter();
+    }
+
+    private Issued issue(String baseUri) {
+        String token;
+        this.issueLock.lock();
+        try {
+            token = this.dataFactory.generateToken(baseUri);
+        } finally {
+            this.issueLock.unlock();
+        }
+        this.issuedCount.incrementAndGet();
+        return new Issued(baseUri, token);
+    }
+
+    /**
+     * Injects the bearer token and handles a single refresh-and-retry.
+     */
+    private final class BearerFilter implements Filter {
+
+        @Override
+        public Response filter(FilterableRequestSpecification requestSpec,
+                FilterableResponseSpecification responseSpec, FilterContext ctx) {
+            if (requestSpec.getHeaders().hasHeaderWithName("Authorization")) {
+                return ctx.next(requestSpec, responseSpec);
+            }
+
+            String token = token();
+            requestSpec.header("Authorization", "Bearer " + token);
+            Response response = ctx.next(requestSpec, responseSpec);
+            if (response.statusCode() != 401) {
+                return response;
+            }
+
+            requestSpec.replaceHeader("Authorization", "Bearer " + refresh(token));
+            return ctx.send(RestAssured.given().spec(requestSpec));
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package APITest.utils;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.IExecutorServiceFactory;
+
+/**
+ * TestNG executor factory that runs every test method (and parallel
+ * data-provider iteration) on its own virtual thread.
+ *
+ * <p>The suite's tests spend nearly all their time blocked on HTTP I/O, so
+ * a virtual thread per task lets thousands of requests be in flight without
+ * a platform thread each. Pool sizing arguments from TestNG are ignored;
+ * concurrency is bounded only by the test graph. Enabled through the
+ * {@code testVirtualThreads} Gradle task, which passes this class to
+ * TestNG's {@code -threadpoolfactoryclass} option.</p>
+ */
+public class VirtualThreadExecutorFactory implements IExecutorServiceFactory {
+
+    @Override
+    public ExecutorService create(int corePoolSize, int maxPoolSize, long keepAliveTime, TimeUnit unit,
+            BlockingQueue<Runnable> workQueue, ThreadFactory threadFactory) {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("testng-virtual-", 0).factory());
+    }
+}
@@ -0,0 +1,143 @@
+package APITest.utils.async;
+
+import static io.restassured.RestAssured.given;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+import APITest.utils.SuiteConfig;
+import APITest.utils.data.DataStream;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+
+/**
+ * Non-blocking front end to RestAssured: sends requests against a
+ * specification and returns {@link AsyncResponse}s, so checks that fan out
+ * over many requests take about as long as the slowest one instead of the
+ * sum of all of them.
+ * <pre>{@code
+ * AsyncApi async = new AsyncApi(spec);
+ * List<AsyncResponse> books = ids.stream()
+ *     .map(id -> async.get("/books/{id}", id)
+ *         .then(response -> response.statusCode(200).body("id", equalTo(id))))
+ *     .toList();
+ * AsyncApi.awaitAll(books);
+ * }</pre>
+ *
+ * <p>Requests run on a {@link ContextExecutor}, through the same global
+ * filters and {@code ConnectionPool} as synchronous ones and with the test
+ * group and request log of the thread that sent them. Each gets its own
+ * {@link DataStream}, a {@link DataStream#childKey child} of the sender's.
+ * Instances are thread-safe.</p>
+ */
+public final class AsyncApi {
+
+    /**
+     * Longest failure message quoted per request by {@link #awaitAll}; the
+     * full messages are in the thrown error's cause and suppressed
+     * exceptions.
+     */
+    private static final int MAX_DETAIL = 200;
+
+    private final RequestSpecification spec;
+
+    private final ContextExecutor executor;
+
+    /**
+     * Creates a client allowing {@link SuiteConfig#httpMaxPerRoute()}
+     * requests in flight.
+     *
+     * @param spec the specification every request starts from
+     */
+    public AsyncApi(RequestSpecification spec) {
+        this(spec, SuiteConfig.httpMaxPerRoute());
+    }
+
+    /**
+     * Creates a client.
+     *
+     * @param spec the specification every request starts from
+     * @param maxInFlight how many requests may be in flight at once
+     */
+    public AsyncApi(RequestSpecification spec, int maxInFlight) {
+        this.spec = spec;
+        this.executor = new ContextExecutor(maxInFlight);
+    }
+
+    /**
+     * Sends {@code GET path}.
+     *
+     * @param path the path, with {@code {name}} templates
+     * @param pathParams the template values, in order
+     * @return the pending response
+     */
+    public AsyncResponse get(String path, Object... pathParams) {
+        return this.send(describe("GET", path, pathParams), request -> request.when().get(path, pathParams));
+    }
+
+    /**
+     * Sends the request built and sent by {@code request}, e.g.
+     * {@code r -> r.body(order).post("/orders")}.
+     *
+     * @param description what the request is, for failure messages
+     * @param request sends a request from {@code given(spec)}
+     * @return the pending response
+     */
+    public AsyncResponse send(String description, Function<RequestSpecification, Response> request) {
+        CompletableFuture<Response> response = this.executor.supply(DataStream.current().childKey(description),
+            () -> request.apply(given(this.spec)));
+        return new AsyncResponse(description, response);
+    }
+
+    /**
+     * Waits for every response, then fails if any request or assertion
+     * failed, naming all of them rather than only the first.
+     *
+     * @param responses the pending responses
+     * @return the responses, in the order given
+     * @throws AssertionError listing every failure, with the first as its
+     *         cause and the others suppressed; or the failure itself if
+     *         there is only one
+     */
+    public static List<Response> awaitAll(Collection<AsyncResponse> responses) {
+        CompletableFuture.allOf(responses.stream()
+                .map(AsyncResponse::toFuture)
+                .toArray(CompletableFuture<?>[]::new))
+            .exceptionally(failure -> null)
+            .join();
+
+        List<Response> completed = new ArrayList<>(responses.size());
+        List<Throwable> failures = new ArrayList<>();
+        StringBuilder message = new StringBuilder();
+        for (AsyncResponse response : responses) {
+            try {
+                completed.add(response.toFuture().join());
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause();
+                failures.add(cause);
+                String detail = String.valueOf(cause.getMessage()).strip().replaceAll("\\s+", " ");
+                message.append(System.lineSeparator()).append("  ").append(response.description()).append(": ")
+                    .append(detail.length() > MAX_DETAIL ? detail.substring(0, MAX_DETAIL) + "..." : detail);
+            }
+        }
+        if (failures.size() == 1) {
+            AsyncResponse.rethrow(failures.get(0));
+        }
+        if (!failures.isEmpty()) {
+            AssertionError error = new AssertionError(failures.size() + " of " + responses.size()
+                + " requests failed:" + message, failures.get(0));
+            failures.subList(1, failures.size()).forEach(error::addSuppressed);
+            throw error;
+        }
+        return completed;
+    }
+
+    private static String describe(String method, String path, Object[] pathParams) {
+        return pathParams.length == 0 ? method + " " + path : method + " " + path + " " + Arrays.toString(pathParams);
+    }
+}
@@ -0,0 +1,117 @@
+package APITest.utils.async;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import io.restassured.response.Response;
+import io.restassured.response.ValidatableResponse;
+
+/**
+ * A response of {@link AsyncApi} that may not have arrived yet, with the
+ * assertions to run on it once it does.
+ *
+ * <p>{@link #then} takes the same assertions as a synchronous
+ * {@code .then()} chain; a failing one completes the response with its
+ * {@code AssertionError}. Responses compose with {@link #thenCompose}, for a
+ * request that needs an earlier response, and join individually with
+ * {@link #join} or together with {@link AsyncApi#awaitAll}. Instances are
+ * immutable: every method returns a new response.</p>
+ */
+public final class AsyncResponse {
+
+    private final String description;
+
+    private final CompletableFuture<Response> response;
+
+    AsyncResponse(String description, CompletableFuture<Response> response) {
+        this.description = description;
+        this.response = response;
+    }
+
+    /**
+     * Runs {@code assertions} on the response when it arrives, e.g.
+     * {@code r -> r.statusCode(200).body("id", equalTo(id))}.
+     *
+     * @param assertions the assertions on the response's {@code then()}
+     * @return the response, failed if an assertion fails
+     */
+    public AsyncResponse then(Consumer<ValidatableResponse> assertions) {
+        return new AsyncResponse(this.description, this.response.thenApply(response -> {
+            assertions.accept(response.then());
+            return response;
+        }));
+    }
+
+    /**
+     * Sends a further request once this response has arrived and passed its
+     * assertions, e.g. to fetch what it lists.
+     *
+     * @param next sends the next request from this response
+     * @return the next request's response
+     */
+    public AsyncResponse thenCompose(Function<Response, AsyncResponse> next) {
+        return new AsyncResponse(this.description, this.response.thenCompose(response -> next.apply(response).response));
+    }
+
+    /**
+     * Extracts a value from the response once it has arrived and passed its
+     * assertions.
+     *
+     * @param extractor reads the value, e.g. {@code r -> r.path("id")}
+     * @param <T> the value type
+     * @return a future completed with the value
+     */
+    public <T> CompletableFuture<T> extract(Function<Response, T> extractor) {
+        return this.response.thenApply(extractor);
+    }
+
+    /**
+     * Waits for the response.
+     *
+     * @return the response, having passed its assertions
+     * @throws AssertionError if an assertion failed
+     * @throws RuntimeException if the request could not be sent
+     */
+    public Response join() {
+        try {
+            return this.response.join();
+        } catch (CompletionException e) {
+            throw rethrow(e.getCause());
+        }
+    }
+
+    /**
+     * Returns the underlying future, e.g. to combine with other futures.
+     *
+     * @return a future completed with the response, or exceptionally with
+     *         the request or assertion failure
+     */
+    public CompletableFuture<Response> toFuture() {
+        return this.response;
+    }
+
+    /**
+     * Returns what the request is.
+     *
+     * @return the description used in failure messages, e.g.
+     *         {@code GET /books/{id} [3]}
+     */
+    public String description() {
+        return this.description;
+    }
+
+    /**
+     * Throws {@code failure} as is if unchecked, wrapped otherwise.
+     */
+    static RuntimeException rethrow(Throwable failure) {
+        if (failure instanceof RuntimeException runtime) {
+            throw runtime;
+        }
+        if (failure instanceof Error error) {
+            throw error;
+        }
+        throw new IllegalStateException(failure);
+    }
+}
@@ -0,0 +1,104 @@
+package APITest.utils.async;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+import APITest.utils.SuiteConfig;
+import APITest.utils.data.DataStream;
+import APITest.utils.logging.RequestLog;
+import APITest.utils.metrics.HttpMetrics;
+
+/**
+ * Runs blocking HTTP work, such as RestAssured requests, off the calling
+ * thread with the caller's test context and a cap on how much runs at once.
+ * {@link AsyncApi}, {@code TaskGraph} and {@code RestAssuredTransport} all
+ * submit their work here.
+ *
+ * <p>RestAssured has no asynchronous API, so each submission runs on its
+ * own virtual thread. At most {@code maxInFlight} submissions of an
+ * instance run at once, by default {@link SuiteConfig#httpMaxPerRoute()},
+ * so the work never waits for a pooled connection; the rest wait for a
+ * permit on their virtual thread. Work runs with the given test group and
+ * {@link RequestLog}, so its requests are measured and printed with the
+ * test they belong to, and with the {@link DataStream} bound to the given
+ * key, so its data does not depend on scheduling. Instances are
+ * thread-safe.</p>
+ */
+public final class ContextExecutor {
+
+    private static final ExecutorService EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final Semaphore inFlight;
+
+    /**
+     * Creates an executor running up to {@link SuiteConfig#httpMaxPerRoute()}
+     * submissions at once.
+     */
+    public ContextExecutor() {
+        this(SuiteConfig.httpMaxPerRoute());
+    }
+
+    /**
+     * Creates an executor.
+     *
+     * @param maxInFlight how many submissions may run at once
+     */
+    public ContextExecutor(int maxInFlight) {
+        this.inFlight = new Semaphore(Math.max(1, maxInFlight));
+    }
+
+    /**
+     * Runs {@code work} with the calling thread's test group and
+     * {@link RequestLog}.
+     *
+     * @param stream the key of the {@link DataStream} to bind, or
+     *               {@code null} to bind none
+     * @param work the work
+     * @param <T> the result type
+     * @return a future completed with the result, or exceptionally with
+     *         what {@code work} threw
+     */
+    public <T> CompletableFuture<T> supply(String stream, Supplier<? extends T> work) {
+        return this.supply(HttpMetrics.currentGroup(), RequestLog.current(), stream, work);
+    }
+
+    /**
+     * Runs {@code work} with the given context.
+     *
+     * @param group the test group to measure requests under, or
+     *              {@code null} for none
+     * @param log the log to record requests into, or {@code null} for none
+     * @param stream the key of the {@link DataStream} to bind, or
+     *               {@code null} to bind none
+     * @param work the work
+     * @param <T> the result type
+     * @return a future completed with the result, or exceptionally with
+     *         what {@code work} threw
+     */
+    public <T> CompletableFuture<T> supply(String group, RequestLog log, String stream,
+            Supplier<? extends T> work) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        EXECUTOR.execute(() -> {
+            this.inFlight.acquireUninterruptibly();
+            String previousGroup = HttpMetrics.bindGroup(group);
+            RequestLog previousLog = RequestLog.bind(log);
+            DataStream previousStream = stream == null ? null : DataStream.bind(stream);
+            try {
+                result.complete(work.get());
+            } catch (Throwable failure) {
+                result.completeExceptionally(failure);
+            } finally {
+                if (stream != null) {
+                    DataStream.restore(previousStream);
+                }
+                RequestLog.restore(previousLog);
+                HttpMetrics.restoreGroup(previousGroup);
+                this.inFlight.release();
+            }
+        });
+        return result;
+    }
+}
@@ -0,0 +1,212 @@
+package APITest.utils.baseline;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.DataFormatException;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.HdrHistogram.Histogram;
+
+import APITest.utils.metrics.HttpMetrics;
+
+/**
+ * The recorded runs of a suite that later runs are compared against.
+ *
+ * <p>Latency shifts between runs, with the machine, the network and the
+ * JVM's warm-up, by more than it varies within one; a single recorded run
+ * may be a lucky one. A baseline therefore keeps the last few recorded
+ * runs, and {@link RegressionGate} judges a run against all of them.</p>
+ *
+ * <p>The file is JSON. Each run holds the total request latency of every
+ * endpoint, as recorded by {@link HttpMetrics} and merged over test groups,
+ * as a compressed, Base64 encoded HdrHistogram in microseconds, so a
+ * comparison sees every sample rather than a few percentiles. The p50 and
+ * p95 are written alongside for people reading a diff of the file.</p>
+ */
+public final class Baseline {
+
+    private final String suite;
+
+    private final List<Run> runs;
+
+    /**
+     * Creates a baseline.
+     *
+     * @param suite the suite name
+     * @param runs the recorded runs, oldest first
+     */
+    public Baseline(String suite, List<Run> runs) {
+        this.suite = suite;
+        this.runs = List.copyOf(runs);
+    }
+
+    /**
+     * One suite run.
+     *
+     * @param recordedAt when the run was captured
+     * @param requests the number of requests sent
+     * @param elapsedNanos the suite's wall-clock time up to the capture
+     * @param latencies histograms in microseconds, keyed by endpoint
+     *                  template such as {@code GET /books}; not to be
+     *                  modified
+     */
+    public record Run(Instant recordedAt, long requests, long elapsedNanos, Map<String, Histogram> latencies) {
+
+        /**
+         * Captures the current state of a suite's metrics.
+         *
+         * @param metrics the suite's metrics, still collecting
+         * @return the run so far
+         */
+        public static Run of(HttpMetrics metrics) {
+            return new Run(Instant.now(), metrics.requests(), metrics.elapsedNanos(),
+                Collections.unmodifiableMap(metrics.latencies()));
+        }
+
+        /**
+         * Returns the run's throughput.
+         *
+         * @return requests per second of suite wall-clock time
+         */
+        public double throughput() {
+            return this.elapsedNanos <= 0 ? 0.0 : this.requests * 1e9 / this.elapsedNanos;
+        }
+    }
+
+    /**
+     * Returns the baseline file of a suite.
+     *
+     * @param dir the baseline directory
+     * @param suite the suite name
+     * @return {@code <dir>/<suite>.json}, with characters unsafe in file
+     *         names replaced
+     */
+    public static Path file(Path dir, String suite) {
+        return dir.resolve(suite.replaceAll("[^A-Za-z0-9._-]", "-") + ".json");
+    }
+
+    /**
+     * Loads a baseline file.
+     *
+     * @param file the file written by {@link #write}
+     * @return the baseline
+     * @throws IOException if the file cannot be read or is malformed
+     */
+    public static Baseline read(Path file) throws IOException {
+        JsonNode root;
+        try (InputStream in = Files.newInputStream(file)) {
+            root = new ObjectMapper().readTree(in);
+        }
+        List<Run> runs = new ArrayList<>();
+        for (JsonNode run : root.path("runs")) {
+            Map<String, Histogram> latencies = new TreeMap<>();
+            for (Iterator<Map.Entry<String, JsonNode>> it = run.path("endpoints").fields(); it.hasNext();) {
+                Map.Entry<String, JsonNode> endpoint = it.next();
+                byte[] encoded = Base64.getDecoder().decode(endpoint.getValue().path("histogram").asText());
+                try {
+                    latencies.put(endpoint.getKey(),
+                        Histogram.decodeFromCompressedByteBuffer(ByteBuffer.wrap(encoded), 0));
+                } catch (DataFormatException e) {
+                    throw new IOException("Malformed histogram of " + endpoint.getKey() + " in " + file, e);
+                }
+            }
+            runs.add(new Run(Instant.parse(run.path("recordedAt").asText()), run.path("requests").asLong(),
+                TimeUnit.MICROSECONDS.toNanos(run.path("elapsedMicros").asLong()),
+                Collections.unmodifiableMap(latencies)));
+        }
+        return new Baseline(root.path("suite").asText(), runs);
+    }
+
+    /**
+     * Returns this baseline with {@code run} recorded, keeping the last
+     * {@code maxRuns} runs.
+     *
+     * @param run the run to add
+     * @param maxRuns how many runs to keep
+     * @return a new baseline
+     */
+    public Baseline plus(Run run, int maxRuns) {
+        List<Run> runs = new ArrayList<>(this.runs);
+        runs.add(run);
+        return new Baseline(this.suite, runs.subList(Math.max(0, runs.size() - maxRuns), runs.size()));
+    }
+
+    /**
+     * Saves this baseline to {@code file}, creating its directory if needed.
+     *
+     * @param file the baseline file
+     * @throws IOException if writing fails
+     */
+    public void write(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (OutputStream out = Files.newOutputStream(file);
+                JsonGenerator json = new JsonFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            json.useDefaultPrettyPrinter();
+            json.writeStartObject();
+            json.writeStringField("suite", this.suite);
+            json.writeArrayFieldStart("runs");
+            for (Run run : this.runs) {
+                json.writeStartObject();
+                json.writeStringField("recordedAt", run.recordedAt().toString());
+                json.writeNumberField("requests", run.requests());
+                json.writeNumberField("elapsedMicros", TimeUnit.NANOSECONDS.toMicros(run.elapsedNanos()));
+                json.writeObjectFieldStart("endpoints");
+                for (Map.Entry<String, Histogram> endpoint : new TreeMap<>(run.latencies()).entrySet()) {
+                    Histogram histogram = endpoint.getValue();
+                    ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+                    int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+                    json.writeObjectFieldStart(endpoint.getKey());
+                    json.writeNumberField("count", histogram.getTotalCount());
+                    json.writeNumberField("p50Micros", histogram.getValueAtPercentile(50.0));
+                    json.writeNumberField("p95Micros", histogram.getValueAtPercentile(95.0));
+                    json.writeStringField("histogram",
+                        Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length)));
+                    json.writeEndObject();
+                }
+                json.writeEndObject();
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+    }
+
+    /**
+     * Returns the suite name.
+     *
+     * @return the name of the suite the runs belong to
+     */
+    public String suite() {
+        return this.suite;
+    }
+
+    /**
+     * Returns the recorded runs.
+     *
+     * @return the runs, oldest first
+     */
+    public List<Run> runs() {
+        return this.runs;
+    }
+}
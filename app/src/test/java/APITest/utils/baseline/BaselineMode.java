@@ -0,0 +1,38 @@
+package APITest.utils.baseline;
+
+import java.util.Locale;
+
+import APITest.utils.SuiteConfig;
+
+/**
+ * What the performance baseline gate does at the end of a suite, selected
+ * with {@code -Dsuite.baseline}.
+ */
+public enum BaselineMode {
+
+    /**
+     * Neither record nor compare (the default).
+     */
+    OFF,
+
+    /**
+     * Save the run's latency distributions and throughput as the suite's
+     * baseline, replacing any previous one.
+     */
+    RECORD,
+
+    /**
+     * Compare the run against the suite's baseline and fail on a regression.
+     */
+    COMPARE;
+
+    /**
+     * Returns the mode configured through {@link SuiteConfig#baseline()}.
+     *
+     * @return the configured mode
+     * @throws IllegalArgumentException if the value names no mode
+     */
+    public static BaselineMode configured() {
+        return valueOf(SuiteConfig.baseline().toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,73 @@
+package APITest.utils.baseline;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The outcome of comparing a suite run against its baseline.
+ *
+ * @param endpoints one comparison per endpoint of either side, by name
+ * @param baselineRuns the number of recorded runs compared against
+ * @param baselineThroughput the slowest recorded run's requests per second
+ * @param throughput this run's requests per second
+ * @param pooledP the one-sided p-value of this run's latencies, pooled over
+ *                every endpoint, being slower than the baseline's
+ * @param throughputRegressed whether the throughput dropped beyond the
+ *                            tolerated drop with significantly slower
+ *                            latencies
+ */
+public record GateReport(List<Endpoint> endpoints, int baselineRuns, double baselineThroughput, double throughput,
+        double pooledP, boolean throughputRegressed) {
+
+    /**
+     * The comparison of one endpoint.
+     *
+     * @param name the endpoint template, e.g. {@code GET /books}
+     * @param verdict the outcome
+     * @param baselineCount the sample count of the recorded runs
+     * @param count this run's sample count
+     * @param baselineP95Micros the p95 of the slowest recorded run, in
+     *                          microseconds
+     * @param p95Micros this run's p95, in microseconds
+     * @param p the p-value of the test behind the verdict, or {@code NaN}
+     *          if none was run
+     */
+    public record Endpoint(String name, RegressionGate.Verdict verdict, long baselineCount, long count,
+            long baselineP95Micros, long p95Micros, double p) { }
+
+    /**
+     * Returns whether the run passes the gate.
+     *
+     * @return {@code true} unless an endpoint or the throughput regressed
+     */
+    public boolean passed() {
+        return !this.throughputRegressed
+            && this.endpoints.stream().noneMatch(endpoint -> endpoint.verdict() == RegressionGate.Verdict.REGRESSED);
+    }
+
+    /**
+     * Formats the report as a table, one endpoint per line.
+     *
+     * @return the report text
+     */
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder(String.format(Locale.ROOT, "%-32s %-12s %8s %8s %11s %11s %8s %8s%n",
+            "endpoint", "verdict", "n base", "n run", "p95 base", "p95 run", "change", "p"));
+        for (Endpoint endpoint : this.endpoints) {
+            text.append(String.format(Locale.ROOT, "%-32s %-12s %8d %8d %8.2f ms %8.2f ms %8s %8s%n",
+                endpoint.name(), endpoint.verdict(), endpoint.baselineCount(), endpoint.count(),
+                endpoint.baselineP95Micros() / 1000.0, endpoint.p95Micros() / 1000.0,
+                change(endpoint.baselineP95Micros(), endpoint.p95Micros()),
+                Double.isNaN(endpoint.p()) ? "-" : String.format(Locale.ROOT, "%.4f", endpoint.p())));
+        }
+        text.append(String.format(Locale.ROOT, "throughput %.1f/s (slowest of %d runs) -> %.1f/s (%s), "
+            + "pooled latency p %.4f%s", this.baselineThroughput, this.baselineRuns, this.throughput,
+            change(this.baselineThroughput, this.throughput), this.pooledP, this.throughputRegressed ? ": REGRESSED" : ""));
+        return text.toString();
+    }
+
+    private static String change(double before, double after) {
+        return before == 0 || after == 0 ? "-" : String.format(Locale.ROOT, "%+.1f%%", (after / before - 1) * 100);
+    }
+}
@@ -0,0 +1,193 @@
+package APITest.utils.baseline;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+
+import org.HdrHistogram.Histogram;
+
+import APITest.utils.SuiteConfig;
+
+/**
+ * Compares a suite run against the recorded runs of its {@link Baseline}
+ * and decides whether it regressed.
+ *
+ * <p>An endpoint regresses when its p95 exceeds the p95 of the slowest
+ * recorded run by more than the tolerated increase, <em>and</em> a one-sided
+ * Mann-Whitney test finds its latencies significantly slower than the
+ * samples of every recorded run pooled. The threshold over the slowest run
+ * absorbs the drift between runs, which the samples of a single run cannot
+ * show; the test keeps a few unlucky samples on a short endpoint from
+ * failing the build. Endpoints with fewer samples than the minimum on
+ * either side are reported but not gated, as are endpoints only one side
+ * called.</p>
+ *
+ * <p>Throughput is a single figure per run and cannot be tested on its own,
+ * so a drop below the slowest recorded run's throughput by more than the
+ * tolerated drop fails the gate only if the run's latencies, pooled over
+ * every endpoint, are also significantly slower. A drop caused by, say, an
+ * extra test or a slow JVM start-up is reported without failing.</p>
+ */
+public final class RegressionGate {
+
+    private final double p95Increase;
+
+    private final double throughputDrop;
+
+    private final double alpha;
+
+    private final int minSamples;
+
+    /**
+     * Creates a gate.
+     *
+     * @param p95Increase the largest tolerated relative p95 increase, e.g.
+     *                    {@code 0.15}
+     * @param throughputDrop the largest tolerated relative throughput drop
+     * @param alpha the significance level of the Mann-Whitney tests
+     * @param minSamples the fewest samples an endpoint needs on both sides
+     *                   to be gated
+     */
+    public RegressionGate(double p95Increase, double throughputDrop, double alpha, int minSamples) {
+        this.p95Increase = p95Increase;
+        this.throughputDrop = throughputDrop;
+        this.alpha = alpha;
+        this.minSamples = minSamples;
+    }
+
+    /**
+     * Returns the gate configured through {@link SuiteConfig}.
+     *
+     * @return a gate with the configured thresholds
+     */
+    public static RegressionGate configured() {
+        return new RegressionGate(SuiteConfig.baselineP95Increase(), SuiteConfig.baselineThroughputDrop(),
+            SuiteConfig.baselineAlpha(), SuiteConfig.baselineMinSamples());
+    }
+
+    /**
+     * Compares {@code current} against the runs of {@code baseline}.
+     *
+     * @param baseline the recorded runs
+     * @param current the run to judge
+     * @return one comparison per endpoint of either side, and the
+     *         throughput verdict
+     */
+    public GateReport compare(Baseline baseline, Baseline.Run current) {
+        TreeSet<String> names = new TreeSet<>(current.latencies().keySet());
+        baseline.runs().forEach(run -> names.addAll(run.latencies().keySet()));
+        List<GateReport.Endpoint> endpoints = new ArrayList<>();
+        for (String name : names) {
+            List<Histogram> runs = new ArrayList<>();
+            for (Baseline.Run run : baseline.runs()) {
+                Histogram histogram = run.latencies().get(name);
+                if (histogram != null) {
+                    runs.add(histogram);
+                }
+            }
+            endpoints.add(this.compare(name, runs, current.latencies().get(name)));
+        }
+
+        double baselineThroughput = baseline.runs().stream()
+            .mapToDouble(Baseline.Run::throughput)
+            .min()
+            .orElse(0.0);
+        List<Histogram> pooledRuns = new ArrayList<>();
+        baseline.runs().forEach(run -> pooledRuns.add(pooled(run.latencies().values())));
+        MannWhitney.Result slower = MannWhitney.greater(pooled(pooledRuns), pooled(current.latencies().values()));
+        boolean throughputRegressed = baselineThroughput > 0
+            && current.throughput() < baselineThroughput * (1 - this.throughputDrop)
+            && slower.p() < this.alpha;
+        return new GateReport(endpoints, baseline.runs().size(), baselineThroughput, current.throughput(),
+            slower.p(), throughputRegressed);
+    }
+
+    /**
+     * Judges one endpoint: against the slowest recorded run's p95 for a
+     * regression, the fastest one's for an improvement, and the samples of
+     * every run pooled for the significance.
+     */
+    private GateReport.Endpoint compare(String name, List<Histogram> runs, Histogram after) {
+        Histogram before = runs.isEmpty() ? null : pooled(runs);
+        if (before == null) {
+            return new GateReport.Endpoint(name, Verdict.NEW, 0, after.getTotalCount(), 0,
+                after.getValueAtPercentile(95.0), Double.NaN);
+        }
+        long slowestP95 = runs.stream().mapToLong(run -> run.getValueAtPercentile(95.0)).max().orElse(0);
+        if (after == null) {
+            return new GateReport.Endpoint(name, Verdict.MISSING, before.getTotalCount(), 0, slowestP95, 0,
+                Double.NaN);
+        }
+        long p95 = after.getValueAtPercentile(95.0);
+        if (before.getTotalCount() < this.minSamples || after.getTotalCount() < this.minSamples) {
+            return new GateReport.Endpoint(name, Verdict.INSUFFICIENT, before.getTotalCount(), after.getTotalCount(),
+                slowestP95, p95, Double.NaN);
+        }
+
+        long fastestP95 = runs.stream().mapToLong(run -> run.getValueAtPercentile(95.0)).min().orElse(0);
+        Verdict verdict = Verdict.UNCHANGED;
+        MannWhitney.Result test = MannWhitney.greater(before, after);
+        if (p95 > slowestP95 * (1 + this.p95Increase)) {
+            verdict = test.p() < this.alpha ? Verdict.REGRESSED : Verdict.UNCHANGED;
+        } else if (p95 * (1 + this.p95Increase) < fastestP95) {
+            test = MannWhitney.greater(after, before);
+            verdict = test.p() < this.alpha ? Verdict.IMPROVED : Verdict.UNCHANGED;
+        }
+        return new GateReport.Endpoint(name, verdict, before.getTotalCount(), after.getTotalCount(), slowestP95, p95,
+            test.p());
+    }
+
+    /**
+     * Returns the samples of several histograms in one.
+     */
+    private static Histogram pooled(Collection<Histogram> histograms) {
+        Histogram pooled = null;
+        for (Histogram histogram : histograms) {
+            if (pooled == null) {
+                pooled = histogram.copy();
+            } else {
+                pooled.add(histogram);
+            }
+        }
+        return pooled == null ? new Histogram(2) : pooled;
+    }
+
+    /**
+     * The outcome for one endpoint.
+     */
+    public enum Verdict {
+
+        /**
+         * Significantly slower, with a p95 beyond the slowest recorded run's
+         * by more than the tolerated increase; fails the gate.
+         */
+        REGRESSED,
+
+        /**
+         * Significantly faster, with a p95 below the fastest recorded run's
+         * by as much.
+         */
+        IMPROVED,
+
+        /**
+         * Within the thresholds, or not significantly different.
+         */
+        UNCHANGED,
+
+        /**
+         * Too few samples on one of the sides to judge.
+         */
+        INSUFFICIENT,
+
+        /**
+         * Called by this run only.
+         */
+        NEW,
+
+        /**
+         * Called by the recorded runs only.
+         */
+        MISSING
+    }
+}
@@ -0,0 +1,143 @@
+package APITest.utils.data;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongFunction;
+
+/**
+ * A pool of generated values, built ahead of use by a background thread.
+ *
+ * <p>Value {@code i} is always {@code generator.apply(i)}, and every index is
+ * handed out at most once, so values are unique whenever the generator makes
+ * them so. Indices are produced in blocks: a daemon thread keeps up to
+ * {@code blocksAhead} blocks rendered, and a consumer that finds none ready
+ * renders the next block itself rather than wait.</p>
+ *
+ * <p>Platform threads draw from a thread-local cursor into their current
+ * block, without synchronization. Virtual threads usually live for a single
+ * task and would strand a mostly unused block each, so they share one cursor
+ * under a lock instead.</p>
+ *
+ * @param <T> the type of the values
+ */
+public final class DataPool<T> {
+
+    private final LongFunction<T> generator;
+
+    private final int blockSize;
+
+    private final AtomicLong nextBlock = new AtomicLong();
+
+    private final BlockingQueue<Object[]> ready;
+
+    private final ThreadLocal<Cursor> cursors = ThreadLocal.withInitial(Cursor::new);
+
+    private final Cursor shared = new Cursor();
+
+    private final ReentrantLock sharedLock = new ReentrantLock();
+
+    private final LongAdder inlineBlocks = new LongAdder();
+
+    private final Thread producer;
+
+    /**
+     * Creates the pool and starts its background producer.
+     *
+     * @param name the producer thread's name
+     * @param generator returns the value at an index; called from the
+     *        producer and from consumers, so it must be thread-safe
+     * @param blockSize number of values rendered and claimed together
+     * @param blocksAhead number of rendered blocks kept waiting
+     */
+    public DataPool(String name, LongFunction<T> generator, int blockSize, int blocksAhead) {
+        this.generator = generator;
+        this.blockSize = Math.max(1, blockSize);
+        this.ready = new ArrayBlockingQueue<>(Math.max(1, blocksAhead));
+        this.producer = Thread.ofPlatform().daemon().name(name).start(this::produce);
+    }
+
+    /**
+     * Returns the next unused value.
+     *
+     * @return a value no other call returned
+     */
+    public T next() {
+        if (!Thread.currentThread().isVirtual()) {
+            return this.cursors.get().next();
+        }
+        this.sharedLock.lock();
+        try {
+            return this.shared.next();
+        } finally {
+            this.sharedLock.unlock();
+        }
+    }
+
+    /**
+     * Returns how many blocks consumers had to render themselves because
+     * the producer had none ready.
+     *
+     * @return the number of blocks not built ahead
+     */
+    public long inlineBlocks() {
+        return this.inlineBlocks.sum();
+    }
+
+    /**
+     * Stops the background producer. Consumers keep working, rendering
+     * blocks themselves.
+     */
+    public void close() {
+        this.producer.interrupt();
+    }
+
+    private void produce() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                this.ready.put(this.render(this.nextBlock.getAndIncrement()));
+            }
+        } catch (InterruptedException e) {
+            // Closed.
+        }
+    }
+
+    private Object[] claim() {
+        Object[] block = this.ready.poll();
+        if (block != null) {
+            return block;
+        }
+        this.inlineBlocks.increment();
+        return this.render(this.nextBlock.getAndIncrement());
+    }
+
+    private Object[] render(long block) {
+        Object[] values = new Object[this.blockSize];
+        long first = block * this.blockSize;
+        for (int i = 0; i < values.length; i++) {
+            values[i] = this.generator.apply(first + i);
+        }
+        return values;
+    }
+
+    /**
+     * Position in the block a consumer is drawing from.
+     */
+    private final class Cursor {
+
+        private Object[] block = new Object[0];
+
+        private int position;
+
+        @SuppressWarnings("unchecked")
+        T next() {
+            if (this.position == this.block.length) {
+                this.block = DataPool.this.claim();
+                this.position = 0;
+            }
+            return (T) this.block[this.position++];
+        }
+    }
+}
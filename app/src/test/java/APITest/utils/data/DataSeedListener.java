@@ -0,0 +1,88 @@
+package APITest.utils.data;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ISuiteResult;
+import org.testng.ITestContext;
+import org.testng.ITestResult;
+import org.testng.Reporter;
+
+import APITest.utils.SuiteConfig;
+
+/**
+ * Binds a {@link DataStream} to every test and configuration method while it
+ * runs, and prints the suite's data seed when something fails.
+ *
+ * <p>The stream is keyed by the method's qualified name and parameters, so
+ * each method gets the same data in serial and parallel runs of any width.
+ * Repeated invocations of the same key, i.e. {@code invocationCount},
+ * retries and configuration methods run before each of them, get a
+ * {@code #n} suffix in the order they start, so they do not send the same
+ * "unique" data twice. Registered through
+ * {@code META-INF/services/org.testng.ITestNGListener}.</p>
+ */
+public class DataSeedListener implements IInvokedMethodListener, ISuiteListener {
+
+    private final ThreadLocal<DataStream> previous = new ThreadLocal<>();
+
+    /**
+     * How many invocations of each key started in the current suite.
+     */
+    private final Map<String, AtomicInteger> invocations = new ConcurrentHashMap<>();
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        String key = key(testResult);
+        int invocation = this.invocations.computeIfAbsent(key, k -> new AtomicInteger()).getAndIncrement();
+        this.previous.set(DataStream.bind(invocation == 0 ? key : key + "#" + invocation));
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (testResult.getStatus() == ITestResult.FAILURE) {
+            DataStream stream = DataStream.current();
+            testResult.setAttribute(SuiteConfig.DATA_SEED, SuiteConfig.dataSeed());
+            String message = String.format("%s failed with test data stream '%s' of seed %d; "
+                + "rerun with -D%s=%d to reproduce its data", testResult.getName(), stream.key(),
+                SuiteConfig.dataSeed(), SuiteConfig.DATA_SEED, SuiteConfig.dataSeed());
+            System.out.println(message);
+            Reporter.log(message);
+        }
+        DataStream.restore(this.previous.get());
+        this.previous.remove();
+    }
+
+    @Override
+    public void onStart(ISuite suite) {
+        this.invocations.clear();
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        int failures = 0;
+        for (ISuiteResult result : suite.getResults().values()) {
+            ITestContext context = result.getTestContext();
+            failures += context.getFailedTests().size() + context.getFailedConfigurations().size();
+        }
+        if (failures > 0) {
+            System.out.printf("%s: %d failure(s) with test data seed %d (-D%s=%d)%n", suite.getName(), failures,
+                SuiteConfig.dataSeed(), SuiteConfig.DATA_SEED, SuiteConfig.dataSeed());
+        }
+    }
+
+    /**
+     * Returns {@code Class.method} followed by the parameters, if any.
+     */
+    private static String key(ITestResult result) {
+        String name = result.getMethod().getQualifiedName();
+        Object[] parameters = result.getParameters();
+        return parameters == null || parameters.length == 0 ? name : name + Arrays.deepToString(parameters);
+    }
+}
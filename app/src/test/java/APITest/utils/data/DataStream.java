@@ -0,0 +1,195 @@
+package APITest.utils.data;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import APITest.utils.SuiteConfig;
+import net.datafaker.Faker;
+
+/**
+ * An independently seeded source of test data, identified by a logical key
+ * such as a test method or a load worker.
+ *
+ * <p>A stream's seed is derived from the suite seed
+ * ({@link SuiteConfig#dataSeed()}) and its key only, never from the thread
+ * or the order in which work was scheduled. A test therefore sees the same
+ * data whether the suite runs serially or on any number of threads, and a
+ * failing run is reproduced by passing its seed back with
+ * {@code -Dsuite.data.seed}.</p>
+ *
+ * <p>Each thread has a current stream: the one bound with {@link #bind},
+ * which {@link DataSeedListener} does around every test method, or else a
+ * stream keyed by the thread's id and name. A stream is meant to be used by
+ * one thread at a time and is not thread-safe.</p>
+ */
+public final class DataStream {
+
+    private static final ThreadLocal<DataStream> CURRENT = new ThreadLocal<>();
+
+    private final String key;
+
+    private final long seed;
+
+    private final boolean bound;
+
+    private Random random;
+
+    private Faker faker;
+
+    private long draws;
+
+    private int children;
+
+    private DataStream(String key, long seed, boolean bound) {
+        this.key = key;
+        this.seed = seed;
+        this.bound = bound;
+    }
+
+    /**
+     * Returns the stream for {@code key} under {@code suiteSeed}.
+     *
+     * @param suiteSeed the suite seed
+     * @param key the logical identity of the stream
+     * @return a new stream at its first value
+     */
+    public static DataStream of(long suiteSeed, String key) {
+        return new DataStream(key, derive(suiteSeed, key), true);
+    }
+
+    /**
+     * Makes the stream for {@code key} current on this thread.
+     *
+     * @param key the logical identity of the work about to run
+     * @return the previously bound stream, or {@code null}, to pass to
+     *         {@link #restore}
+     */
+    public static DataStream bind(String key) {
+        DataStream previous = CURRENT.get();
+        CURRENT.set(of(SuiteConfig.dataSeed(), key));
+        return previous;
+    }
+
+    /**
+     * Makes {@code previous}, as returned by {@link #bind}, current again.
+     *
+     * @param previous the stream to restore, or {@code null} for none
+     */
+    public static void restore(DataStream previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * Returns this thread's current stream.
+     *
+     * @return the bound stream, or one keyed by the thread
+     */
+    public static DataStream current() {
+        DataStream stream = CURRENT.get();
+        if (stream == null) {
+            Thread thread = Thread.currentThread();
+            String key = "thread:" + thread.threadId() + ":" + thread.getName();
+            stream = new DataStream(key, derive(SuiteConfig.dataSeed(), key), false);
+            CURRENT.set(stream);
+        }
+        return stream;
+    }
+
+    /**
+     * Derives a stream seed: a 64-bit FNV-1a hash of the key, mixed with
+     * the suite seed.
+     *
+     * @param suiteSeed the suite seed
+     * @param key the stream key
+     * @return the stream seed
+     */
+    public static long derive(long suiteSeed, String key) {
+        long hash = 0xCBF29CE484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash = (hash ^ (b & 0xFF)) * 0x100000001B3L;
+        }
+        return TestDataPools.mix(suiteSeed ^ hash);
+    }
+
+    /**
+     * Returns the stream's key.
+     *
+     * @return the logical identity the seed derives from
+     */
+    public String key() {
+        return this.key;
+    }
+
+    /**
+     * Returns the key for the stream of work this stream's thread hands to
+     * another, such as an asynchronous request: this stream's key, how many
+     * keys it handed out before and {@code name}. The key therefore depends
+     * on the order the work was handed out in, not on when it runs.
+     *
+     * @param name what the work is, e.g. a request description
+     * @return a key no other work of this stream gets
+     */
+    public String childKey(String name) {
+        return this.key + "/" + this.children++ + ":" + name;
+    }
+
+    /**
+     * Returns the stream's seed.
+     *
+     * @return the derived seed
+     */
+    public long seed() {
+        return this.seed;
+    }
+
+    /**
+     * Returns whether the stream was bound to a logical key, rather than
+     * being the thread's fallback stream.
+     *
+     * @return {@code true} if the data does not depend on scheduling
+     */
+    public boolean isBound() {
+        return this.bound;
+    }
+
+    /**
+     * Returns the stream's random number generator.
+     *
+     * @return a generator seeded with {@link #seed()}
+     */
+    public Random random() {
+        if (this.random == null) {
+            this.random = new Random(this.seed);
+        }
+        return this.random;
+    }
+
+    /**
+     * Returns the stream's Faker, created on first use.
+     *
+     * @return a Faker seeded from {@link #seed()}
+     */
+    public Faker faker() {
+        if (this.faker == null) {
+            this.faker = new Faker(new Random(TestDataPools.mix(this.seed)));
+        }
+        return this.faker;
+    }
+
+    /**
+     * Returns the next index of this stream's own region of the
+     * {@link TestDataPools} index space. Regions lie above {@code 2^61},
+     * out of the pools' reach, and are told apart by 29 bits of the seed,
+     * so two streams share values only if those bits collide.
+     *
+     * @return an index for {@link TestDataPools#email(long)} and friends
+     */
+    public long nextIndex() {
+        long region = (1L << 29) | (this.seed >>> 35);
+        return (region << 32) | (this.draws++ & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,231 @@
+package APITest.utils.data;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import APITest.utils.Order;
+import APITest.utils.SuiteConfig;
+import net.datafaker.Faker;
+
+/**
+ * Pre-generated pools of unique client e-mails, customer names and book
+ * orders for load scenarios.
+ *
+ * <p>Faker expands a template or regular expression on every call, which
+ * dominates the client-side cost once a scenario registers thousands of
+ * clients a second. Here Faker is only asked, once and seeded, for a
+ * vocabulary of first names, last names and domains; values are then
+ * combined from it by index:</p>
+ * <ul>
+ *   <li>e-mails add the index in base 36 to the local part, so they never
+ *   repeat;</li>
+ *   <li>customer names walk every first/last name pair in a seeded order
+ *   before repeating, then get a numeric suffix;</li>
+ *   <li>orders pair a customer name with an in-stock book.</li>
+ * </ul>
+ * <p>The same seed therefore yields the same values at the same indices on
+ * every run. Each kind is served by its own {@link DataPool}.</p>
+ */
+public final class TestDataPools {
+
+    /**
+     * Books the Simple Books API has in stock; book {@code 2} is not.
+     */
+    private static final int[] ORDERABLE_BOOKS = {1, 3, 4, 5, 6};
+
+    /**
+     * Vocabulary sizes. Names are powers of two so that any odd multiplier
+     * permutes the name pairs.
+     */
+    private static final int FIRST_NAMES = 256;
+
+    private static final int LAST_NAMES = 256;
+
+    private static final int DOMAINS = 32;
+
+    private static final int BLOCK_SIZE = 256;
+
+    private static final int BLOCKS_AHEAD = 16;
+
+    private static volatile TestDataPools shared;
+
+    private final long seed;
+
+    private final String[] firstNames;
+
+    private final String[] lastNames;
+
+    private final String[] domains;
+
+    /**
+     * The names reduced to e-mail-safe characters.
+     */
+    private final String[] firstSlugs;
+
+    private final String[] lastSlugs;
+
+    private final DataPool<String> emails;
+
+    private final DataPool<String> customerNames;
+
+    private final DataPool<Order> orders;
+
+    /**
+     * Builds the vocabulary for {@code seed} and starts the pools.
+     *
+     * @param seed the seed the vocabulary and every value derive from
+     */
+    public TestDataPools(long seed) {
+        this.seed = seed;
+        Faker faker = new Faker(new Random(seed));
+        this.firstNames = distinct(FIRST_NAMES, () -> faker.name().firstName());
+        this.lastNames = distinct(LAST_NAMES, () -> faker.name().lastName());
+        this.domains = distinct(DOMAINS, () -> faker.internet().domainName());
+        this.firstSlugs = slugs(this.firstNames);
+        this.lastSlugs = slugs(this.lastNames);
+
+        this.emails = new DataPool<>("test-data-emails", this::email, BLOCK_SIZE, BLOCKS_AHEAD);
+        this.customerNames = new DataPool<>("test-data-names", this::customerName, BLOCK_SIZE, BLOCKS_AHEAD);
+        this.orders = new DataPool<>("test-data-orders", this::order, BLOCK_SIZE, BLOCKS_AHEAD);
+    }
+
+    /**
+     * Returns the suite-wide pools, seeded with {@link SuiteConfig#dataSeed()}.
+     *
+     * @return the shared instance, created on first use
+     */
+    public static TestDataPools shared() {
+        TestDataPools pools = shared;
+        if (pools == null) {
+            synchronized (TestDataPools.class) {
+                pools = shared;
+                if (pools == null) {
+                    pools = new TestDataPools(SuiteConfig.dataSeed());
+                    shared = pools;
+                }
+            }
+        }
+        return pools;
+    }
+
+    /**
+     * Returns an e-mail address no other call returned.
+     *
+     * @return a unique e-mail address
+     */
+    public String nextEmail() {
+        return this.emails.next();
+    }
+
+    /**
+     * Returns a customer name, unique for the first 65 536 calls.
+     *
+     * @return a customer name
+     */
+    public String nextCustomerName() {
+        return this.customerNames.next();
+    }
+
+    /**
+     * Returns an order for an in-stock book. Each order is a new instance.
+     *
+     * @return an order payload
+     */
+    public Order nextOrder() {
+        return this.orders.next();
+    }
+
+    /**
+     * Returns the seed the values derive from.
+     *
+     * @return the seed
+     */
+    public long seed() {
+        return this.seed;
+    }
+
+    /**
+     * Stops the background producers.
+     */
+    public void close() {
+        this.emails.close();
+        this.customerNames.close();
+        this.orders.close();
+    }
+
+    /**
+     * Returns the e-mail address at {@code index}, without going through the
+     * pool; used with {@link DataStream#nextIndex()}.
+     *
+     * @param index any non-negative index
+     * @return the address, unique to the index
+     */
+    public String email(long index) {
+        long hash = mix(this.seed + index);
+        return this.firstSlugs[(int) (hash & (FIRST_NAMES - 1))] + '.'
+            + this.lastSlugs[(int) ((hash >>> 16) & (LAST_NAMES - 1))] + '.'
+            + Long.toString(index, 36) + '@'
+            + this.domains[(int) Long.remainderUnsigned(hash >>> 32, DOMAINS)];
+    }
+
+    /**
+     * Returns the customer name at {@code index}: an affine permutation of
+     * the name pairs, so consecutive indices do not share a first name. The
+     * upper 32 bits of the index, a {@link DataStream} region, shift the
+     * permutation; the lower 32 bits count the rounds.
+     *
+     * @param index any non-negative index
+     * @return the name
+     */
+    public String customerName(long index) {
+        long pairs = (long) FIRST_NAMES * LAST_NAMES;
+        long pair = ((index % pairs) * (mix(this.seed) | 1) + this.seed + mix(index >>> 32)) & (pairs - 1);
+        String name = this.firstNames[(int) (pair % FIRST_NAMES)] + ' ' + this.lastNames[(int) (pair / FIRST_NAMES)];
+        long round = (index & 0xFFFFFFFFL) / pairs;
+        return round == 0 ? name : name + ' ' + (round + 1);
+    }
+
+    /**
+     * Returns the order at {@code index}, without going through the pool.
+     *
+     * @param index any non-negative index
+     * @return a new order
+     */
+    public Order order(long index) {
+        int book = ORDERABLE_BOOKS[(int) Long.remainderUnsigned(mix(this.seed ^ index), ORDERABLE_BOOKS.length)];
+        return new Order(book, this.customerName(index));
+    }
+
+    private static String[] distinct(int count, Supplier<String> source) {
+        Set<String> values = new LinkedHashSet<>();
+        for (int attempt = 0; values.size() < count && attempt < count * 100; attempt++) {
+            values.add(source.get());
+        }
+        if (values.size() < count) {
+            throw new IllegalStateException("Faker produced only " + values.size() + " distinct values, need " + count);
+        }
+        return values.toArray(String[]::new);
+    }
+
+    private static String[] slugs(String[] names) {
+        String[] slugs = new String[names.length];
+        for (int i = 0; i < names.length; i++) {
+            String slug = names[i].toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]", "");
+            slugs[i] = slug.isEmpty() ? "user" : slug;
+        }
+        return slugs;
+    }
+
+    /**
+     * SplitMix64 finalizer: spreads consecutive inputs over all 64 bits.
+     */
+    static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,165 @@
+package APITest.utils.fixture;
+
+import static io.restassured.RestAssured.given;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import APITest.utils.schedule.TaskGraph;
+import APITest.utils.schedule.TaskGraph.Task;
+import io.restassured.specification.RequestSpecification;
+
+/**
+ * Suite-wide bookkeeping of the objects the tests create on the RESTful
+ * {@code /objects} API, so none outlives the suite.
+ *
+ * <p>Test classes {@link #provision} the objects they need in one batch from
+ * {@code @BeforeClass}: the creates run concurrently on a {@link TaskGraph}
+ * and each test {@link Batch#take() takes} one when it needs it, instead of
+ * creating its own inline. Every create reports the new id with
+ * {@link #created} and every successful delete with {@link #deleted};
+ * whatever is left, e.g. objects a test only created or ones a failed test
+ * never got to delete, is removed by one concurrent {@link #sweep} at the
+ * end of the suite by {@link ObjectSweepListener}. Public APIs otherwise keep every object of every run.
+ * All methods are thread-safe.</p>
+ */
+public final class ObjectFixtures {
+
+    private static final ObjectFixtures SHARED = new ObjectFixtures();
+
+    private final Set<String> live = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Returns the bookkeeping shared by the whole suite.
+     *
+     * @return the suite-wide instance
+     */
+    public static ObjectFixtures shared() {
+        return SHARED;
+    }
+
+    /**
+     * Objects created for one test class, handed out one per test.
+     */
+    public static final class Batch {
+
+        private final List<Task<String>> objects;
+
+        private final AtomicInteger next = new AtomicInteger();
+
+        private Batch(List<Task<String>> objects) {
+            this.objects = objects;
+        }
+
+        /**
+         * Returns the id of an object no other test has taken, waiting for
+         * its create to complete.
+         *
+         * @return the id of an object the caller now owns
+         * @throws IllegalStateException if every object was taken
+         * @throws AssertionError if the object could not be created
+         */
+        public String take() {
+            int index = this.next.getAndIncrement();
+            if (index >= this.objects.size()) {
+                throw new IllegalStateException("All " + this.objects.size() + " provisioned objects were taken");
+            }
+            return this.objects.get(index).await();
+        }
+    }
+
+    /**
+     * Starts creating {@code count} objects at once and returns without
+     * waiting for them.
+     *
+     * @param owner the test class, naming the batch in errors and data
+     *              stream keys
+     * @param count how many objects the class needs
+     * @param create creates one object and returns its id, having reported
+     *               it with {@link #created}
+     * @return the batch to take the objects from
+     */
+    public Batch provision(String owner, int count, Supplier<String> create) {
+        TaskGraph creates = new TaskGraph(owner + " objects");
+        List<Task<String>> objects = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            objects.add(creates.add("object " + (i + 1), create));
+        }
+        creates.start();
+        return new Batch(objects);
+    }
+
+    /**
+     * Records an object created by a test.
+     *
+     * @param id the id returned by {@code POST /objects}
+     */
+    public void created(String id) {
+        this.live.add(id);
+    }
+
+    /**
+     * Records that an object was deleted and needs no sweeping.
+     *
+     * @param id the id of the deleted object
+     */
+    public void deleted(String id) {
+        this.live.remove(id);
+    }
+
+    /**
+     * Returns how many recorded objects have not been deleted.
+     *
+     * @return the number of objects a sweep would delete
+     */
+    public int leftovers() {
+        return this.live.size();
+    }
+
+    /**
+     * Deletes every recorded object not deleted yet, concurrently, and
+     * prints how many were removed. An object already gone ({@code 404}) is
+     * forgotten too; one that could not be deleted stays recorded and is
+     * reported without failing anything, as the tests already ran.
+     *
+     * @param spec specification targeting the {@code /objects} API the
+     *             objects were created on
+     * @return the number of objects deleted
+     */
+    public int sweep(RequestSpecification spec) {
+        List<String> ids = List.copyOf(this.live);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        TaskGraph deletes = new TaskGraph("object sweep");
+        List<Task<Integer>> statuses = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            statuses.add(deletes.add(id, () -> given(spec).when().delete("/objects/{id}", id).statusCode()));
+        }
+        deletes.start();
+
+        int deleted = 0;
+        List<String> failures = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            String id = ids.get(i);
+            try {
+                int status = statuses.get(i).await();
+                if (status == 200 || status == 404) {
+                    this.live.remove(id);
+                    deleted += status == 200 ? 1 : 0;
+                } else {
+                    failures.add(id + " (" + status + ")");
+                }
+            } catch (RuntimeException e) {
+                failures.add(id + " (" + e.getMessage() + ")");
+            }
+        }
+        System.out.println("Object fixtures: deleted " + deleted + " of " + ids.size() + " leftover objects"
+            + (failures.isEmpty() ? "" : "; could not delete " + failures));
+        return deleted;
+    }
+}
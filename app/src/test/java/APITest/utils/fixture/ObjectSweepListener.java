@@ -0,0 +1,39 @@
+package APITest.utils.fixture;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+
+import APITest.utils.ApiSpecs;
+
+/**
+ * Deletes the objects a suite created and did not delete once its last
+ * {@code <test>} finishes; see {@link ObjectFixtures#sweep}.
+ *
+ * <p>Registered through {@code META-INF/services/org.testng.ITestNGListener},
+ * so it runs in every suite, whichever classes created the objects. The
+ * sweep runs when the last test of the suite finishes rather than in
+ * {@link ISuiteListener#onFinish}, which TestNG calls after the suite's
+ * own listeners have stopped the stubs the objects live on. A suite that
+ * left no object sends no request.</p>
+ */
+public class ObjectSweepListener implements ISuiteListener, ITestListener {
+
+    private static final String RUNNING = ObjectSweepListener.class.getName() + ".running";
+
+    @Override
+    public void onStart(ISuite suite) {
+        suite.setAttribute(RUNNING, new AtomicInteger(suite.getXmlSuite().getTests().size()));
+    }
+
+    @Override
+    public void onFinish(ITestContext context) {
+        if (context.getSuite().getAttribute(RUNNING) instanceof AtomicInteger running
+                && running.decrementAndGet() == 0) {
+            ObjectFixtures.shared().sweep(ApiSpecs.objects());
+        }
+    }
+}
@@ -0,0 +1,483 @@
+package APITest.utils.http;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpHost;
+import org.apache.http.conn.ClientConnectionOperator;
+import org.apache.http.conn.ClientConnectionRequest;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.HttpInetSocketAddress;
+import org.apache.http.conn.ManagedClientConnection;
+import org.apache.http.conn.OperatedClientConnection;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.scheme.PlainSocketFactory;
+import org.apache.http.conn.scheme.Scheme;
+import org.apache.http.conn.scheme.SchemeLayeredSocketFactory;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.conn.scheme.SchemeSocketFactory;
+import org.apache.http.conn.ssl.SSLSocketFactory;
+import org.apache.http.entity.HttpEntityWrapper;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.DefaultClientConnectionOperator;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.params.HttpParams;
+import org.apache.http.protocol.HttpContext;
+
+import APITest.utils.SuiteConfig;
+import APITest.utils.metrics.RequestTimings;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Keep-alive connection pool shared by every RestAssured request of the
+ * suite.
+ *
+ * <p>By default RestAssured builds a new Apache HttpClient, with its own
+ * connection manager, for each request, so every call pays for a TCP (and
+ * TLS) handshake. {@link #httpClientConfig()} still hands RestAssured a
+ * fresh client per request, keeping per-request client settings isolated
+ * between parallel tests, but all clients lease connections from one
+ * pooling manager:</p>
+ * <ul>
+ *   <li>at most {@code suite.http.maxTotal} connections, and
+ *   {@code suite.http.maxPerRoute} per host;</li>
+ *   <li>connections are kept alive for the server's {@code Keep-Alive}
+ *   timeout, or {@code suite.http.keepAlive} seconds without one;</li>
+ *   <li>a background thread evicts expired and idle connections.</li>
+ * </ul>
+ *
+ * <p>RestAssured reads response bodies lazily and never releases the
+ * connection of an unread body, so {@link #drainFilter()} must be installed
+ * as well; a {@link StreamingBody} request releases it once the caller has
+ * read or closed the body. {@link #stats()} reports how many requests reused a pooled
+ * connection instead of opening a new one.</p>
+ *
+ * <p>The clients also report the DNS, connect, TLS, time-to-first-byte and
+ * body-read phases of each request to the thread's open
+ * {@link RequestTimings}, if any.</p>
+ *
+ * <p>RestAssured 5 only accepts the legacy {@code AbstractHttpClient} API,
+ * hence the deprecated HttpClient 4 classes.</p>
+ */
+@SuppressWarnings("deprecation")
+public class ConnectionPool implements AutoCloseable {
+
+    /**
+     * How often the evictor thread looks for stale connections.
+     */
+    private static final Duration EVICTION_INTERVAL = Duration.ofSeconds(5);
+
+    private final LongAdder requests = new LongAdder();
+
+    private final LongAdder opened = new LongAdder();
+
+    private final Manager manager;
+
+    private final ConnectionKeepAliveStrategy keepAlive;
+
+    private final ScheduledExecutorService evictor;
+
+    /**
+     * Creates a pool sized from the {@code suite.http.*} properties.
+     */
+    public ConnectionPool() {
+        this(SuiteConfig.httpMaxTotal(), SuiteConfig.httpMaxPerRoute(), SuiteConfig.httpKeepAlive());
+    }
+
+    /**
+     * Creates a pool with explicit limits.
+     *
+     * @param maxTotal maximum number of pooled connections
+     * @param maxPerRoute maximum number of pooled connections per host
+     * @param keepAlive idle keep-alive when the server sends no timeout
+     */
+    public ConnectionPool(int maxTotal, int maxPerRoute, Duration keepAlive) {
+        this.manager = new Manager(maxTotal, maxPerRoute);
+
+        long keepAliveMillis = keepAlive.toMillis();
+        this.keepAlive = (response, context) -> {
+            long announced = DefaultConnectionKeepAliveStrategy.INSTANCE
+                .getKeepAliveDuration(response, context);
+            return announced > 0 ? Math.min(announced, keepAliveMillis) : keepAliveMillis;
+        };
+
+        this.evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "http-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.evictor.scheduleWithFixedDelay(() -> {
+            this.manager.closeExpiredConnections();
+            this.manager.closeIdleConnections(keepAliveMillis, TimeUnit.MILLISECONDS);
+        }, EVICTION_INTERVAL.toMillis(), EVICTION_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Returns a RestAssured client configuration whose clients all share
+     * this pool.
+     *
+     * @return the configuration to pass to {@code RestAssuredConfig.httpClient}
+     */
+    public HttpClientConfig httpClientConfig() {
+        return HttpClientConfig.httpClientConfig().httpClientFactory(() -> {
+            DefaultHttpClient client = new DefaultHttpClient(this.manager);
+            client.setKeepAliveStrategy(this.keepAlive);
+            client.addRequestInterceptor((request, context) -> {
+                this.requests.increment();
+                HttpEntity body = request instanceof HttpEntityEnclosingRequest enclosing ? enclosing.getEntity() : null;
+                RequestTimings.sending(body == null ? 0 : body.getContentLength());
+            });
+            client.addResponseInterceptor((response, context) -> {
+                RequestTimings.headersReceived();
+                RequestTimings timings = RequestTimings.current();
+                if (timings != null && response.getEntity() != null) {
+                    response.setEntity(new TimedEntity(response.getEntity(), timings));
+                }
+            });
+            return client;
+        });
+    }
+
+    /**
+     * Returns a filter that reads every response body as soon as it arrives,
+     * so its connection goes back to the pool even if the test never looks
+     * at the body. The body stays available to later assertions. Requests
+     * marked with {@link StreamingBody#filter()} are not drained.
+     *
+     * @return the draining filter
+     */
+    public Filter drainFilter() {
+        return new DrainFilter();
+    }
+
+    /**
+     * Returns connection reuse figures since the pool was created.
+     *
+     * @return the current statistics
+     */
+    public ConnectionStats stats() {
+        return new ConnectionStats(this.requests.sum(), this.opened.sum(),
+            this.manager.getTotalStats().getLeased(), this.manager.getTotalStats().getAvailable());
+    }
+
+    /**
+     * Stops the evictor and closes every pooled connection.
+     */
+    @Override
+    public void close() {
+        this.evictor.shutdownNow();
+        this.manager.close();
+    }
+
+    /**
+     * Pooling manager that counts opened connections and ignores the
+     * {@code shutdown()} of individual clients, since it outlives them.
+     *
+     * <p>HttpClient 4 waits for a free pooled connection inside a
+     * {@code synchronized} method, which pins a virtual thread to its
+     * carrier; once every carrier is pinned, the threads that would return
+     * connections can never resume. Callers therefore first wait on
+     * {@link Semaphore}s sized like the pool, which park virtual threads
+     * without pinning, so the pool itself never has to block.</p>
+     */
+    private final class Manager extends PoolingClientConnectionManager {
+
+        private final Semaphore totalPermits;
+
+        private final int maxPerRoute;
+
+        private final Map<HttpRoute, Semaphore> routePermits = new ConcurrentHashMap<>();
+
+        private final Map<ManagedClientConnection, HttpRoute> leased = new ConcurrentHashMap<>();
+
+        Manager(int maxTotal, int maxPerRoute) {
+            super(timedSchemes());
+            this.setMaxTotal(maxTotal);
+            this.setDefaultMaxPerRoute(maxPerRoute);
+            this.totalPermits = new Semaphore(maxTotal, true);
+            this.maxPerRoute = maxPerRoute;
+        }
+
+        @Override
+        protected ClientConnectionOperator createConnectionOperator(SchemeRegistry schemes) {
+            return new DefaultClientConnectionOperator(schemes) {
+                @Override
+                protected InetAddress[] resolveHostname(String host) throws UnknownHostException {
+                    long start = System.nanoTime();
+                    InetAddress[] addresses = super.resolveHostname(host);
+                    RequestTimings.dnsResolved(System.nanoTime() - start);
+                    return addresses;
+                }
+
+                @Override
+                public void openConnection(OperatedClientConnection conn, HttpHost target, InetAddress local,
+                        HttpContext context, HttpParams params) throws IOException {
+                    opened.increment();
+                    super.openConnection(conn, target, local, context, params);
+                }
+            };
+        }
+
+        @Override
+        public ClientConnectionRequest requestConnection(HttpRoute route, Object state) {
+            ClientConnectionRequest request = super.requestConnection(route, state);
+            return new ClientConnectionRequest() {
+                @Override
+                public ManagedClientConnection getConnection(long timeout, TimeUnit unit)
+                        throws InterruptedException, ConnectionPoolTimeoutException {
+                    Manager.this.acquire(route, timeout, unit);
+                    try {
+                        ManagedClientConnection connection = request.getConnection(timeout, unit);
+                        Manager.this.leased.put(connection, route);
+                        return connection;
+                    } catch (InterruptedException | ConnectionPoolTimeoutException | RuntimeException e) {
+                        Manager.this.release(route);
+                        throw e;
+                    }
+                }
+
+                @Override
+                public void abortRequest() {
+                    request.abortRequest();
+                }
+            };
+        }
+
+        @Override
+        public void releaseConnection(ManagedClientConnection conn, long keepAlive, TimeUnit unit) {
+            try {
+                super.releaseConnection(conn, keepAlive, unit);
+            } finally {
+                HttpRoute route = this.leased.remove(conn);
+                if (route != null) {
+                    this.release(route);
+                }
+            }
+        }
+
+        @Override
+        public void shutdown() {
+            // Owned by the ConnectionPool, not by the client being discarded.
+        }
+
+        void close() {
+            super.shutdown();
+        }
+
+        /**
+         * Waits for a total and a per-route permit; a timeout of {@code 0}
+         * waits indefinitely, as in HttpClient.
+         */
+        private void acquire(HttpRoute route, long timeout, TimeUnit unit)
+                throws InterruptedException, ConnectionPoolTimeoutException {
+            Semaphore forRoute = this.routePermits.computeIfAbsent(route, key -> new Semaphore(this.maxPerRoute, true));
+            if (timeout <= 0) {
+                this.totalPermits.acquire();
+            } else if (!this.totalPermits.tryAcquire(timeout, unit)) {
+                throw new ConnectionPoolTimeoutException("Timeout waiting for connection from pool");
+            }
+            try {
+                if (timeout <= 0) {
+                    forRoute.acquire();
+                } else if (!forRoute.tryAcquire(timeout, unit)) {
+                    throw new ConnectionPoolTimeoutException("Timeout waiting for connection to " + route);
+                }
+            } catch (InterruptedException | ConnectionPoolTimeoutException e) {
+                this.totalPermits.release();
+                throw e;
+            }
+        }
+
+        private void release(HttpRoute route) {
+            this.routePermits.get(route).release();
+            this.totalPermits.release();
+        }
+    }
+
+    /**
+     * Reads the response body so the underlying connection is released,
+     * unless the request asked for a {@link StreamingBody}.
+     */
+    private static final class DrainFilter implements OrderedFilter {
+
+        @Override
+        public int getOrder() {
+            return LOWEST_PRECEDENCE - 1;
+        }
+
+        @Override
+        public Response filter(FilterableRequestSpecification requestSpec,
+                FilterableResponseSpecification responseSpec, FilterContext ctx) {
+            Response response = ctx.next(requestSpec, responseSpec);
+            if (!StreamingBody.isRequested(ctx)) {
+                response.asByteArray();
+            }
+            return response;
+        }
+    }
+
+    /**
+     * The default {@code http} and {@code https} schemes, with socket
+     * factories that time the connect and the TLS handshake separately.
+     */
+    private static SchemeRegistry timedSchemes() {
+        SchemeRegistry schemes = new SchemeRegistry();
+        schemes.register(new Scheme("http", 80, new TimedSocketFactory()));
+        schemes.register(new Scheme("https", 443, new TimedTlsSocketFactory(SSLSocketFactory.getSocketFactory())));
+        return schemes;
+    }
+
+    /**
+     * Plain socket factory timing the connect.
+     */
+    private static class TimedSocketFactory implements SchemeSocketFactory {
+
+        private final PlainSocketFactory plain = PlainSocketFactory.getSocketFactory();
+
+        @Override
+        public Socket createSocket(HttpParams params) {
+            return this.plain.createSocket(params);
+        }
+
+        @Override
+        public Socket connectSocket(Socket socket, InetSocketAddress remote, InetSocketAddress local,
+                HttpParams params) throws IOException {
+            long start = System.nanoTime();
+            Socket connected = this.plain.connectSocket(socket, remote, local, params);
+            RequestTimings.connected(System.nanoTime() - start);
+            return connected;
+        }
+
+        @Override
+        public boolean isSecure(Socket socket) {
+            return false;
+        }
+    }
+
+    /**
+     * Connects a plain socket, then layers TLS over it, as
+     * {@code SSLSocketFactory.connectSocket} does in one step, timing the
+     * handshake on its own.
+     */
+    private static final class TimedTlsSocketFactory extends TimedSocketFactory implements SchemeLayeredSocketFactory {
+
+        private final SchemeLayeredSocketFactory tls;
+
+        TimedTlsSocketFactory(SchemeLayeredSocketFactory tls) {
+            this.tls = tls;
+        }
+
+        @Override
+        public Socket connectSocket(Socket socket, InetSocketAddress remote, InetSocketAddress local,
+                HttpParams params) throws IOException {
+            Socket connected = super.connectSocket(socket, remote, local, params);
+            String host = remote instanceof HttpInetSocketAddress address
+                ? address.getHttpHost().getHostName()
+                : remote.getHostName();
+            long start = System.nanoTime();
+            Socket layered = this.tls.createLayeredSocket(connected, host, remote.getPort(), params);
+            RequestTimings.handshaken(System.nanoTime() - start);
+            return layered;
+        }
+
+        @Override
+        public boolean isSecure(Socket socket) {
+            return this.tls.isSecure(socket);
+        }
+
+        @Override
+        public Socket createLayeredSocket(Socket socket, String target, int port, HttpParams params)
+                throws IOException {
+            return this.tls.createLayeredSocket(socket, target, port, params);
+        }
+    }
+
+    /**
+     * Response entity reporting to {@link RequestTimings#bodyRead} when its
+     * content has been read to the end.
+     */
+    private static final class TimedEntity extends HttpEntityWrapper {
+
+        private final RequestTimings timings;
+
+        private InputStream content;
+
+        TimedEntity(HttpEntity entity, RequestTimings timings) {
+            super(entity);
+            this.timings = timings;
+        }
+
+        @Override
+        public InputStream getContent() throws IOException {
+            if (this.content == null || this.isRepeatable()) {
+                this.content = new CountingStream(super.getContent(), this.timings);
+            }
+            return this.content;
+        }
+
+        @Override
+        public void writeTo(OutputStream out) throws IOException {
+            try (InputStream in = this.getContent()) {
+                in.transferTo(out);
+            }
+        }
+    }
+
+    private static final class CountingStream extends FilterInputStream {
+
+        private final RequestTimings timings;
+
+        private long bytes;
+
+        CountingStream(InputStream in, RequestTimings timings) {
+            super(in);
+            this.timings = timings;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            this.count(b < 0 ? -1 : 1);
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            this.count(read);
+            return read;
+        }
+
+        private void count(int read) {
+            if (read < 0) {
+                this.timings.bodyRead(this.bytes);
+            } else {
+                this.bytes += read;
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package APITest.utils.http;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+import APITest.utils.SuiteConfig;
+import io.restassured.RestAssured;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.filter.Filter;
+
+/**
+ * Routes every RestAssured request of a suite through a shared
+ * {@link ConnectionPool} and prints its reuse statistics when the suite
+ * finishes.
+ *
+ * <p>Registered through {@code META-INF/services/org.testng.ITestNGListener}.
+ * Pass {@code -Dsuite.http.pool=false} to fall back to RestAssured's
+ * client-per-request default, e.g. to measure the handshakes saved.</p>
+ */
+public class ConnectionPoolListener implements ISuiteListener {
+
+    private ConnectionPool pool;
+
+    private Filter drain;
+
+    private RestAssuredConfig previousConfig;
+
+    @Override
+    public void onStart(ISuite suite) {
+        if (this.pool != null || !SuiteConfig.useHttpPool()) {
+            return;
+        }
+        this.pool = new ConnectionPool();
+        this.drain = this.pool.drainFilter();
+        this.previousConfig = RestAssured.config();
+        RestAssured.config = this.previousConfig.httpClient(this.pool.httpClientConfig());
+        RestAssured.filters(this.drain);
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (this.pool == null) {
+            return;
+        }
+        System.out.println("HTTP connection pool (" + suite.getName() + "): " + this.pool.stats());
+
+        List<Filter> remaining = new ArrayList<>(RestAssured.filters());
+        remaining.remove(this.drain);
+        RestAssured.replaceFiltersWith(remaining);
+        RestAssured.config = this.previousConfig;
+        this.pool.close();
+        this.pool = null;
+    }
+}
@@ -0,0 +1,36 @@
+package APITest.utils.http;
+
+/**
+ * Connection reuse figures of a {@link ConnectionPool}.
+ *
+ * @param requests requests sent through the pool, including HttpClient retries
+ * @param opened connections opened, i.e. TCP (and TLS) handshakes performed
+ * @param leased connections currently in use
+ * @param available idle connections currently pooled
+ */
+public record ConnectionStats(long requests, long opened, long leased, long available) {
+
+    /**
+     * Returns how many requests were sent on an already open connection.
+     *
+     * @return requests minus opened connections, never negative
+     */
+    public long reused() {
+        return Math.max(0, this.requests - this.opened);
+    }
+
+    /**
+     * Returns the fraction of requests that reused a connection.
+     *
+     * @return {@link #reused()} divided by {@link #requests()}, or {@code 0}
+     */
+    public double reuseRatio() {
+        return this.requests == 0 ? 0 : (double) this.reused() / this.requests;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d requests, %d connections opened, %d reused (%.1f%%), %d idle in pool",
+            this.requests, this.opened, this.reused(), this.reuseRatio() * 100, this.available);
+    }
+}
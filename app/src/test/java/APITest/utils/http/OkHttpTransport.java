@@ -0,0 +1,125 @@
+package APITest.utils.http;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import APITest.utils.SuiteConfig;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Dispatcher;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * {@link Transport} backed by OkHttp.
+ *
+ * <p>Connections are pooled and kept alive using the same
+ * {@code suite.http.*} limits as the RestAssured {@link ConnectionPool}.
+ * HTTPS endpoints that support it are spoken to over HTTP/2, so concurrent
+ * requests to one host are multiplexed on a single connection (plain
+ * {@code http://} endpoints, such as the in-process stubs, stay on
+ * HTTP/1.1). {@link #sendAsync} uses OkHttp's dispatcher instead of
+ * blocking a thread per request.</p>
+ */
+public class OkHttpTransport implements Transport {
+
+    private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
+
+    private final OkHttpClient client;
+
+    /**
+     * Creates a transport sized from the {@code suite.http.*} properties.
+     */
+    public OkHttpTransport() {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(SuiteConfig.httpMaxTotal());
+        dispatcher.setMaxRequestsPerHost(SuiteConfig.httpMaxPerRoute());
+
+        this.client = new OkHttpClient.Builder()
+            .dispatcher(dispatcher)
+            .connectionPool(new okhttp3.ConnectionPool(SuiteConfig.httpMaxPerRoute(),
+                SuiteConfig.httpKeepAlive().toSeconds(), TimeUnit.SECONDS))
+            .protocols(List.of(Protocol.HTTP_2, Protocol.HTTP_1_1))
+            .build();
+    }
+
+    @Override
+    public TransportResponse send(TransportRequest request) {
+        try (Response response = this.client.newCall(toOkHttp(request)).execute()) {
+            return toTransport(response);
+        } catch (IOException e) {
+            throw new UncheckedIOException(request.method() + " " + request.uri() + " failed", e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<TransportResponse> sendAsync(TransportRequest request) {
+        CompletableFuture<TransportResponse> future = new CompletableFuture<>();
+        Call call = this.client.newCall(toOkHttp(request));
+        call.enqueue(new Callback() {
+            @Override
+            public void onResponse(Call call, Response response) {
+                try (response) {
+                    future.complete(toTransport(response));
+                } catch (IOException | RuntimeException e) {
+                    future.completeExceptionally(e);
+                }
+            }
+
+            @Override
+            public void onFailure(Call call, IOException e) {
+                future.completeExceptionally(e);
+            }
+        });
+        future.whenComplete((response, error) -> {
+            if (future.isCancelled()) {
+                call.cancel();
+            }
+        });
+        return future;
+    }
+
+    @Override
+    public String name() {
+        return "okhttp";
+    }
+
+    @Override
+    public void close() {
+        this.client.dispatcher().executorService().shutdown();
+        this.client.connectionPool().evictAll();
+    }
+
+    private static Request toOkHttp(TransportRequest request) {
+        // OkHttp sends the body's media type, not a Content-Type header.
+        MediaType type = request.contentType() == null ? JSON : MediaType.get(request.contentType());
+        RequestBody body = request.body() == null ? null : RequestBody.create(request.body(), type);
+        if (body == null && (request.method().equals("POST") || request.method().equals("PUT")
+                || request.method().equals("PATCH"))) {
+            body = RequestBody.create(new byte[0], type);
+        }
+        Request.Builder builder = new Request.Builder()
+            .url(request.uri())
+            .method(request.method(), body);
+        for (Map.Entry<String, String> header : request.headers().entrySet()) {
+            builder.header(header.getKey(), header.getValue());
+        }
+        return builder.build();
+    }
+
+    private static TransportResponse toTransport(Response response) throws IOException {
+        ResponseBody body = response.body();
+        return new TransportResponse(response.code(), response.protocol().toString().toUpperCase(Locale.ROOT),
+            response.headers().toMultimap(), body == null ? new byte[0] : body.bytes());
+    }
+}
@@ -0,0 +1,64 @@
+package APITest.utils.http;
+
+import static io.restassured.RestAssured.given;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import APITest.utils.async.ContextExecutor;
+import io.restassured.http.ContentType;
+import io.restassured.http.Header;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+
+/**
+ * {@link Transport} sending requests through RestAssured's default Apache
+ * HttpClient, i.e. exactly what the functional tests do. Global filters and
+ * configuration (such as the shared {@link ConnectionPool}) apply.
+ *
+ * <p>{@link #sendAsync} runs requests on a {@link ContextExecutor} allowing
+ * as many in flight as OkHttp's dispatcher allows per host.</p>
+ */
+public class RestAssuredTransport implements Transport {
+
+    private final ContextExecutor executor = new ContextExecutor();
+
+    @Override
+    public TransportResponse send(TransportRequest request) {
+        RequestSpecification spec = given()
+            .headers(request.headers());
+        if (request.contentType() == null) {
+            spec.contentType(ContentType.JSON);
+        }
+        if (request.body() != null) {
+            spec.body(request.body());
+        }
+
+        Response response = spec.request(request.method(), request.uri());
+        String statusLine = response.getStatusLine();
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (Header header : response.getHeaders()) {
+            headers.computeIfAbsent(header.getName(), name -> new ArrayList<>()).add(header.getValue());
+        }
+        return new TransportResponse(response.statusCode(), statusLine.substring(0, statusLine.indexOf(' ')),
+            headers, response.asByteArray());
+    }
+
+    @Override
+    public CompletableFuture<TransportResponse> sendAsync(TransportRequest request) {
+        return this.executor.supply(null, () -> this.send(request));
+    }
+
+    @Override
+    public String name() {
+        return "restassured";
+    }
+
+    @Override
+    public void close() {
+        // RestAssured's connections belong to the suite's ConnectionPool
+    }
+}
@@ -0,0 +1,76 @@
+package APITest.utils.http;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Opts a request out of response buffering, so its body can be read as a
+ * stream with {@code extract().asInputStream()} in constant memory:
+ * <pre>{@code
+ * try (InputStream body = given(spec).filter(StreamingBody.filter()).get("/books")
+ *         .then().statusCode(200).extract().asInputStream()) {
+ *     ...
+ * }
+ * }</pre>
+ *
+ * <p>The suite's global filters otherwise read every response body into
+ * memory: the connection pool's draining filter to release the connection,
+ * the metrics filter to time the body and the request log to print it. They
+ * check {@link #isRequested} and leave a marked request's body alone. The
+ * caller must then read the body to the end or close it, or its pooled
+ * connection is never released. The request's metrics have no body phase,
+ * as the body is only read after the request returned, and its logged
+ * response shows no body. Recording with {@code -Dsuite.replay=record}
+ * still buffers the body, which has to be stored.</p>
+ */
+public final class StreamingBody {
+
+    private static final String KEY = StreamingBody.class.getName();
+
+    private static final Filter MARKER = new Marker();
+
+    private StreamingBody() { }
+
+    /**
+     * Returns the filter marking a request as streamed.
+     *
+     * @return the filter to add with {@code given().filter(...)}
+     */
+    public static Filter filter() {
+        return MARKER;
+    }
+
+    /**
+     * Returns whether the request a filter is handling was marked as
+     * streamed.
+     *
+     * @param ctx the filter context of the request
+     * @return {@code true} if its response body must not be buffered
+     */
+    public static boolean isRequested(FilterContext ctx) {
+        return ctx.hasValue(KEY, Boolean.TRUE);
+    }
+
+    /**
+     * Runs first and marks the request in its filter context, which every
+     * later filter of the request shares.
+     */
+    private static final class Marker implements OrderedFilter {
+
+        @Override
+        public int getOrder() {
+            return HIGHEST_PRECEDENCE;
+        }
+
+        @Override
+        public Response filter(FilterableRequestSpecification requestSpec,
+                FilterableResponseSpecification responseSpec, FilterContext ctx) {
+            ctx.setValue(KEY, Boolean.TRUE);
+            return ctx.next(requestSpec, responseSpec);
+        }
+    }
+}
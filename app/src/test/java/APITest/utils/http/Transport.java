@@ -0,0 +1,74 @@
+package APITest.utils.http;
+
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+
+import APITest.utils.SuiteConfig;
+
+/**
+ * Minimal HTTP transport, under RestAssured's request API or on its own.
+ *
+ * <p>Two implementations exist: {@link RestAssuredTransport}, which goes
+ * through RestAssured and its Apache HttpClient (and therefore the shared
+ * {@link ConnectionPool}), and {@link OkHttpTransport}, which uses OkHttp's
+ * own pool, HTTP/2 support and asynchronous dispatcher. The implementation
+ * is chosen with {@code -Dsuite.transport=restassured|okhttp}; with
+ * {@code okhttp}, {@link TransportListener} sends the tests' RestAssured
+ * requests through it as well.</p>
+ */
+public interface Transport extends AutoCloseable {
+
+    /**
+     * Sends {@code request} and waits for the complete response.
+     *
+     * @param request the request to send
+     * @return the response, whatever its status code
+     */
+    TransportResponse send(TransportRequest request);
+
+    /**
+     * Sends {@code request} without blocking the caller.
+     *
+     * @param request the request to send
+     * @return a future completed with the response, or exceptionally on an
+     *         I/O failure
+     */
+    CompletableFuture<TransportResponse> sendAsync(TransportRequest request);
+
+    /**
+     * Returns the transport's name as used by {@code suite.transport}.
+     *
+     * @return the transport name
+     */
+    String name();
+
+    /**
+     * Releases the transport's threads and pooled connections.
+     */
+    @Override
+    void close();
+
+    /**
+     * Creates the transport named by {@link SuiteConfig#transport()}.
+     *
+     * @return a new transport
+     */
+    static Transport configured() {
+        return create(SuiteConfig.transport());
+    }
+
+    /**
+     * Creates a transport by name.
+     *
+     * @param name {@code restassured} or {@code okhttp}
+     * @return a new transport
+     * @throws IllegalArgumentException if the name is unknown
+     */
+    static Transport create(String name) {
+        return switch (name.toLowerCase(Locale.ROOT)) {
+            case "restassured" -> new RestAssuredTransport();
+            case "okhttp" -> new OkHttpTransport();
+            default -> throw new IllegalArgumentException("Unknown transport: " + name);
+        };
+    }
+}
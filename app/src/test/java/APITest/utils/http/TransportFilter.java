@@ -0,0 +1,135 @@
+package APITest.utils.http;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.restassured.authentication.AuthenticationScheme;
+import io.restassured.authentication.ExplicitNoAuthScheme;
+import io.restassured.authentication.NoAuthScheme;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.http.Cookie;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Sends RestAssured requests through a {@link Transport} instead of
+ * RestAssured's own Apache HttpClient, so tests written with
+ * {@code given()} run unchanged over OkHttp.
+ *
+ * <p>The filter takes the place of the send at the end of the chain: it
+ * converts the request, sends it and hands the response back as a
+ * RestAssured {@link Response}, so assertions, extraction, request logs,
+ * metrics and recording work as they do for RestAssured's client. It runs
+ * at {@code LOWEST_PRECEDENCE}, inside every other filter of the suite; a
+ * filter a test adds to its own specification at that order would not be
+ * invoked.</p>
+ *
+ * <p>Requests a transport cannot express are sent by RestAssured as
+ * before: form parameters, multiparts, bodies other than text or bytes,
+ * authentication configured with {@code auth()} and {@link StreamingBody}
+ * requests, whose body a transport would read into memory.</p>
+ */
+public class TransportFilter implements OrderedFilter {
+
+    private final Transport transport;
+
+    /**
+     * Creates a filter sending through {@code transport}.
+     *
+     * @param transport the transport to send with; it is not closed
+     * @throws IllegalArgumentException if {@code transport} sends through
+     *         RestAssured itself, which would call this filter again
+     */
+    public TransportFilter(Transport transport) {
+        if (transport instanceof RestAssuredTransport) {
+            throw new IllegalArgumentException("RestAssured requests need no transport filter");
+        }
+        this.transport = transport;
+    }
+
+    @Override
+    public int getOrder() {
+        return LOWEST_PRECEDENCE;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+            FilterableResponseSpecification responseSpec, FilterContext ctx) {
+        if (!supports(requestSpec) || StreamingBody.isRequested(ctx)) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+        TransportResponse response = this.transport.send(new TransportRequest(requestSpec.getMethod(),
+            requestSpec.getURI(), headers(requestSpec), body(requestSpec.getBody())));
+
+        // The builder adds its own Content-Type header for setContentType
+        List<Header> headers = new ArrayList<>();
+        String contentType = null;
+        for (Map.Entry<String, List<String>> header : response.headers().entrySet()) {
+            for (String value : header.getValue()) {
+                if (header.getKey().equalsIgnoreCase("Content-Type")) {
+                    contentType = value;
+                } else {
+                    headers.add(new Header(header.getKey(), value));
+                }
+            }
+        }
+        ResponseBuilder builder = new ResponseBuilder()
+            .setStatusCode(response.status())
+            .setStatusLine(response.protocol() + " " + response.status())
+            .setHeaders(new Headers(headers))
+            .setBody(response.body());
+        if (contentType != null) {
+            builder.setContentType(contentType);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns the transport requests are sent with.
+     *
+     * @return the transport given to the constructor
+     */
+    public Transport transport() {
+        return this.transport;
+    }
+
+    private static boolean supports(FilterableRequestSpecification requestSpec) {
+        AuthenticationScheme auth = requestSpec.getAuthenticationScheme();
+        Object body = requestSpec.getBody();
+        return (auth == null || auth instanceof NoAuthScheme || auth instanceof ExplicitNoAuthScheme)
+            && requestSpec.getFormParams().isEmpty()
+            && requestSpec.getMultiPartParams().isEmpty()
+            && (body == null || body instanceof String || body instanceof byte[]);
+    }
+
+    /**
+     * Collects the request headers, joining repeated ones with commas, and
+     * the cookies into a {@code Cookie} header.
+     */
+    private static Map<String, String> headers(FilterableRequestSpecification requestSpec) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (Header header : requestSpec.getHeaders()) {
+            headers.merge(header.getName(), header.getValue(), (first, next) -> first + ", " + next);
+        }
+        if (requestSpec.getCookies().exist()) {
+            List<String> cookies = new ArrayList<>();
+            for (Cookie cookie : requestSpec.getCookies()) {
+                cookies.add(cookie.getName() + "=" + cookie.getValue());
+            }
+            headers.put("Cookie", String.join("; ", cookies));
+        }
+        return headers;
+    }
+
+    private static String body(Object body) {
+        return body instanceof byte[] bytes ? new String(bytes, StandardCharsets.UTF_8) : (String) body;
+    }
+}
@@ -0,0 +1,44 @@
+package APITest.utils.http;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+import APITest.utils.SuiteConfig;
+import io.restassured.RestAssured;
+import io.restassured.filter.Filter;
+
+/**
+ * Sends every RestAssured request of a suite through the transport chosen
+ * with {@code -Dsuite.transport}, by installing a {@link TransportFilter}.
+ *
+ * <p>Registered through {@code META-INF/services/org.testng.ITestNGListener}.
+ * With the default {@code restassured} transport nothing is installed.</p>
+ */
+public class TransportListener implements ISuiteListener {
+
+    private TransportFilter filter;
+
+    @Override
+    public void onStart(ISuite suite) {
+        if (this.filter != null || SuiteConfig.transport().equalsIgnoreCase("restassured")) {
+            return;
+        }
+        this.filter = new TransportFilter(Transport.configured());
+        RestAssured.filters(this.filter);
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (this.filter == null) {
+            return;
+        }
+        List<Filter> remaining = new ArrayList<>(RestAssured.filters());
+        remaining.remove(this.filter);
+        RestAssured.replaceFiltersWith(remaining);
+        this.filter.transport().close();
+        this.filter = null;
+    }
+}
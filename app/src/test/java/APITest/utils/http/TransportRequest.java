@@ -0,0 +1,55 @@
+package APITest.utils.http;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * An HTTP request as understood by every {@link Transport}.
+ *
+ * @param method the HTTP method, e.g. {@code POST}
+ * @param uri the absolute request URI
+ * @param headers request headers; {@code Content-Type} defaults to JSON
+ * @param body the body, JSON unless {@code Content-Type} says otherwise, or
+ *        {@code null} for none
+ */
+public record TransportRequest(String method, String uri, Map<String, String> headers, String body) {
+
+    /**
+     * Creates a request without headers.
+     *
+     * @param method the HTTP method
+     * @param uri the absolute request URI
+     * @param body the JSON body, or {@code null}
+     * @return the request
+     */
+    public static TransportRequest of(String method, String uri, String body) {
+        return new TransportRequest(method, uri, Map.of(), body);
+    }
+
+    /**
+     * Returns a copy with {@code name} set to {@code value}.
+     *
+     * @param name the header name
+     * @param value the header value
+     * @return the new request
+     */
+    public TransportRequest header(String name, String value) {
+        Map<String, String> copy = new LinkedHashMap<>(this.headers);
+        copy.put(name, value);
+        return new TransportRequest(this.method, this.uri, copy, this.body);
+    }
+
+    /**
+     * Returns the {@code Content-Type} header, whatever the case of its name.
+     *
+     * @return the content type, or {@code null} if the JSON default applies
+     */
+    public String contentType() {
+        for (Map.Entry<String, String> header : this.headers.entrySet()) {
+            if (header.getKey().equalsIgnoreCase("Content-Type")) {
+                return header.getValue();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,25 @@
+package APITest.utils.http;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A fully read HTTP response.
+ *
+ * @param status the status code
+ * @param protocol the protocol the response arrived on, e.g. {@code HTTP/1.1}
+ * @param headers the response headers, each with its values in order
+ * @param body the raw response body
+ */
+public record TransportResponse(int status, String protocol, Map<String, List<String>> headers, byte[] body) {
+
+    /**
+     * Decodes the body as UTF-8.
+     *
+     * @return the body text
+     */
+    public String bodyAsString() {
+        return new String(this.body, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,290 @@
+package APITest.utils.json;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import APITest.utils.Order;
+import APITest.utils.OrderResponse;
+import io.restassured.mapper.ObjectMapperDeserializationContext;
+import io.restassured.mapper.ObjectMapperSerializationContext;
+
+/**
+ * Maps the suite's DTOs to and from JSON with registered
+ * {@link JsonCodec}s, which write and read Jackson's token stream directly
+ * instead of introspecting the class and building a tree on every call.
+ *
+ * <p>It is a RestAssured object mapper, passed where a DTO is sent or
+ * extracted:</p>
+ * <pre>{@code
+ * CodecMapper mapper = CodecMapper.configured();
+ *
+ * given(spec).body(order, mapper).when().post("/orders")
+ *     .then().extract().as(OrderResponse.class, mapper);
+ * }</pre>
+ *
+ * <p>Creating a Jackson parser or generator costs several hundred bytes,
+ * more than the DTO itself. Each platform thread therefore keeps one
+ * generator and one non-blocking parser and reuses them for every body it
+ * maps, so mapping a byte array allocates little more than the result.
+ * Virtual threads, which rarely map twice, get fresh ones per call. A
+ * failed call discards the thread's pair.</p>
+ *
+ * <p>{@link Order} and {@link OrderResponse} are registered up front; other
+ * types can be added with {@link #register}. In {@link MappingMode#REFLECTIVE}
+ * mode, and for types without a codec, Jackson data binding is used
+ * instead. Instances are thread-safe.</p>
+ */
+public final class CodecMapper implements io.restassured.mapper.ObjectMapper {
+
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    private static final ObjectMapper REFLECTIVE = new ObjectMapper();
+
+    private static final Map<Class<?>, JsonCodec<?>> CODECS = new ConcurrentHashMap<>();
+
+    private static final CodecMapper CODEC_MODE = new CodecMapper(MappingMode.CODEC);
+
+    private static final CodecMapper REFLECTIVE_MODE = new CodecMapper(MappingMode.REFLECTIVE);
+
+    private static final ThreadLocal<Session> SESSION = new ThreadLocal<>();
+
+    static {
+        register(Order.class, Order.CODEC);
+        register(OrderResponse.class, OrderResponse.CODEC);
+    }
+
+    private final MappingMode mode;
+
+    private CodecMapper(MappingMode mode) {
+        this.mode = mode;
+    }
+
+    /**
+     * Returns the mapper for the mode configured with {@code -Dsuite.mapping}.
+     *
+     * @return the configured mapper
+     * @throws IllegalArgumentException if the value names no mode
+     */
+    public static CodecMapper configured() {
+        return of(MappingMode.configured());
+    }
+
+    /**
+     * Returns the mapper for {@code mode}.
+     *
+     * @param mode the mapping mode
+     * @return the shared mapper for that mode
+     */
+    public static CodecMapper of(MappingMode mode) {
+        return mode == MappingMode.CODEC ? CODEC_MODE : REFLECTIVE_MODE;
+    }
+
+    /**
+     * Registers the codec used for {@code type} in {@link MappingMode#CODEC}
+     * mode, replacing any previous one.
+     *
+     * @param type the exact class the codec maps
+     * @param codec the codec
+     * @param <T> the mapped type
+     */
+    public static <T> void register(Class<T> type, JsonCodec<T> codec) {
+        CODECS.put(type, codec);
+    }
+
+    /**
+     * Returns the mapping mode.
+     *
+     * @return the mode this mapper was created for
+     */
+    public MappingMode mode() {
+        return this.mode;
+    }
+
+    /**
+     * Serializes {@code value} to UTF-8 JSON.
+     *
+     * @param value the value to write
+     * @return the JSON bytes
+     */
+    public byte[] write(Object value) {
+        JsonCodec<Object> codec = this.codec(value == null ? null : value.getClass());
+        try {
+            if (codec == null) {
+                return REFLECTIVE.writeValueAsBytes(value);
+            }
+            Session session = session();
+            try {
+                return session.write(codec, value);
+            } catch (IOException | RuntimeException e) {
+                SESSION.remove();
+                throw e;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Serializes {@code value} to a JSON string, e.g. for a
+     * {@code TransportRequest} body.
+     *
+     * @param value the value to write
+     * @return the JSON text
+     */
+    public String writeString(Object value) {
+        return new String(this.write(value), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Deserializes a JSON body into {@code type}.
+     *
+     * @param body the UTF-8 JSON body
+     * @param type the type to read
+     * @param <T> the type to read
+     * @return the value read
+     */
+    public <T> T read(byte[] body, Class<T> type) {
+        JsonCodec<T> codec = this.codec(type);
+        try {
+            if (codec == null) {
+                return REFLECTIVE.readValue(body, type);
+            }
+            Session session = session();
+            try {
+                return session.read(codec, body);
+            } catch (IOException | RuntimeException e) {
+                SESSION.remove();
+                throw e;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Deserializes a JSON body into {@code type}.
+     *
+     * @param body the JSON body; it is closed on return
+     * @param type the type to read
+     * @param <T> the type to read
+     * @return the value read
+     * @throws IOException if the body cannot be read or does not fit the type
+     */
+    public <T> T read(InputStream body, Class<T> type) throws IOException {
+        JsonCodec<T> codec = this.codec(type);
+        if (codec == null) {
+            return REFLECTIVE.readValue(body, type);
+        }
+        try (JsonParser parser = FACTORY.createParser(body)) {
+            if (parser.nextToken() == null) {
+                throw new IOException("Empty JSON body");
+            }
+            return codec.read(parser);
+        }
+    }
+
+    @Override
+    public Object serialize(ObjectMapperSerializationContext context) {
+        byte[] body = this.write(context.getObjectToSerialize());
+        String charset = context.getCharset();
+        // RestAssured re-encodes String bodies in the request charset.
+        return charset == null || StandardCharsets.UTF_8.name().equalsIgnoreCase(charset)
+            ? body
+            : new String(body, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public Object deserialize(ObjectMapperDeserializationContext context) {
+        Type type = context.getType();
+        byte[] body = context.getDataToDeserialize().asByteArray();
+        if (type instanceof Class<?> raw) {
+            return this.read(body, raw);
+        }
+        try {
+            return REFLECTIVE.readValue(body, REFLECTIVE.constructType(type));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> JsonCodec<T> codec(Class<?> type) {
+        return this.mode == MappingMode.CODEC && type != null ? (JsonCodec<T>) CODECS.get(type) : null;
+    }
+
+    /**
+     * Returns this thread's session, or a fresh one on a virtual thread.
+     */
+    private static Session session() {
+        if (Thread.currentThread().isVirtual()) {
+            return new Session();
+        }
+        Session session = SESSION.get();
+        if (session == null) {
+            session = new Session();
+            SESSION.set(session);
+        }
+        return session;
+    }
+
+    /**
+     * A generator and a non-blocking parser reused across the bodies one
+     * thread maps. Codecs write and read whole root values, so both are
+     * back at the root after every successful call.
+     */
+    private static final class Session {
+
+        private ByteArrayBuilder out;
+
+        private JsonGenerator generator;
+
+        private JsonParser parser;
+
+        private ByteArrayFeeder feeder;
+
+        <T> byte[] write(JsonCodec<T> codec, T value) throws IOException {
+            if (this.generator == null) {
+                this.out = new ByteArrayBuilder(256);
+                this.generator = FACTORY.createGenerator(this.out);
+                this.generator.setRootValueSeparator(null);
+            }
+            codec.write(this.generator, value);
+            this.generator.flush();
+            byte[] bytes = this.out.toByteArray();
+            this.out.reset();
+            return bytes;
+        }
+
+        <T> T read(JsonCodec<T> codec, byte[] body) throws IOException {
+            if (this.parser == null) {
+                this.parser = FACTORY.createNonBlockingByteArrayParser();
+                this.feeder = (ByteArrayFeeder) this.parser.getNonBlockingInputFeeder();
+            }
+            this.feeder.feedInput(body, 0, body.length);
+            if (this.parser.nextToken() == JsonToken.NOT_AVAILABLE) {
+                throw new IOException("Empty or truncated JSON body");
+            }
+            T value = codec.read(this.parser);
+            if (this.parser.currentToken() == JsonToken.NOT_AVAILABLE || !this.parser.getParsingContext().inRoot()) {
+                throw new IOException("Truncated JSON body");
+            }
+            if (this.parser.nextToken() != JsonToken.NOT_AVAILABLE) {
+                throw new IOException("Unexpected content after the JSON value: " + this.parser.currentToken());
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package APITest.utils.json;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+
+/**
+ * Hand-written JSON mapping for one DTO type, used by {@link CodecMapper}
+ * instead of reflection.
+ *
+ * <p>Implementations hold no per-call state, keep their field names as
+ * pre-encoded {@code SerializedString}s and are shared between threads.</p>
+ *
+ * @param <T> the mapped type
+ */
+public interface JsonCodec<T> {
+
+    /**
+     * Writes {@code value} as one JSON value.
+     *
+     * @param generator the generator to write to
+     * @param value the value to write, never {@code null}
+     * @throws IOException if writing fails
+     */
+    void write(JsonGenerator generator, T value) throws IOException;
+
+    /**
+     * Reads one JSON value. The parser is positioned on the value's first
+     * token and is left on its last one.
+     *
+     * @param parser the parser to read from
+     * @return the value read
+     * @throws IOException if the JSON is malformed or does not fit the type
+     */
+    T read(JsonParser parser) throws IOException;
+}
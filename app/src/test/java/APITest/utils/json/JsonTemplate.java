@@ -0,0 +1,285 @@
+package APITest.utils.json;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A JSON request body compiled once into UTF-8 bytes, with {@code ${name}}
+ * placeholders filled in at send time.
+ *
+ * <p>Compiling strips the whitespace between tokens and encodes the static
+ * text between placeholders. Rendering then copies those segments and
+ * encodes only the values, straight into the result; no {@code String} is
+ * built for the body:</p>
+ * <pre>{@code
+ * static final JsonTemplate CLIENT = JsonTemplate.compile("""
+ *     { "clientName": "Postman", "clientEmail": "${email}" }
+ *     """);
+ *
+ * given(spec).contentType(ContentType.JSON).body(CLIENT.render(email))
+ * }</pre>
+ *
+ * <p>A placeholder inside a JSON string is replaced by the escaped text of
+ * its value. One standing for a whole value is replaced by the value as is
+ * if it is a number or boolean, by {@code null} if it is {@code null}, and by
+ * a quoted string otherwise. Values are passed in the order the placeholders
+ * appear. Instances are immutable and can be shared between threads.</p>
+ */
+public final class JsonTemplate {
+
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * Static text; one more entry than there are placeholders.
+     */
+    private final byte[][] segments;
+
+    private final String[] names;
+
+    /**
+     * Whether each placeholder sits inside a JSON string.
+     */
+    private final boolean[] quoted;
+
+    private final int staticLength;
+
+    private JsonTemplate(byte[][] segments, String[] names, boolean[] quoted) {
+        this.segments = segments;
+        this.names = names;
+        this.quoted = quoted;
+        int length = 0;
+        for (byte[] segment : segments) {
+            length += segment.length;
+        }
+        this.staticLength = length;
+    }
+
+    /**
+     * Compiles {@code json}, removing the whitespace outside strings.
+     *
+     * @param json the body, with {@code ${name}} placeholders
+     * @return the compiled template
+     * @throws IllegalArgumentException if a placeholder is not closed
+     */
+    public static JsonTemplate compile(String json) {
+        List<byte[]> segments = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        List<Boolean> quoted = new ArrayList<>();
+        StringBuilder text = new StringBuilder(json.length());
+        boolean inString = false;
+        for (int i = 0; i < json.length(); i++) {
+            char c = json.charAt(i);
+            if (c == '$' && i + 1 < json.length() && json.charAt(i + 1) == '{') {
+                int end = json.indexOf('}', i + 2);
+                if (end < 0) {
+                    throw new IllegalArgumentException("Unclosed placeholder at " + i + " in " + json);
+                }
+                segments.add(text.toString().getBytes(StandardCharsets.UTF_8));
+                text.setLength(0);
+                names.add(json.substring(i + 2, end));
+                quoted.add(inString);
+                i = end;
+            } else if (inString) {
+                text.append(c);
+                if (c == '\\' && i + 1 < json.length()) {
+                    text.append(json.charAt(++i));
+                } else if (c == '"') {
+                    inString = false;
+                }
+            } else if (!Character.isWhitespace(c)) {
+                text.append(c);
+                inString = c == '"';
+            }
+        }
+        segments.add(text.toString().getBytes(StandardCharsets.UTF_8));
+
+        boolean[] flags = new boolean[quoted.size()];
+        for (int i = 0; i < flags.length; i++) {
+            flags[i] = quoted.get(i);
+        }
+        return new JsonTemplate(segments.toArray(byte[][]::new), names.toArray(String[]::new), flags);
+    }
+
+    /**
+     * Returns the placeholder names, in the order values are expected.
+     *
+     * @return the placeholder names
+     */
+    public List<String> placeholders() {
+        return List.of(this.names);
+    }
+
+    /**
+     * Renders the body into a new array, which the caller may modify; a
+     * template without placeholders copies its single pre-encoded segment.
+     *
+     * @param values one value per placeholder, in order
+     * @return the UTF-8 body, e.g. for {@code RequestSpecification.body(byte[])}
+     * @throws IllegalArgumentException if the number of values is wrong
+     */
+    public byte[] render(Object... values) {
+        this.checkArity(values);
+        if (values.length == 0) {
+            return this.segments[0].clone();
+        }
+        byte[][] encoded = new byte[values.length][];
+        int length = this.staticLength;
+        for (int i = 0; i < values.length; i++) {
+            encoded[i] = this.encode(i, values[i]);
+            length += encoded[i].length;
+        }
+        byte[] body = new byte[length];
+        int position = 0;
+        for (int i = 0; i < values.length; i++) {
+            System.arraycopy(this.segments[i], 0, body, position, this.segments[i].length);
+            position += this.segments[i].length;
+            System.arraycopy(encoded[i], 0, body, position, encoded[i].length);
+            position += encoded[i].length;
+        }
+        System.arraycopy(this.segments[values.length], 0, body, position, this.segments[values.length].length);
+        return body;
+    }
+
+    /**
+     * Writes the body to {@code out}, segment by segment, without
+     * assembling it first.
+     *
+     * @param out the stream to write to, e.g. a request body; not closed
+     * @param values one value per placeholder, in order
+     * @throws IOException if writing fails
+     * @throws IllegalArgumentException if the number of values is wrong
+     */
+    public void writeTo(OutputStream out, Object... values) throws IOException {
+        this.checkArity(values);
+        for (int i = 0; i < values.length; i++) {
+            out.write(this.segments[i]);
+            out.write(this.encode(i, values[i]));
+        }
+        out.write(this.segments[values.length]);
+    }
+
+    private void checkArity(Object[] values) {
+        if (values.length != this.names.length) {
+            throw new IllegalArgumentException("Template expects " + this.names.length + " values "
+                + this.placeholders() + ", got " + values.length);
+        }
+    }
+
+    /**
+     * Encodes the value of placeholder {@code index}.
+     */
+    private byte[] encode(int index, Object value) {
+        if (!this.quoted[index]) {
+            if (value == null) {
+                return NULL;
+            }
+            if (value instanceof Number || value instanceof Boolean) {
+                return value.toString().getBytes(StandardCharsets.US_ASCII);
+            }
+        }
+        String text = String.valueOf(value);
+        boolean quote = !this.quoted[index];
+        byte[] out = new byte[encodedLength(text) + (quote ? 2 : 0)];
+        int position = 0;
+        if (quote) {
+            out[position++] = '"';
+        }
+        position = escape(text, out, position);
+        if (quote) {
+            out[position] = '"';
+        }
+        return out;
+    }
+
+    /**
+     * Returns the length of {@code text} as escaped UTF-8 JSON string
+     * content.
+     */
+    private static int encodedLength(String text) {
+        int length = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\\' || c == '\n' || c == '\r' || c == '\t' || c == '\b' || c == '\f') {
+                length += 2;
+            } else if (c < 0x20) {
+                length += 6;
+            } else if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < text.length()
+                    && Character.isLowSurrogate(text.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                length += 1;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Writes {@code text} as escaped UTF-8 JSON string content into
+     * {@code out} at {@code position}; returns the position after it.
+     * An unpaired surrogate becomes {@code ?}, as in
+     * {@code String.getBytes(UTF_8)}.
+     */
+    private static int escape(String text, byte[] out, int position) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '"', '\\' -> {
+                    out[position++] = '\\';
+                    out[position++] = (byte) c;
+                }
+                case '\n' -> position = escaped(out, position, 'n');
+                case '\r' -> position = escaped(out, position, 'r');
+                case '\t' -> position = escaped(out, position, 't');
+                case '\b' -> position = escaped(out, position, 'b');
+                case '\f' -> position = escaped(out, position, 'f');
+                default -> {
+                    if (c < 0x20) {
+                        out[position++] = '\\';
+                        out[position++] = 'u';
+                        out[position++] = '0';
+                        out[position++] = '0';
+                        out[position++] = HEX[c >> 4];
+                        out[position++] = HEX[c & 0xF];
+                    } else if (c < 0x80) {
+                        out[position++] = (byte) c;
+                    } else if (c < 0x800) {
+                        out[position++] = (byte) (0xC0 | (c >> 6));
+                        out[position++] = (byte) (0x80 | (c & 0x3F));
+                    } else if (Character.isHighSurrogate(c) && i + 1 < text.length()
+                            && Character.isLowSurrogate(text.charAt(i + 1))) {
+                        int code = Character.toCodePoint(c, text.charAt(++i));
+                        out[position++] = (byte) (0xF0 | (code >> 18));
+                        out[position++] = (byte) (0x80 | ((code >> 12) & 0x3F));
+                        out[position++] = (byte) (0x80 | ((code >> 6) & 0x3F));
+                        out[position++] = (byte) (0x80 | (code & 0x3F));
+                    } else if (Character.isSurrogate(c)) {
+                        out[position++] = '?';
+                    } else {
+                        out[position++] = (byte) (0xE0 | (c >> 12));
+                        out[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                        out[position++] = (byte) (0x80 | (c & 0x3F));
+                    }
+                }
+            }
+        }
+        return position;
+    }
+
+    private static int escaped(byte[] out, int position, char c) {
+        out[position++] = '\\';
+        out[position++] = (byte) c;
+        return position;
+    }
+}
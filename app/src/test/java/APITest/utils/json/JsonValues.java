@@ -0,0 +1,41 @@
+package APITest.utils.json;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Values extracted by {@link StreamingJsonPath}, keyed by the requested
+ * path in request order.
+ *
+ * @param values every value found for each requested path
+ */
+public record JsonValues(Map<String, List<Object>> values) {
+
+    /**
+     * Returns every value found at {@code path}; empty when it is absent.
+     *
+     * @param path one of the extracted paths
+     * @return the values, in body order
+     * @throws IllegalArgumentException if {@code path} was not requested
+     */
+    public List<Object> getList(String path) {
+        List<Object> found = this.values.get(path);
+        if (found == null) {
+            throw new IllegalArgumentException("Path was not extracted: " + path);
+        }
+        return found;
+    }
+
+    /**
+     * Returns the first value at {@code path} rendered as a string, like
+     * {@code JsonPath.getString}, or {@code null} when it is absent.
+     *
+     * @param path one of the extracted paths
+     * @return the value as a string, or {@code null}
+     * @throws IllegalArgumentException if {@code path} was not requested
+     */
+    public String getString(String path) {
+        List<Object> found = this.getList(path);
+        return found.isEmpty() || found.get(0) == null ? null : String.valueOf(found.get(0));
+    }
+}
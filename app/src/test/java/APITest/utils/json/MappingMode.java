@@ -0,0 +1,34 @@
+package APITest.utils.json;
+
+import java.util.Locale;
+
+import APITest.utils.SuiteConfig;
+
+/**
+ * How {@link CodecMapper} maps the suite's DTOs to and from JSON, selected
+ * with {@code -Dsuite.mapping}.
+ */
+public enum MappingMode {
+
+    /**
+     * Use the registered {@link JsonCodec}s, falling back to Jackson data
+     * binding for types without one (the default).
+     */
+    CODEC,
+
+    /**
+     * Use Jackson data binding for every type, as RestAssured's own object
+     * mapper does.
+     */
+    REFLECTIVE;
+
+    /**
+     * Returns the mode configured through {@link SuiteConfig#objectMapping()}.
+     *
+     * @return the configured mode
+     * @throws IllegalArgumentException if the value names no mode
+     */
+    public static MappingMode configured() {
+        return valueOf(SuiteConfig.objectMapping().toUpperCase(Locale.ROOT));
+    }
+}
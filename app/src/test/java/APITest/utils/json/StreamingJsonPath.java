@@ -0,0 +1,296 @@
+package APITest.utils.json;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Extracts a few paths from a JSON body while it is being read, instead of
+ * parsing the whole body into an object graph as
+ * {@code response.jsonPath()} does.
+ *
+ * <p>Paths are dot-separated field names with optional array steps:
+ * {@code accessToken}, {@code data.capacity}, {@code items[0].name} or
+ * {@code [*].id}; a leading {@code $.} is ignored. Subtrees no requested
+ * path goes through are skipped token by token without being built, and
+ * reading stops as soon as every path is resolved: a path without
+ * {@code [*]} at its first match, a path with {@code [*]} when the array it
+ * iterates ends.</p>
+ *
+ * <p>Instances are immutable and can be shared between threads.</p>
+ */
+public final class StreamingJsonPath {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * Marks a {@code [*]} step in a compiled path.
+     */
+    private static final Object ANY_INDEX = new Object();
+
+    private final List<Path> paths;
+
+    private StreamingJsonPath(List<Path> paths) {
+        this.paths = paths;
+    }
+
+    /**
+     * Compiles the paths to extract.
+     *
+     * @param paths the paths, e.g. {@code "data.capacity"} or {@code "[*].id"}
+     * @return an extractor for those paths
+     * @throws IllegalArgumentException if a path is malformed
+     */
+    public static StreamingJsonPath compile(String... paths) {
+        return new StreamingJsonPath(Arrays.stream(paths).map(Path::parse).toList());
+    }
+
+    /**
+     * Returns the first value at {@code path} rendered as a string, like
+     * {@code JsonPath.getString}, or {@code null} when it is absent.
+     *
+     * @param body the JSON body, e.g. {@code response.asByteArray()}
+     * @param path the path to read
+     * @return the value as a string, or {@code null}
+     */
+    public static String getString(byte[] body, String path) {
+        return compile(path).extract(body).getString(path);
+    }
+
+    /**
+     * Returns the first value at {@code path} rendered as a string, like
+     * {@code JsonPath.getString}, or {@code null} when it is absent.
+     *
+     * @param body the JSON body; it is closed on return
+     * @param path the path to read
+     * @return the value as a string, or {@code null}
+     * @throws IOException if the body cannot be read or is not well-formed JSON
+     */
+    public static String getString(InputStream body, String path) throws IOException {
+        return compile(path).extract(body).getString(path);
+    }
+
+    /**
+     * Extracts the paths from an in-memory body.
+     *
+     * @param body the JSON body, e.g. {@code response.asByteArray()}
+     * @return the values found for each path
+     * @throws UncheckedIOException if the body is not well-formed JSON up to
+     *         the point where every path was resolved
+     * @see #extract(InputStream)
+     */
+    public JsonValues extract(byte[] body) {
+        try {
+            return this.extract(new ByteArrayInputStream(body));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads {@code body} until every path is resolved and returns the
+     * values found for each path.
+     *
+     * <p>Scalars are returned as {@code String}, {@code Number},
+     * {@code Boolean} or {@code null}; objects and arrays as {@code Map}
+     * and {@code List}. A path without {@code [*]} yields at most one
+     * value, a missing path none.</p>
+     *
+     * @param body the JSON body; it is closed on return
+     * @return the values found for each path
+     * @throws IOException if the body cannot be read or is not well-formed JSON
+     */
+    public JsonValues extract(InputStream body) throws IOException {
+        Extraction extraction = new Extraction(this.paths);
+        try (JsonParser parser = MAPPER.getFactory().createParser(body)) {
+            if (parser.nextToken() != null) {
+                extraction.value(parser, new ArrayList<>());
+            }
+        }
+        return new JsonValues(extraction.results());
+    }
+
+    /**
+     * A compiled path: field names, array indexes and {@link #ANY_INDEX}.
+     */
+    private record Path(String text, List<Object> steps, int wildcard) {
+
+        static Path parse(String text) {
+            String rest = text.startsWith("$") ? text.substring(1) : text;
+            List<Object> steps = new ArrayList<>();
+            for (String part : rest.split("\\.", -1)) {
+                if (part.isEmpty() && steps.isEmpty() && rest.startsWith(".")) {
+                    continue;
+                }
+                int bracket = part.indexOf('[');
+                String name = bracket < 0 ? part : part.substring(0, bracket);
+                if (!name.isEmpty()) {
+                    steps.add(name);
+                } else if (bracket < 0) {
+                    throw new IllegalArgumentException("Empty step in path: " + text);
+                }
+                while (bracket >= 0) {
+                    int close = part.indexOf(']', bracket);
+                    if (close < 0) {
+                        throw new IllegalArgumentException("Unclosed [ in path: " + text);
+                    }
+                    String index = part.substring(bracket + 1, close);
+                    try {
+                        steps.add("*".equals(index) ? ANY_INDEX : Integer.valueOf(index));
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Invalid array step [" + index + "] in path: " + text);
+                    }
+                    bracket = part.indexOf('[', close);
+                }
+            }
+            if (steps.isEmpty()) {
+                throw new IllegalArgumentException("Empty path: " + text);
+            }
+            return new Path(text, List.copyOf(steps), steps.indexOf(ANY_INDEX));
+        }
+
+        /**
+         * Whether the first {@code location.size()} steps match
+         * {@code location}.
+         */
+        boolean startsWith(List<Object> location) {
+            if (location.size() > this.steps.size()) {
+                return false;
+            }
+            for (int i = 0; i < location.size(); i++) {
+                Object step = this.steps.get(i);
+                if (step != ANY_INDEX && !step.equals(location.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        boolean matches(List<Object> location) {
+            return location.size() == this.steps.size() && this.startsWith(location);
+        }
+    }
+
+    /**
+     * State of one extraction: the values found and which paths are done.
+     */
+    private static final class Extraction {
+
+        private final List<Path> paths;
+
+        private final Map<String, List<Object>> values = new LinkedHashMap<>();
+
+        private final boolean[] done;
+
+        private int remaining;
+
+        Extraction(List<Path> paths) {
+            this.paths = paths;
+            this.done = new boolean[paths.size()];
+            this.remaining = paths.size();
+            for (Path path : paths) {
+                this.values.put(path.text(), new ArrayList<>());
+            }
+        }
+
+        /**
+         * Consumes the value the parser is positioned on, found at
+         * {@code location}, and returns {@code true} once every path is
+         * resolved so reading can stop.
+         */
+        boolean value(JsonParser parser, List<Object> location) throws IOException {
+            boolean matched = false;
+            boolean descend = false;
+            for (int i = 0; i < this.paths.size(); i++) {
+                if (this.done[i]) {
+                    continue;
+                }
+                Path path = this.paths.get(i);
+                if (path.matches(location)) {
+                    matched = true;
+                } else if (path.startsWith(location)) {
+                    descend = true;
+                }
+            }
+
+            if (matched) {
+                // Keep a tree only if another path still has to walk inside the value.
+                JsonNode node = descend ? MAPPER.readTree(parser) : null;
+                Object value = descend ? MAPPER.treeToValue(node, Object.class) : MAPPER.readValue(parser, Object.class);
+                for (int i = 0; i < this.paths.size(); i++) {
+                    Path path = this.paths.get(i);
+                    if (!this.done[i] && path.matches(location)) {
+                        this.values.get(path.text()).add(value);
+                        if (path.wildcard() < 0) {
+                            this.resolve(i);
+                        }
+                    }
+                }
+                if (descend && this.remaining > 0) {
+                    try (JsonParser inner = node.traverse(MAPPER)) {
+                        inner.nextToken();
+                        return this.container(inner, location);
+                    }
+                }
+                return this.remaining == 0;
+            }
+            if (descend) {
+                return this.container(parser, location);
+            }
+            parser.skipChildren();
+            return false;
+        }
+
+        private boolean container(JsonParser parser, List<Object> location) throws IOException {
+            JsonToken token = parser.currentToken();
+            if (token == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    location.add(parser.getCurrentName());
+                    parser.nextToken();
+                    boolean stop = this.value(parser, location);
+                    location.remove(location.size() - 1);
+                    if (stop) {
+                        return true;
+                    }
+                }
+            } else if (token == JsonToken.START_ARRAY) {
+                for (int index = 0; parser.nextToken() != JsonToken.END_ARRAY; index++) {
+                    location.add(index);
+                    boolean stop = this.value(parser, location);
+                    location.remove(location.size() - 1);
+                    if (stop) {
+                        return true;
+                    }
+                }
+                // A [*] path iterating this array has seen every element.
+                for (int i = 0; i < this.paths.size(); i++) {
+                    Path path = this.paths.get(i);
+                    if (!this.done[i] && path.wildcard() == location.size() && path.startsWith(location)) {
+                        this.resolve(i);
+                    }
+                }
+            }
+            return this.remaining == 0;
+        }
+
+        private void resolve(int path) {
+            this.done[path] = true;
+            this.remaining--;
+        }
+
+        Map<String, List<Object>> results() {
+            return this.values;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package APITest.utils.load;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latency histogram and error count for a single endpoint.
+ *
+ * <p>Latencies are recorded into an HdrHistogram with three significant
+ * digits, so memory stays constant however long a load run lasts.</p>
+ */
+public class EndpointStats {
+
+    private final Histogram histogram = new Histogram(3);
+
+    private long errors;
+
+    /**
+     * Records one completed request.
+     *
+     * @param nanos request latency in nanoseconds
+     * @param error whether the request failed or answered with an error status
+     */
+    public synchronized void record(long nanos, boolean error) {
+        this.histogram.recordValue(nanos);
+        if (error) {
+            this.errors++;
+        }
+    }
+
+    /**
+     * Returns a summary of the requests recorded so far.
+     *
+     * @param endpoint the endpoint name the samples belong to
+     * @return the summary used in reports
+     */
+    public synchronized Summary summarize(String endpoint) {
+        return new Summary(endpoint, this.histogram.getTotalCount(), this.errors,
+            this.histogram.getValueAtPercentile(50), this.histogram.getValueAtPercentile(95),
+            this.histogram.getValueAtPercentile(99), this.histogram.getMaxValue());
+    }
+
+    /**
+     * Returns a copy of the recorded latency histogram, in nanoseconds.
+     *
+     * @return the endpoint's histogram
+     */
+    public synchronized Histogram histogram() {
+        return this.histogram.copy();
+    }
+
+    /**
+     * Point-in-time summary of an endpoint; latencies are in nanoseconds.
+     */
+    public record Summary(String endpoint, long count, long errors, long p50, long p95, long p99, long max) { }
+}
@@ -0,0 +1,51 @@
+package APITest.utils.load;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import APITest.utils.Endpoints;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * RestAssured filter timing every request it sees, grouped by endpoint
+ * template (see {@link Endpoints#template}).
+ *
+ * <p>Responses with a status of {@code 400} or above, and requests that
+ * throw, are counted as errors.</p>
+ */
+public class LatencyRecorder implements Filter {
+
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+            FilterableResponseSpecification responseSpec, FilterContext ctx) {
+        String endpoint = Endpoints.template(requestSpec);
+        long start = System.nanoTime();
+        boolean error = true;
+        try {
+            Response response = ctx.next(requestSpec, responseSpec);
+            error = response.statusCode() >= 400;
+            return response;
+        } finally {
+            this.endpoints.computeIfAbsent(endpoint, key -> new EndpointStats())
+                .record(System.nanoTime() - start, error);
+        }
+    }
+
+    /**
+     * Returns per-endpoint summaries ordered by endpoint name.
+     *
+     * @return the endpoint summaries recorded so far
+     */
+    public Map<String, EndpointStats.Summary> snapshot() {
+        Map<String, EndpointStats.Summary> snapshot = new TreeMap<>();
+        this.endpoints.forEach((endpoint, stats) -> snapshot.put(endpoint, stats.summarize(endpoint)));
+        return snapshot;
+    }
+}
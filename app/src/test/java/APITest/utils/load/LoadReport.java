@@ -0,0 +1,56 @@
+package APITest.utils.load;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Outcome of a {@link LoadRunner} run: iteration counts for the scenario and
+ * latency summaries for every endpoint it called.
+ */
+public record LoadReport(String scenario, String mode, Duration elapsed, long iterations, long failures,
+        Map<String, EndpointStats.Summary> endpoints) {
+
+    /**
+     * Returns the fraction of iterations that threw.
+     *
+     * @return failures divided by iterations, or {@code 0} without iterations
+     */
+    public double failureRatio() {
+        return this.iterations == 0 ? 0 : (double) this.failures / this.iterations;
+    }
+
+    /**
+     * Returns completed iterations per second.
+     *
+     * @return the scenario throughput
+     */
+    public double iterationsPerSecond() {
+        return this.iterations / seconds(this.elapsed);
+    }
+
+    /**
+     * Renders the report as a fixed-width table, one row per endpoint.
+     */
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("%nScenario %s (%s) - %d iterations, %d failed, %.1f it/s over %.1fs%n",
+            this.scenario, this.mode, this.iterations, this.failures, this.iterationsPerSecond(), seconds(this.elapsed)));
+        out.append(String.format("%-28s %8s %7s %9s %9s %9s %9s %9s%n",
+            "endpoint", "count", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        for (EndpointStats.Summary s : this.endpoints.values()) {
+            out.append(String.format("%-28s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                s.endpoint(), s.count(), s.errors(), s.count() / seconds(this.elapsed),
+                millis(s.p50()), millis(s.p95()), millis(s.p99()), millis(s.max())));
+        }
+        return out.toString();
+    }
+
+    private static double seconds(Duration duration) {
+        return Math.max(duration.toNanos(), 1) / 1_000_000_000.0;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
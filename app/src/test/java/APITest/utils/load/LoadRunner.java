@@ -0,0 +1,219 @@
+package APITest.utils.load;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import APITest.utils.SuiteConfig;
+import APITest.utils.data.DataStream;
+import io.restassured.RestAssured;
+import io.restassured.filter.Filter;
+
+/**
+ * Drives a {@link LoadScenario} for a fixed duration and reports per-endpoint
+ * throughput and latency percentiles.
+ *
+ * <p>Two workload models are supported:</p>
+ * <ul>
+ *   <li><b>closed</b> (default): {@code concurrency} workers each repeat
+ *   the scenario back to back, so the offered load follows the response
+ *   time of the system under test;</li>
+ *   <li><b>open</b> ({@link #withRate(double)} &gt; 0): iterations start at
+ *   a fixed rate regardless of how long earlier ones take, with at most
+ *   {@code concurrency} in flight. Starts that would exceed that cap are
+ *   counted as failures rather than queued.</li>
+ * </ul>
+ *
+ * <p>Each iteration runs on its own virtual thread. Requests are timed by a
+ * {@link LatencyRecorder} installed as a global RestAssured filter for the
+ * measured phase only, so the warm-up does not skew the report. Global
+ * filters are shared by the whole JVM: run load tests in their own suite
+ * ({@code gradle loadTest}), not alongside the functional tests.</p>
+ */
+public class LoadRunner {
+
+    private final LoadScenario scenario;
+
+    private int concurrency = SuiteConfig.loadConcurrency();
+
+    private double rate = SuiteConfig.loadRate();
+
+    private Duration duration = SuiteConfig.loadDuration();
+
+    private Duration warmup = SuiteConfig.loadWarmup();
+
+    /**
+     * Creates a runner configured from the {@code suite.load.*} properties.
+     *
+     * @param scenario the flow to repeat
+     */
+    public LoadRunner(LoadScenario scenario) {
+        this.scenario = scenario;
+    }
+
+    /**
+     * Sets the number of closed-model workers, or the in-flight cap of the
+     * open model.
+     *
+     * @param concurrency number of concurrent iterations
+     * @return this instance, for chaining
+     */
+    public LoadRunner withConcurrency(int concurrency) {
+        this.concurrency = Math.max(1, concurrency);
+        return this;
+    }
+
+    /**
+     * Selects the open model at {@code rate} iterations per second; {@code 0}
+     * restores the closed model. Rates above
+     * {@link SuiteConfig#MAX_LOAD_RATE} are clamped to it, so consecutive
+     * starts are at least a nanosecond apart.
+     *
+     * @param rate target iterations per second
+     * @return this instance, for chaining
+     */
+    public LoadRunner withRate(double rate) {
+        this.rate = rate > 0 ? Math.min(rate, SuiteConfig.MAX_LOAD_RATE) : 0.0;
+        return this;
+    }
+
+    /**
+     * Sets how long the measured phase lasts.
+     *
+     * @param duration measured run time
+     * @return this instance, for chaining
+     */
+    public LoadRunner withDuration(Duration duration) {
+        this.duration = duration;
+        return this;
+    }
+
+    /**
+     * Sets the unrecorded warm-up run before measurement starts.
+     *
+     * @param warmup warm-up run time, {@link Duration#ZERO} to skip it
+     * @return this instance, for chaining
+     */
+    public LoadRunner withWarmup(Duration warmup) {
+        this.warmup = warmup;
+        return this;
+    }
+
+    /**
+     * Runs the warm-up, then the measured phase, and returns its report.
+     *
+     * @return throughput and latency figures of the measured phase
+     * @throws InterruptedException if the calling thread is interrupted
+     */
+    public LoadReport run() throws InterruptedException {
+        if (!this.warmup.isZero()) {
+            this.drive("warmup", this.warmup, new AtomicLong(), new AtomicLong());
+        }
+
+        LatencyRecorder recorder = new LatencyRecorder();
+        List<Filter> previous = new ArrayList<>(RestAssured.filters());
+        AtomicLong iterations = new AtomicLong();
+        AtomicLong failures = new AtomicLong();
+        long start = System.nanoTime();
+        RestAssured.filters(recorder);
+        try {
+            this.drive("measured", this.duration, iterations, failures);
+        } finally {
+            RestAssured.replaceFiltersWith(previous);
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        String mode = this.rate > 0
+            ? String.format("open, %.1f/s, max %d in flight", this.rate, this.concurrency)
+            : "closed, " + this.concurrency + " workers";
+        return new LoadReport(this.scenario.name(), mode, elapsed, iterations.get(), failures.get(),
+            recorder.snapshot());
+    }
+
+    /**
+     * Runs one phase. Each closed-model worker, and each open-model start,
+     * draws test data from its own {@link DataStream}, keyed by scenario,
+     * phase and worker or start number.
+     */
+    private void drive(String phase, Duration length, AtomicLong iterations, AtomicLong failures)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + length.toNanos();
+        String streams = "load:" + this.scenario.name() + ":" + phase + ":";
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            if (this.rate > 0) {
+                this.driveOpen(executor, streams, deadline, iterations, failures);
+            } else {
+                for (int i = 0; i < this.concurrency; i++) {
+                    String stream = streams + "worker-" + i;
+                    executor.execute(() -> {
+                        DataStream.bind(stream);
+                        while (System.nanoTime() < deadline) {
+                            this.iterate(iterations, failures);
+                        }
+                    });
+                }
+            }
+        }
+    }
+
+    /**
+     * Starts iterations on a fixed schedule until {@code deadline}. The
+     * schedule is absolute, so a late start does not shift later ones, and
+     * start {@code n} always draws from stream {@code n}, whether it ran or
+     * was dropped and however often the scheduler woke early.
+     */
+    private void driveOpen(ExecutorService executor, String streams, long deadline, AtomicLong iterations,
+            AtomicLong failures) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(this.concurrency);
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / this.rate);
+        long next = System.nanoTime();
+        for (long start = 0; next < deadline; start++, next += interval) {
+            parkUntil(next);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            if (inFlight.tryAcquire()) {
+                String stream = streams + start;
+                executor.execute(() -> {
+                    DataStream.bind(stream);
+                    try {
+                        this.iterate(iterations, failures);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            } else {
+                iterations.incrementAndGet();
+                failures.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Parks until {@code nanoTime} is reached; parking may return early.
+     */
+    private static void parkUntil(long nanoTime) throws InterruptedException {
+        for (long wait = nanoTime - System.nanoTime(); wait > 0; wait = nanoTime - System.nanoTime()) {
+            LockSupport.parkNanos(wait);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    private void iterate(AtomicLong iterations, AtomicLong failures) {
+        try {
+            this.scenario.iteration().run();
+        } catch (RuntimeException | AssertionError e) {
+            failures.incrementAndGet();
+        } finally {
+            iterations.incrementAndGet();
+        }
+    }
+}
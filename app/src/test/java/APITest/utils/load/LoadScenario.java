@@ -0,0 +1,11 @@
+package APITest.utils.load;
+
+/**
+ * A named unit of work the {@link LoadRunner} repeats, typically one pass
+ * through an existing functional flow such as create &rarr; update &rarr;
+ * delete. An iteration fails by throwing, e.g. on a RestAssured assertion.
+ *
+ * @param name scenario name used in reports
+ * @param iteration one pass of the flow; must be safe to run concurrently
+ */
+public record LoadScenario(String name, Runnable iteration) { }
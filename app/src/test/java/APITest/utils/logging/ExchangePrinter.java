@@ -0,0 +1,156 @@
+package APITest.utils.logging;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.restassured.config.LogConfig;
+import io.restassured.http.Cookie;
+import io.restassured.http.Cookies;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+
+/**
+ * Formats requests and responses the way {@code log().all()} does, using
+ * only RestAssured's public API.
+ *
+ * <p>RestAssured's own printers live in {@code io.restassured.internal} and
+ * may change in any release. Request bodies are printed as text whatever
+ * their type, so a pre-encoded {@code byte[]} body reads as JSON rather
+ * than as a list of numbers; JSON bodies are indented when the log
+ * configuration enables pretty printing. Headers blacklisted in the log
+ * configuration are masked.</p>
+ */
+final class ExchangePrinter {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final String NONE = "<none>";
+
+    private ExchangePrinter() { }
+
+    /**
+     * Prints the method, URI, parameters, headers, cookies and body of
+     * {@code request}.
+     *
+     * @param request the request, as seen by a filter
+     * @param logConfig the log configuration of the request
+     * @param out the stream to print to
+     */
+    static void printRequest(FilterableRequestSpecification request, LogConfig logConfig, PrintStream out) {
+        StringBuilder text = new StringBuilder();
+        text.append("Request method:\t").append(request.getMethod()).append('\n');
+        text.append("Request URI:\t").append(request.getURI()).append('\n');
+        appendParams(text, "Form params:\t", request.getFormParams());
+        appendHeaders(text, "Headers:\t\t", request.getHeaders(), logConfig.blacklistedHeaders());
+        appendCookies(text, request.getCookies());
+        text.append("Multiparts:\t\t").append(request.getMultiPartParams().isEmpty()
+            ? NONE : request.getMultiPartParams().size() + " part(s)").append('\n');
+        text.append("Body:\n").append(body(request.getBody(), request.getContentType(),
+            logConfig.isPrettyPrintingEnabled())).append('\n');
+        out.print(text);
+    }
+
+    /**
+     * Prints the status line, headers and body of {@code response}.
+     *
+     * @param response the response
+     * @param streamed whether the body is a {@code StreamingBody} that the
+     *                 test reads itself, and must not be read here
+     * @param logConfig the log configuration of the request
+     * @param out the stream to print to
+     */
+    static void printResponse(Response response, boolean streamed, LogConfig logConfig, PrintStream out) {
+        StringBuilder text = new StringBuilder();
+        text.append(response.getStatusLine()).append('\n');
+        Set<String> blacklisted = logConfig.blacklistedHeaders();
+        for (Header header : response.getHeaders()) {
+            text.append(header.getName()).append(": ").append(value(header, blacklisted)).append('\n');
+        }
+        String body = streamed ? "<streamed, not logged>"
+            : logConfig.isPrettyPrintingEnabled() ? response.asPrettyString() : response.asString();
+        if (!body.isEmpty()) {
+            text.append('\n').append(body).append('\n');
+        }
+        out.print(text);
+    }
+
+    private static void appendParams(StringBuilder text, String label, Map<String, ?> params) {
+        text.append(label);
+        if (params.isEmpty()) {
+            text.append(NONE).append('\n');
+            return;
+        }
+        String indent = "";
+        for (Map.Entry<String, ?> param : params.entrySet()) {
+            text.append(indent).append(param.getKey()).append('=').append(param.getValue()).append('\n');
+            indent = "\t\t\t\t";
+        }
+    }
+
+    private static void appendHeaders(StringBuilder text, String label, Headers headers, Set<String> blacklisted) {
+        text.append(label);
+        if (!headers.exist()) {
+            text.append(NONE).append('\n');
+            return;
+        }
+        String indent = "";
+        for (Header header : headers) {
+            text.append(indent).append(header.getName()).append('=').append(value(header, blacklisted)).append('\n');
+            indent = "\t\t\t\t";
+        }
+    }
+
+    private static void appendCookies(StringBuilder text, Cookies cookies) {
+        text.append("Cookies:\t\t");
+        if (!cookies.exist()) {
+            text.append(NONE).append('\n');
+            return;
+        }
+        String indent = "";
+        for (Cookie cookie : cookies) {
+            text.append(indent).append(cookie.getName()).append('=').append(cookie.getValue()).append('\n');
+            indent = "\t\t\t\t";
+        }
+    }
+
+    private static String value(Header header, Set<String> blacklisted) {
+        return blacklisted.stream().anyMatch(header.getName()::equalsIgnoreCase) ? "[ BLACKLISTED ]" : header.getValue();
+    }
+
+    /**
+     * Renders a request body as text: strings as they are, byte arrays
+     * decoded as UTF-8 and other sources, which cannot be read without
+     * consuming them, by type only.
+     */
+    private static String body(Object body, String contentType, boolean pretty) {
+        String text;
+        if (body == null) {
+            return NONE;
+        } else if (body instanceof byte[] bytes) {
+            text = new String(bytes, StandardCharsets.UTF_8);
+        } else if (body instanceof String string) {
+            text = string;
+        } else if (body instanceof File file) {
+            return "<file " + file + ">";
+        } else {
+            return "<" + body.getClass().getSimpleName() + ">";
+        }
+        if (!pretty || contentType == null || !contentType.toLowerCase(Locale.ROOT).contains("json")) {
+            return text;
+        }
+        try {
+            return MAPPER.readTree(text).toPrettyString();
+        } catch (IOException e) {
+            return text;
+        }
+    }
+}
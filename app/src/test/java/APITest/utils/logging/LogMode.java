@@ -0,0 +1,38 @@
+package APITest.utils.logging;
+
+import java.util.Locale;
+
+import APITest.utils.SuiteConfig;
+
+/**
+ * How {@link RequestLogFilter} logs request/response exchanges, selected
+ * with {@code -Dsuite.log}.
+ */
+public enum LogMode {
+
+    /**
+     * Print every exchange as it happens (the default).
+     */
+    ALL,
+
+    /**
+     * Buffer each method's exchanges and print them only if it fails, or for
+     * the sampled share of passing tests ({@code -Dsuite.log.sample}).
+     */
+    FAILURES,
+
+    /**
+     * Do not log exchanges.
+     */
+    NONE;
+
+    /**
+     * Returns the mode configured through {@link SuiteConfig#logMode()}.
+     *
+     * @return the configured mode
+     * @throws IllegalArgumentException if the value names no mode
+     */
+    public static LogMode configured() {
+        return valueOf(SuiteConfig.logMode().toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,175 @@
+package APITest.utils.logging;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import io.restassured.config.LogConfig;
+import io.restassured.response.Response;
+
+/**
+ * Request/response log of one test or configuration method invocation.
+ *
+ * <p>{@link RequestLogListener} opens a log on the invoking thread before
+ * each method and closes it afterwards; {@link RequestLogFilter} appends
+ * every exchange made on that thread in between. Requests are formatted
+ * when recorded, responses only when the log is printed, so passing tests
+ * in {@code failures} mode never pay for pretty-printing response bodies.</p>
+ *
+ * <p>Work a test hands to other threads records into the test's log if
+ * those threads {@link #bind} it, as {@code AsyncApi} does; a log may
+ * therefore be appended to by several threads at once. Work that may
+ * outlive the method that started it, such as {@code TaskGraph} fixtures
+ * started from {@code @BeforeClass}, records into a {@link #detached()} log
+ * instead and {@link #appendTo appends} it to the log of the method that
+ * uses its result.</p>
+ */
+public final class RequestLog {
+
+    private static final ThreadLocal<RequestLog> CURRENT = new ThreadLocal<>();
+
+    /**
+     * One exchange: the formatted request and, unless it threw, the response,
+     * whose body is not printed if {@code streamed}.
+     */
+    private record Exchange(String request, Response response, boolean streamed, LogConfig logConfig) { }
+
+    private final List<Exchange> exchanges = Collections.synchronizedList(new ArrayList<>());
+
+    private RequestLog() { }
+
+    /**
+     * Opens an empty log for the calling thread, discarding any previous one.
+     */
+    public static void open() {
+        CURRENT.set(new RequestLog());
+    }
+
+    /**
+     * Creates an empty log that is not open on any thread, to
+     * {@link #bind} on threads doing work whose requests belong to whichever
+     * method later uses its result.
+     *
+     * @return a new log
+     */
+    public static RequestLog detached() {
+        return new RequestLog();
+    }
+
+    /**
+     * Detaches and returns the calling thread's log.
+     *
+     * @return the closed log, or {@code null} if none was open
+     */
+    static RequestLog close() {
+        RequestLog log = CURRENT.get();
+        CURRENT.remove();
+        return log;
+    }
+
+    /**
+     * Returns the log open on the calling thread.
+     *
+     * @return the current log, or {@code null} outside test and
+     *         configuration methods (e.g. on worker threads a test spawned
+     *         without binding its log)
+     */
+    public static RequestLog current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Makes {@code log} the calling thread's log, so the requests of work
+     * run on behalf of a test are printed with the test's own.
+     *
+     * @param log the log captured with {@link #current()}, or {@code null}
+     *            for none
+     * @return the previously open log, or {@code null}, to pass to
+     *         {@link #restore}
+     */
+    public static RequestLog bind(RequestLog log) {
+        RequestLog previous = CURRENT.get();
+        restore(log);
+        return previous;
+    }
+
+    /**
+     * Makes {@code previous}, as returned by {@link #bind}, the calling
+     * thread's log again.
+     *
+     * @param previous the log to restore, or {@code null} for none
+     */
+    public static void restore(RequestLog previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * Appends an exchange to this log.
+     *
+     * @param request the request as formatted by {@link ExchangePrinter}
+     * @param response the response, or {@code null} if the request failed
+     * @param streamed whether the response body is read by the test itself
+     * @param logConfig the log configuration of the request
+     */
+    void record(String request, Response response, boolean streamed, LogConfig logConfig) {
+        this.exchanges.add(new Exchange(request, response, streamed, logConfig));
+    }
+
+    /**
+     * Appends every exchange of this log to {@code target}, after those
+     * already there.
+     *
+     * @param target the log to copy the exchanges to
+     */
+    public void appendTo(RequestLog target) {
+        List<Exchange> exchanges;
+        synchronized (this.exchanges) {
+            exchanges = List.copyOf(this.exchanges);
+        }
+        target.exchanges.addAll(exchanges);
+    }
+
+    /**
+     * Indicates whether any exchange was recorded.
+     *
+     * @return {@code true} if the log holds no exchange
+     */
+    boolean isEmpty() {
+        return this.exchanges.isEmpty();
+    }
+
+    /**
+     * Formats every exchange under a {@code title} banner and prints the
+     * result to {@code out} in a single write, so logs of tests running in
+     * parallel do not interleave.
+     *
+     * @param title heading identifying the method the log belongs to
+     * @param out the stream to print to
+     */
+    public void printTo(String title, PrintStream out) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (PrintStream print = new PrintStream(buffer, true, StandardCharsets.UTF_8)) {
+            print.println("---- " + title + " ----");
+            List<Exchange> exchanges;
+            synchronized (this.exchanges) {
+                exchanges = List.copyOf(this.exchanges);
+            }
+            for (Exchange exchange : exchanges) {
+                print.print(exchange.request());
+                if (exchange.response() != null) {
+                    ExchangePrinter.printResponse(exchange.response(), exchange.streamed(), exchange.logConfig(),
+                        print);
+                }
+            }
+        }
+        out.print(buffer.toString(StandardCharsets.UTF_8));
+        out.flush();
+    }
+}
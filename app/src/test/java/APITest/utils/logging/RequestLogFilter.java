@@ -0,0 +1,72 @@
+package APITest.utils.logging;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+import APITest.utils.http.StreamingBody;
+import io.restassured.config.LogConfig;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Global RestAssured filter replacing the per-call {@code log().all()}.
+ *
+ * <p>It runs after every other filter, so the logged request includes
+ * headers added by filters such as the bearer-token filter. Depending on
+ * {@link LogMode} an exchange is printed immediately, appended to the
+ * calling thread's {@link RequestLog}, or ignored. Requests made outside a
+ * test or configuration method are never logged, nor are the bodies of
+ * {@link StreamingBody} responses, which the test reads itself.</p>
+ */
+public class RequestLogFilter implements OrderedFilter {
+
+    private final LogMode mode;
+
+    /**
+     * Creates a filter logging in the given mode.
+     *
+     * @param mode how exchanges are logged
+     */
+    public RequestLogFilter(LogMode mode) {
+        this.mode = mode;
+    }
+
+    @Override
+    public int getOrder() {
+        return LOWEST_PRECEDENCE - 1;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+            FilterableResponseSpecification responseSpec, FilterContext ctx) {
+        RequestLog log = RequestLog.current();
+        if (log == null || this.mode == LogMode.NONE) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+
+        LogConfig logConfig = requestSpec.getConfig().getLogConfig();
+        boolean streamed = StreamingBody.isRequested(ctx);
+        if (this.mode == LogMode.ALL) {
+            ExchangePrinter.printRequest(requestSpec, logConfig, System.out);
+            Response response = ctx.next(requestSpec, responseSpec);
+            ExchangePrinter.printResponse(response, streamed, logConfig, System.out);
+            return response;
+        }
+
+        ByteArrayOutputStream request = new ByteArrayOutputStream();
+        try (PrintStream print = new PrintStream(request, true, StandardCharsets.UTF_8)) {
+            ExchangePrinter.printRequest(requestSpec, logConfig, print);
+        }
+        Response response = null;
+        try {
+            response = ctx.next(requestSpec, responseSpec);
+            return response;
+        } finally {
+            log.record(request.toString(StandardCharsets.UTF_8), response, streamed, logConfig);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package APITest.utils.logging;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestResult;
+
+import APITest.utils.SuiteConfig;
+import io.restassured.RestAssured;
+import io.restassured.filter.Filter;
+
+/**
+ * Installs {@link RequestLogFilter} for the suite and scopes its log to
+ * each test and configuration method.
+ *
+ * <p>Registered through {@code META-INF/services/org.testng.ITestNGListener},
+ * so it applies to every suite and to IDE runs alike. In {@code failures}
+ * mode a method's buffered exchanges are printed when it fails, or with
+ * probability {@code suite.log.sample} when it passes; otherwise they are
+ * dropped.</p>
+ */
+public class RequestLogListener implements ISuiteListener, IInvokedMethodListener {
+
+    private final LogMode mode = LogMode.configured();
+
+    private final double sampleRate = SuiteConfig.logSampleRate();
+
+    private final RequestLogFilter filter = new RequestLogFilter(this.mode);
+
+    @Override
+    public void onStart(ISuite suite) {
+        if (!RestAssured.filters().contains(this.filter)) {
+            RestAssured.filters(this.filter);
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        List<Filter> remaining = new ArrayList<>(RestAssured.filters());
+        remaining.remove(this.filter);
+        RestAssured.replaceFiltersWith(remaining);
+    }
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        RequestLog.open();
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        RequestLog log = RequestLog.close();
+        if (log == null || log.isEmpty() || this.mode != LogMode.FAILURES) {
+            return;
+        }
+        boolean failed = testResult.getStatus() == ITestResult.FAILURE;
+        if (failed || ThreadLocalRandom.current().nextDouble() < this.sampleRate) {
+            log.printTo(testResult.getTestClass().getName() + "." + method.getTestMethod().getMethodName()
+                + (failed ? " (FAILED)" : " (sampled)"), System.out);
+        }
+    }
+}
@@ -0,0 +1,373 @@
+package APITest.utils.metrics;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * Per-request HTTP metrics of a suite, tagged by endpoint template and test
+ * group, exported as Prometheus text or JSON.
+ *
+ * <p>Each series, identified by method, URI template and group, has a
+ * {@link Timer} per {@link Phase}, body byte counters and a request counter
+ * per status code. The group is the first group of the test or
+ * configuration method sending the request, bound with
+ * {@link #bindGroup}; requests sent elsewhere, e.g. by load workers, are
+ * tagged {@code none}. Instances are thread-safe.</p>
+ */
+public class HttpMetrics {
+
+    /**
+     * Group of requests sent outside a test or configuration method.
+     */
+    public static final String NO_GROUP = "none";
+
+    private static final ThreadLocal<String> GROUP = new ThreadLocal<>();
+
+    private final Map<Series, SeriesMetrics> series = new ConcurrentHashMap<>();
+
+    private final long startedAt = System.nanoTime();
+
+    /**
+     * A phase of a request.
+     */
+    public enum Phase {
+
+        /**
+         * Host name lookup, when a new connection was opened.
+         */
+        DNS,
+
+        /**
+         * TCP connect, when a new connection was opened.
+         */
+        CONNECT,
+
+        /**
+         * TLS handshake, when a new HTTPS connection was opened.
+         */
+        TLS,
+
+        /**
+         * From writing the request to receiving the response headers.
+         */
+        TTFB,
+
+        /**
+         * From the response headers to the end of the body.
+         */
+        BODY,
+
+        /**
+         * The whole exchange, as seen by the RestAssured filter chain.
+         */
+        TOTAL;
+
+        /**
+         * Returns the phase's label value.
+         *
+         * @return the phase name in lower case
+         */
+        public String label() {
+            return this.name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * Tags requests sent by this thread with {@code group}.
+     *
+     * @param group the test group, or {@code null} for {@value #NO_GROUP}
+     * @return the previously bound group, to pass to {@link #restoreGroup}
+     */
+    public static String bindGroup(String group) {
+        String previous = GROUP.get();
+        GROUP.set(group);
+        return previous;
+    }
+
+    /**
+     * Restores the group returned by {@link #bindGroup}.
+     *
+     * @param previous the group to restore, or {@code null} for none
+     */
+    public static void restoreGroup(String previous) {
+        if (previous == null) {
+            GROUP.remove();
+        } else {
+            GROUP.set(previous);
+        }
+    }
+
+    /**
+     * Returns the group requests sent by this thread are tagged with.
+     *
+     * @return the bound group, or {@value #NO_GROUP}
+     */
+    public static String currentGroup() {
+        String group = GROUP.get();
+        return group == null ? NO_GROUP : group;
+    }
+
+    /**
+     * Records one exchange.
+     *
+     * @param endpoint the endpoint template, e.g. {@code PUT /objects/{id}}
+     * @param group the test group
+     * @param status the response status, or {@code -1} if the request threw
+     * @param timings the exchange's timings, closed
+     */
+    public void record(String endpoint, String group, int status, RequestTimings timings) {
+        int space = endpoint.indexOf(' ');
+        Series key = space < 0
+            ? new Series("", endpoint, group)
+            : new Series(endpoint.substring(0, space), endpoint.substring(space + 1), group);
+        SeriesMetrics metrics = this.series.computeIfAbsent(key, ignored -> new SeriesMetrics());
+
+        record(metrics, Phase.DNS, timings.dns());
+        record(metrics, Phase.CONNECT, timings.connect());
+        record(metrics, Phase.TLS, timings.tls());
+        record(metrics, Phase.TTFB, timings.ttfb());
+        record(metrics, Phase.BODY, timings.body());
+        record(metrics, Phase.TOTAL, timings.total());
+        if (timings.bytesSent() > 0) {
+            metrics.bytesSent.add(timings.bytesSent());
+        }
+        if (timings.bytesReceived() > 0) {
+            metrics.bytesReceived.add(timings.bytesReceived());
+        }
+        metrics.statuses.computeIfAbsent(status < 0 ? "error" : Integer.toString(status), ignored -> new LongAdder())
+            .increment();
+    }
+
+    /**
+     * Returns how many exchanges were recorded.
+     *
+     * @return the request count over all series
+     */
+    public long requests() {
+        return this.series.values().stream()
+            .mapToLong(metrics -> metrics.timers.get(Phase.TOTAL).snapshot().count())
+            .sum();
+    }
+
+    /**
+     * Returns the time since these metrics were created, i.e. since the
+     * suite started.
+     *
+     * @return the elapsed time in nanoseconds
+     */
+    public long elapsedNanos() {
+        return System.nanoTime() - this.startedAt;
+    }
+
+    /**
+     * Returns the total request latency per endpoint, over every group.
+     *
+     * @return copies of the {@link Phase#TOTAL} histograms in microseconds,
+     *         keyed by endpoint template such as {@code GET /books}
+     */
+    public Map<String, Histogram> latencies() {
+        Map<String, Histogram> latencies = new TreeMap<>();
+        this.series.forEach((key, metrics) -> {
+            Histogram histogram = metrics.timers.get(Phase.TOTAL).histogram();
+            latencies.merge(key.method() + " " + key.uri(), histogram, (merged, more) -> {
+                merged.add(more);
+                return merged;
+            });
+        });
+        return latencies;
+    }
+
+    /**
+     * Writes every series in the Prometheus text exposition format.
+     *
+     * @param out the writer to write to; not closed
+     * @throws IOException if writing fails
+     */
+    public void writePrometheus(Writer out) throws IOException {
+        List<Map.Entry<Series, SeriesMetrics>> sorted = this.sorted();
+
+        out.write("# HELP apitest_http_phase_seconds Duration of each phase of the suite's HTTP requests.\n");
+        out.write("# TYPE apitest_http_phase_seconds summary\n");
+        for (Map.Entry<Series, SeriesMetrics> entry : sorted) {
+            for (Phase phase : Phase.values()) {
+                Timer.Snapshot snapshot = entry.getValue().timers.get(phase).snapshot();
+                if (snapshot.count() == 0) {
+                    continue;
+                }
+                String labels = entry.getKey().labels() + ",phase=\"" + phase.label() + "\"";
+                sample(out, "apitest_http_phase_seconds", labels + ",quantile=\"0.5\"", seconds(snapshot.p50Nanos()));
+                sample(out, "apitest_http_phase_seconds", labels + ",quantile=\"0.95\"", seconds(snapshot.p95Nanos()));
+                sample(out, "apitest_http_phase_seconds", labels + ",quantile=\"0.99\"", seconds(snapshot.p99Nanos()));
+                sample(out, "apitest_http_phase_seconds_sum", labels, seconds(snapshot.totalNanos()));
+                sample(out, "apitest_http_phase_seconds_count", labels, Long.toString(snapshot.count()));
+            }
+        }
+
+        out.write("# HELP apitest_http_phase_seconds_max Longest duration of each phase.\n");
+        out.write("# TYPE apitest_http_phase_seconds_max gauge\n");
+        for (Map.Entry<Series, SeriesMetrics> entry : sorted) {
+            for (Phase phase : Phase.values()) {
+                Timer.Snapshot snapshot = entry.getValue().timers.get(phase).snapshot();
+                if (snapshot.count() > 0) {
+                    sample(out, "apitest_http_phase_seconds_max",
+                        entry.getKey().labels() + ",phase=\"" + phase.label() + "\"", seconds(snapshot.maxNanos()));
+                }
+            }
+        }
+
+        out.write("# HELP apitest_http_requests_total Requests by response status; error if none was received.\n");
+        out.write("# TYPE apitest_http_requests_total counter\n");
+        for (Map.Entry<Series, SeriesMetrics> entry : sorted) {
+            for (Map.Entry<String, LongAdder> status : new TreeMap<>(entry.getValue().statuses).entrySet()) {
+                sample(out, "apitest_http_requests_total",
+                    entry.getKey().labels() + ",status=\"" + status.getKey() + "\"", Long.toString(status.getValue().sum()));
+            }
+        }
+
+        out.write("# HELP apitest_http_sent_bytes_total Request body bytes sent.\n");
+        out.write("# TYPE apitest_http_sent_bytes_total counter\n");
+        for (Map.Entry<Series, SeriesMetrics> entry : sorted) {
+            sample(out, "apitest_http_sent_bytes_total", entry.getKey().labels(),
+                Long.toString(entry.getValue().bytesSent.sum()));
+        }
+
+        out.write("# HELP apitest_http_received_bytes_total Response body bytes received.\n");
+        out.write("# TYPE apitest_http_received_bytes_total counter\n");
+        for (Map.Entry<Series, SeriesMetrics> entry : sorted) {
+            sample(out, "apitest_http_received_bytes_total", entry.getKey().labels(),
+                Long.toString(entry.getValue().bytesReceived.sum()));
+        }
+    }
+
+    /**
+     * Writes every series as a JSON array, one object per series with its
+     * phases in milliseconds.
+     *
+     * @param out the stream to write to; not closed
+     * @throws IOException if writing fails
+     */
+    public void writeJson(OutputStream out) throws IOException {
+        try (JsonGenerator json = new JsonFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.useDefaultPrettyPrinter();
+            json.writeStartArray();
+            for (Map.Entry<Series, SeriesMetrics> entry : this.sorted()) {
+                Series key = entry.getKey();
+                SeriesMetrics metrics = entry.getValue();
+                json.writeStartObject();
+                json.writeStringField("method", key.method());
+                json.writeStringField("uri", key.uri());
+                json.writeStringField("group", key.group());
+                json.writeObjectFieldStart("statuses");
+                for (Map.Entry<String, LongAdder> status : new TreeMap<>(metrics.statuses).entrySet()) {
+                    json.writeNumberField(status.getKey(), status.getValue().sum());
+                }
+                json.writeEndObject();
+                json.writeNumberField("bytesSent", metrics.bytesSent.sum());
+                json.writeNumberField("bytesReceived", metrics.bytesReceived.sum());
+                json.writeObjectFieldStart("phases");
+                for (Phase phase : Phase.values()) {
+                    Timer.Snapshot snapshot = metrics.timers.get(phase).snapshot();
+                    if (snapshot.count() == 0) {
+                        continue;
+                    }
+                    json.writeObjectFieldStart(phase.label());
+                    json.writeNumberField("count", snapshot.count());
+                    json.writeNumberField("totalMs", millis(snapshot.totalNanos()));
+                    json.writeNumberField("p50Ms", millis(snapshot.p50Nanos()));
+                    json.writeNumberField("p95Ms", millis(snapshot.p95Nanos()));
+                    json.writeNumberField("p99Ms", millis(snapshot.p99Nanos()));
+                    json.writeNumberField("maxMs", millis(snapshot.maxNanos()));
+                    json.writeEndObject();
+                }
+                json.writeEndObject();
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+        }
+    }
+
+    private static void record(SeriesMetrics metrics, Phase phase, long nanos) {
+        if (nanos >= 0) {
+            metrics.timers.get(phase).record(nanos);
+        }
+    }
+
+    private List<Map.Entry<Series, SeriesMetrics>> sorted() {
+        return this.series.entrySet().stream()
+            .sorted(Map.Entry.comparingByKey(Comparator.comparing(Series::uri)
+                .thenComparing(Series::method)
+                .thenComparing(Series::group)))
+            .toList();
+    }
+
+    private static void sample(Writer out, String name, String labels, String value) throws IOException {
+        out.write(name);
+        out.write('{');
+        out.write(labels);
+        out.write("} ");
+        out.write(value);
+        out.write('\n');
+    }
+
+    private static String seconds(long nanos) {
+        return Double.toString(nanos / 1e9);
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 1e3) / 1e3;
+    }
+
+    /**
+     * Escapes a Prometheus label value.
+     */
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    /**
+     * Identity of a series.
+     */
+    private record Series(String method, String uri, String group) {
+
+        String labels() {
+            return "method=\"" + escape(this.method) + "\",uri=\"" + escape(this.uri)
+                + "\",group=\"" + escape(this.group) + "\"";
+        }
+    }
+
+    /**
+     * Everything recorded for one series.
+     */
+    private static final class SeriesMetrics {
+
+        private final Map<Phase, Timer> timers = new EnumMap<>(Phase.class);
+
+        private final LongAdder bytesSent = new LongAdder();
+
+        private final LongAdder bytesReceived = new LongAdder();
+
+        private final Map<String, LongAdder> statuses = new ConcurrentHashMap<>();
+
+        SeriesMetrics() {
+            for (Phase phase : Phase.values()) {
+                this.timers.put(phase, new Timer());
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package APITest.utils.metrics;
+
+import java.util.Locale;
+
+import APITest.utils.SuiteConfig;
+
+/**
+ * Whether and how {@link MetricsListener} exports the suite's HTTP metrics,
+ * selected with {@code -Dsuite.metrics}.
+ */
+public enum MetricsExport {
+
+    /**
+     * Prometheus text exposition format, to a {@code .prom} file (the
+     * default).
+     */
+    PROMETHEUS("prom"),
+
+    /**
+     * A JSON array of series, to a {@code .json} file.
+     */
+    JSON("json"),
+
+    /**
+     * Do not collect metrics.
+     */
+    OFF(null);
+
+    private final String extension;
+
+    MetricsExport(String extension) {
+        this.extension = extension;
+    }
+
+    /**
+     * Returns the extension of the exported file.
+     *
+     * @return the extension without a dot, or {@code null} for {@link #OFF}
+     */
+    public String extension() {
+        return this.extension;
+    }
+
+    /**
+     * Returns the export configured through {@link SuiteConfig#metrics()}.
+     *
+     * @return the configured export
+     * @throws IllegalArgumentException if the value names no export
+     */
+    public static MetricsExport configured() {
+        return valueOf(SuiteConfig.metrics().toUpperCase(Locale.ROOT));
+    }
+}
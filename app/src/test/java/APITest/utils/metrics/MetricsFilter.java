@@ -0,0 +1,61 @@
+package APITest.utils.metrics;
+
+import APITest.utils.Endpoints;
+import APITest.utils.http.StreamingBody;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Global RestAssured filter recording every exchange into
+ * {@link HttpMetrics}, tagged with its endpoint template (see
+ * {@link Endpoints#template}) and the sending thread's test group.
+ *
+ * <p>It runs just outside the record/replay filter, so replayed exchanges
+ * are counted too, though with their total time only. The phases are
+ * reported by the shared {@code ConnectionPool}'s client hooks while the
+ * request is open. A {@link StreamingBody} response is not read here; its
+ * body is read by the caller after the request was recorded, so it has no
+ * body phase.</p>
+ */
+public class MetricsFilter implements OrderedFilter {
+
+    private final HttpMetrics metrics;
+
+    /**
+     * Creates a filter recording into {@code metrics}.
+     *
+     * @param metrics the suite's metrics
+     */
+    public MetricsFilter(HttpMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public int getOrder() {
+        return LOWEST_PRECEDENCE - 3;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+            FilterableResponseSpecification responseSpec, FilterContext ctx) {
+        String endpoint = Endpoints.template(requestSpec);
+        RequestTimings timings = RequestTimings.open();
+        int status = -1;
+        try {
+            Response response = ctx.next(requestSpec, responseSpec);
+            status = response.statusCode();
+            if (!StreamingBody.isRequested(ctx)) {
+                // Reads the body unless a draining filter already did, and
+                // counts it when no client hook could.
+                timings.bodyRead(response.asByteArray().length);
+            }
+            return response;
+        } finally {
+            timings.close();
+            this.metrics.record(endpoint, HttpMetrics.currentGroup(), status, timings);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package APITest.utils.metrics;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestResult;
+
+import APITest.utils.SuiteConfig;
+import io.restassured.RestAssured;
+import io.restassured.filter.Filter;
+
+/**
+ * Installs {@link MetricsFilter} for the suite, tags requests with the
+ * running method's first group, and writes the metrics to
+ * {@code suite.metrics.dir} when the suite finishes.
+ *
+ * <p>Registered through {@code META-INF/services/org.testng.ITestNGListener}.
+ * Pass {@code -Dsuite.metrics=json} for a JSON file instead of Prometheus
+ * text, or {@code off} to collect nothing.</p>
+ */
+public class MetricsListener implements ISuiteListener, IInvokedMethodListener {
+
+    private static volatile HttpMetrics active;
+
+    private final MetricsExport export = MetricsExport.configured();
+
+    private final ThreadLocal<String> previousGroup = new ThreadLocal<>();
+
+    private HttpMetrics metrics;
+
+    private Filter filter;
+
+    @Override
+    public void onStart(ISuite suite) {
+        if (this.metrics != null || this.export == MetricsExport.OFF) {
+            return;
+        }
+        this.metrics = new HttpMetrics();
+        this.filter = new MetricsFilter(this.metrics);
+        RestAssured.filters(this.filter);
+        active = this.metrics;
+    }
+
+    /**
+     * Returns the metrics of the running suite, e.g. for an
+     * {@code @AfterSuite} method.
+     *
+     * @return the metrics being collected, or {@code null} when metrics are
+     *         off or no suite is running
+     */
+    public static HttpMetrics active() {
+        return active;
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (this.metrics == null) {
+            return;
+        }
+        List<Filter> remaining = new ArrayList<>(RestAssured.filters());
+        remaining.remove(this.filter);
+        RestAssured.replaceFiltersWith(remaining);
+        active = null;
+
+        Path file = SuiteConfig.metricsDir()
+            .resolve(suite.getName().replaceAll("[^A-Za-z0-9._-]", "-") + "." + this.export.extension());
+        try {
+            Files.createDirectories(file.getParent());
+            if (this.export == MetricsExport.JSON) {
+                try (OutputStream out = Files.newOutputStream(file)) {
+                    this.metrics.writeJson(out);
+                }
+            } else {
+                try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                    this.metrics.writePrometheus(out);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        System.out.println("HTTP metrics (" + suite.getName() + "): " + this.metrics.requests()
+            + " requests written to " + file);
+        this.metrics = null;
+    }
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        String[] groups = method.getTestMethod().getGroups();
+        this.previousGroup.set(HttpMetrics.bindGroup(groups.length == 0 ? null : groups[0]));
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        HttpMetrics.restoreGroup(this.previousGroup.get());
+        this.previousGroup.remove();
+    }
+}
@@ -0,0 +1,196 @@
+package APITest.utils.metrics;
+
+/**
+ * Phase timings of the RestAssured request the current thread is sending.
+ *
+ * <p>{@link MetricsFilter} opens an instance around each request, and the
+ * HTTP client hooks of {@code ConnectionPool} report into it through the
+ * static methods, which do nothing when no request is open. RestAssured
+ * sends on the calling thread, so the hooks always see the request they
+ * belong to. Phases that did not happen are left at {@code -1}: a request
+ * on a reused connection has no DNS, connect or TLS phase, and without the
+ * shared pool only the total is measured.</p>
+ */
+public final class RequestTimings {
+
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+
+    private final RequestTimings previous;
+
+    private final long start = System.nanoTime();
+
+    private long dns = -1;
+
+    private long connect = -1;
+
+    private long tls = -1;
+
+    private long sentAt = -1;
+
+    private long headersAt = -1;
+
+    private long bodyReadAt = -1;
+
+    private long bytesSent = -1;
+
+    private long bytesReceived = -1;
+
+    private long end = -1;
+
+    private RequestTimings(RequestTimings previous) {
+        this.previous = previous;
+    }
+
+    /**
+     * Starts timing a request on this thread.
+     *
+     * @return the timings, to {@link #close()} once the response is read
+     */
+    static RequestTimings open() {
+        RequestTimings timings = new RequestTimings(CURRENT.get());
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    /**
+     * Stops the clock and makes the enclosing request, if any, current
+     * again.
+     */
+    synchronized void close() {
+        this.end = System.nanoTime();
+        if (this.previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(this.previous);
+        }
+    }
+
+    /**
+     * Records a host name lookup of the current request.
+     *
+     * @param nanos how long the lookup took
+     */
+    public static void dnsResolved(long nanos) {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.dns = add(timings.dns, nanos);
+        }
+    }
+
+    /**
+     * Records a TCP connect of the current request.
+     *
+     * @param nanos how long the connect took
+     */
+    public static void connected(long nanos) {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.connect = add(timings.connect, nanos);
+        }
+    }
+
+    /**
+     * Records a TLS handshake of the current request.
+     *
+     * @param nanos how long the handshake took
+     */
+    public static void handshaken(long nanos) {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.tls = add(timings.tls, nanos);
+        }
+    }
+
+    /**
+     * Marks the current request as about to be written.
+     *
+     * @param bodyBytes the length of the request body, or {@code -1} if
+     *        unknown
+     */
+    public static void sending(long bodyBytes) {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.sentAt = System.nanoTime();
+            timings.bytesSent = bodyBytes;
+        }
+    }
+
+    /**
+     * Marks the response headers of the current request as received.
+     */
+    public static void headersReceived() {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.headersAt = System.nanoTime();
+        }
+    }
+
+    /**
+     * Returns the request this thread is sending.
+     *
+     * @return the open timings, or {@code null} outside a request
+     */
+    public static RequestTimings current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Marks the response body as fully read; only the first call counts.
+     * The body may be read after the request is closed, so the hook holds
+     * on to the instance rather than looking it up.
+     *
+     * @param bodyBytes how many body bytes were read
+     */
+    public synchronized void bodyRead(long bodyBytes) {
+        if (this.bodyReadAt < 0 && this.end < 0) {
+            this.bodyReadAt = System.nanoTime();
+            this.bytesReceived = bodyBytes;
+        }
+    }
+
+    long dns() {
+        return this.dns;
+    }
+
+    long connect() {
+        return this.connect;
+    }
+
+    long tls() {
+        return this.tls;
+    }
+
+    /**
+     * Time to first byte: from writing the request to its response headers.
+     */
+    long ttfb() {
+        return this.sentAt < 0 || this.headersAt < 0 ? -1 : this.headersAt - this.sentAt;
+    }
+
+    /**
+     * From the response headers to the end of the body.
+     */
+    synchronized long body() {
+        return this.headersAt < 0 || this.bodyReadAt < 0 ? -1 : this.bodyReadAt - this.headersAt;
+    }
+
+    long total() {
+        return this.end < 0 ? -1 : this.end - this.start;
+    }
+
+    long bytesSent() {
+        return this.bytesSent;
+    }
+
+    synchronized long bytesReceived() {
+        return this.bytesReceived;
+    }
+
+    /**
+     * Adds {@code nanos} to a phase, so a request that tried several
+     * addresses reports the time spent on all of them.
+     */
+    private static long add(long phase, long nanos) {
+        return phase < 0 ? nanos : phase + nanos;
+    }
+}
@@ -0,0 +1,73 @@
+package APITest.utils.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * Micrometer-style timer: a count, a total and a maximum, plus a histogram
+ * for percentiles.
+ *
+ * <p>The histogram keeps two significant digits of microseconds up to ten
+ * minutes, which is precise enough for percentiles and small enough to keep
+ * one per endpoint, group and phase.</p>
+ */
+public class Timer {
+
+    private static final long HIGHEST_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private final Histogram histogram = new Histogram(HIGHEST_MICROS, 2);
+
+    private long count;
+
+    private long totalNanos;
+
+    private long maxNanos;
+
+    /**
+     * Records one duration.
+     *
+     * @param nanos the duration in nanoseconds
+     */
+    public synchronized void record(long nanos) {
+        this.count++;
+        this.totalNanos += nanos;
+        this.maxNanos = Math.max(this.maxNanos, nanos);
+        this.histogram.recordValue(Math.min(HIGHEST_MICROS, Math.max(0, nanos / 1_000)));
+    }
+
+    /**
+     * Returns the durations recorded so far.
+     *
+     * @return a snapshot of the timer
+     */
+    public synchronized Snapshot snapshot() {
+        return new Snapshot(this.count, this.totalNanos, this.maxNanos,
+            percentile(50), percentile(95), percentile(99));
+    }
+
+    /**
+     * Returns a copy of the recorded histogram.
+     *
+     * @return the durations in microseconds
+     */
+    public synchronized Histogram histogram() {
+        return this.histogram.copy();
+    }
+
+    private long percentile(double percentile) {
+        return this.count == 0 ? 0 : this.histogram.getValueAtPercentile(percentile) * 1_000;
+    }
+
+    /**
+     * Recorded durations, in nanoseconds.
+     *
+     * @param count how many durations were recorded
+     * @param totalNanos their sum
+     * @param maxNanos the longest one
+     * @param p50Nanos the median
+     * @param p95Nanos the 95th percentile
+     * @param p99Nanos the 99th percentile
+     */
+    public record Snapshot(long count, long totalNanos, long maxNanos, long p50Nanos, long p95Nanos, long p99Nanos) { }
+}
@@ -0,0 +1,122 @@
+package APITest.utils.replay;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+
+import APITest.utils.SuiteConfig;
+
+/**
+ * What a recorded exchange is looked up by.
+ *
+ * <p>The route is the method and the URI, with URIs under
+ * {@link SuiteConfig#booksBaseUri()}, {@link SuiteConfig#objectsBaseUri()}
+ * and {@link SuiteConfig#soapUri()} made relative to {@code {books}},
+ * {@code {objects}} and {@code {soap}}, so a recording made against the
+ * public APIs replays for a run configured with stubs, and the reverse. The
+ * body is reduced to two SHA-256 digests:</p>
+ * <ul>
+ *   <li>{@code body}: the normalized body, with JSON keys sorted and the
+ *   whitespace between XML elements removed;</li>
+ *   <li>{@code shape}: its structure only, with every JSON scalar replaced by
+ *   its type and XML text removed, to match requests that differ only in
+ *   generated values such as random e-mail addresses.</li>
+ * </ul>
+ * <p>Both are empty for requests without a body.</p>
+ *
+ * @param route the method and logical URI
+ * @param body digest of the normalized body
+ * @param shape digest of the body's structure
+ */
+public record ExchangeKey(String route, String body, String shape) {
+
+    private static final ObjectMapper SORTED_JSON = new ObjectMapper()
+        .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+
+    /**
+     * Computes the key of a request.
+     *
+     * @param method the HTTP method
+     * @param uri the full request URI, including the query string
+     * @param body the request body as RestAssured holds it, or {@code null}
+     * @return the lookup key
+     */
+    public static ExchangeKey of(String method, String uri, Object body) {
+        String route = method + ' ' + logical(logical(logical(uri, SuiteConfig.booksBaseUri(), "{books}"),
+            SuiteConfig.objectsBaseUri(), "{objects}"), SuiteConfig.soapUri(), "{soap}");
+        String text = body == null ? ""
+            : (body instanceof byte[] bytes ? new String(bytes, StandardCharsets.UTF_8) : body.toString()).strip();
+        if (text.isEmpty()) {
+            return new ExchangeKey(route, "", "");
+        }
+
+        if (text.startsWith("{") || text.startsWith("[")) {
+            try {
+                JsonNode tree = SORTED_JSON.readTree(text);
+                return new ExchangeKey(route, sha256(sorted(tree)), sha256(sorted(shape(tree))));
+            } catch (IOException e) {
+                return new ExchangeKey(route, sha256(text), "");
+            }
+        }
+        if (text.startsWith("<")) {
+            String xml = text.replaceAll(">\\s+<", "><");
+            return new ExchangeKey(route, sha256(xml), sha256(xml.replaceAll(">[^<]+<", "><")));
+        }
+        return new ExchangeKey(route, sha256(text), "");
+    }
+
+    private static String logical(String uri, String baseUri, String name) {
+        String base = baseUri.endsWith("/") ? baseUri.substring(0, baseUri.length() - 1) : baseUri;
+        return uri.startsWith(base) ? name + uri.substring(base.length()) : uri;
+    }
+
+    /**
+     * Replaces every scalar of {@code node} with the name of its type.
+     */
+    private static JsonNode shape(JsonNode node) {
+        if (node.isObject()) {
+            ObjectNode shape = SORTED_JSON.createObjectNode();
+            node.fields().forEachRemaining(field -> shape.set(field.getKey(), shape(field.getValue())));
+            return shape;
+        }
+        if (node.isArray()) {
+            return node.isEmpty() ? node : SORTED_JSON.createArrayNode().add(shape(node.get(0)));
+        }
+        return TextNode.valueOf(node.getNodeType().name());
+    }
+
+    private static String sorted(JsonNode tree) throws IOException {
+        return SORTED_JSON.writeValueAsString(SORTED_JSON.treeToValue(tree, Object.class));
+    }
+
+    private static String sha256(String text) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                .digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Returns {@code route} and {@code body}, the exact-match key.
+     */
+    String request() {
+        return this.route + ' ' + this.body;
+    }
+
+    /**
+     * Returns {@code route} and {@code shape}, the same-structure key.
+     */
+    String similar() {
+        return this.route + ' ' + this.shape;
+    }
+}
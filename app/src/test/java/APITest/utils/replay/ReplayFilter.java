@@ -0,0 +1,83 @@
+package APITest.utils.replay;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Records RestAssured exchanges into a {@link ReplayStore}, or answers
+ * requests from it without sending them. Requests are matched by
+ * {@link ExchangeKey}.
+ *
+ * <p>The filter runs just outside the connection-draining and
+ * request-logging filters, so in replay mode they, which only matter for
+ * real traffic, are not invoked.</p>
+ */
+public class ReplayFilter implements OrderedFilter {
+
+    private final ReplayStore store;
+
+    private final ReplayMode mode;
+
+    private final LongAdder exchanges = new LongAdder();
+
+    /**
+     * Creates a filter recording to, or replaying from, {@code store}.
+     *
+     * @param store the replay file, opened for {@code mode}
+     * @param mode {@link ReplayMode#RECORD} or {@link ReplayMode#REPLAY}
+     */
+    public ReplayFilter(ReplayStore store, ReplayMode mode) {
+        if (mode == ReplayMode.OFF) {
+            throw new IllegalArgumentException("ReplayFilter needs RECORD or REPLAY mode");
+        }
+        this.store = store;
+        this.mode = mode;
+    }
+
+    @Override
+    public int getOrder() {
+        return LOWEST_PRECEDENCE - 2;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+            FilterableResponseSpecification responseSpec, FilterContext ctx) {
+        ExchangeKey key = ExchangeKey.of(requestSpec.getMethod(), requestSpec.getURI(), requestSpec.getBody());
+
+        if (this.mode == ReplayMode.REPLAY) {
+            ReplayStore.Exchange exchange = this.store.next(key);
+            this.exchanges.increment();
+            ResponseBuilder builder = new ResponseBuilder()
+                .setStatusCode(exchange.statusCode())
+                .setStatusLine(exchange.statusLine())
+                .setHeaders(exchange.headers())
+                .setBody(exchange.bodyStream());
+            String contentType = exchange.headers().getValue("Content-Type");
+            if (contentType != null) {
+                builder.setContentType(contentType);
+            }
+            return builder.build();
+        }
+
+        Response response = ctx.next(requestSpec, responseSpec);
+        this.store.append(key, response.statusCode(), response.statusLine(), response.headers(),
+            response.asByteArray());
+        this.exchanges.increment();
+        return response;
+    }
+
+    /**
+     * Returns how many exchanges were recorded or replayed.
+     *
+     * @return the exchange count
+     */
+    public long exchanges() {
+        return this.exchanges.sum();
+    }
+}
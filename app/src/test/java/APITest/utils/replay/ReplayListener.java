@@ -0,0 +1,79 @@
+package APITest.utils.replay;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+import APITest.utils.SuiteConfig;
+import io.restassured.RestAssured;
+import io.restassured.filter.Filter;
+
+/**
+ * Records a suite's RestAssured exchanges to the replay file, or replays
+ * them from it, as selected by {@code -Dsuite.replay}.
+ *
+ * <p>Registered through {@code META-INF/services/org.testng.ITestNGListener}.
+ * A typical cycle is one networked run with {@code -Dsuite.replay=record},
+ * then any number of offline runs with {@code -Dsuite.replay=replay}; the
+ * file defaults to {@code build/replay/exchanges.rpl} and can be moved with
+ * {@code -Dsuite.replay.file}. A replay fails on requests the recording
+ * has no answer for unless {@code -Dsuite.replay.lenient=true} is
+ * given.</p>
+ */
+public class ReplayListener implements ISuiteListener {
+
+    private ReplayStore store;
+
+    private ReplayFilter filter;
+
+    private ReplayMode mode;
+
+    @Override
+    public void onStart(ISuite suite) {
+        ReplayMode mode = ReplayMode.configured();
+        if (this.store != null || mode == ReplayMode.OFF) {
+            return;
+        }
+        Path file = SuiteConfig.replayFile();
+        try {
+            if (mode == ReplayMode.REPLAY && !Files.exists(file)) {
+                throw new IllegalStateException("No replay file at " + file.toAbsolutePath()
+                    + "; record one first with -D" + SuiteConfig.REPLAY + "=record");
+            }
+            this.store = mode == ReplayMode.RECORD ? ReplayStore.forRecording(file) : ReplayStore.forReplay(file, SuiteConfig.replayLenient());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open replay file " + file, e);
+        }
+        this.mode = mode;
+        this.filter = new ReplayFilter(this.store, mode);
+        RestAssured.filters(this.filter);
+        if (mode == ReplayMode.REPLAY) {
+            System.out.println("Replaying " + this.store.size() + " exchanges from " + file);
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (this.store == null) {
+            return;
+        }
+        System.out.println("Replay (" + suite.getName() + "): " + this.filter.exchanges() + " exchanges "
+            + (this.mode == ReplayMode.RECORD ? "recorded to " : "replayed from ") + this.store.file());
+
+        List<Filter> remaining = new ArrayList<>(RestAssured.filters());
+        remaining.remove(this.filter);
+        RestAssured.replaceFiltersWith(remaining);
+        try {
+            this.store.close();
+        } catch (IOException e) {
+            System.out.println("Could not close replay file: " + e.getMessage());
+        }
+        this.store = null;
+    }
+}
@@ -0,0 +1,38 @@
+package APITest.utils.replay;
+
+import java.util.Locale;
+
+import APITest.utils.SuiteConfig;
+
+/**
+ * Whether {@link ReplayFilter} records or replays exchanges, selected with
+ * {@code -Dsuite.replay}.
+ */
+public enum ReplayMode {
+
+    /**
+     * Send every request to the network (the default).
+     */
+    OFF,
+
+    /**
+     * Send requests to the network and append every exchange to the replay
+     * file, replacing its previous content.
+     */
+    RECORD,
+
+    /**
+     * Answer requests from the replay file without touching the network.
+     */
+    REPLAY;
+
+    /**
+     * Returns the mode configured through {@link SuiteConfig#replayMode()}.
+     *
+     * @return the configured mode
+     * @throws IllegalArgumentException if the value names no mode
+     */
+    public static ReplayMode configured() {
+        return valueOf(SuiteConfig.replayMode().toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,392 @@
+package APITest.utils.replay;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import APITest.utils.SuiteConfig;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+
+/**
+ * Append-only file of recorded HTTP exchanges, memory-mapped for replay.
+ *
+ * <p>The file starts with a magic number and a version, followed by one
+ * length-prefixed entry per exchange: the {@link ExchangeKey} (route, body
+ * and shape digests), the status line, the response headers and the raw
+ * response body. Strings are UTF-8 with an
+ * {@code int} length.</p>
+ *
+ * <p>{@link #forRecording(Path)} truncates the file and appends entries as
+ * they arrive. {@link #forReplay(Path)} maps the whole file read-only and
+ * indexes it in one pass; replayed bodies are read-only slices of the
+ * mapping, so serving them copies nothing onto the heap. Files are limited
+ * to 2 GB, the size of a single mapping.</p>
+ *
+ * <p>A replay serves every recorded exchange once and fails on a request it
+ * has no answer left for, so a run that drifted from the recording, e.g.
+ * by sending a body that should now be rejected, fails instead of passing
+ * against a recorded answer to another request. A lenient store, see
+ * {@link SuiteConfig#replayLenient()}, also answers from any exchange of
+ * the route and repeats the last one instead.</p>
+ *
+ * <p>Both modes are safe for concurrent use.</p>
+ */
+public final class ReplayStore implements AutoCloseable {
+
+    /**
+     * {@code "RPLY"} in ASCII.
+     */
+    private static final int MAGIC = 0x52504C59;
+
+    private static final int VERSION = 1;
+
+    private final Path file;
+
+    private final FileChannel channel;
+
+    private final boolean lenient;
+
+    private final Map<String, Recorded> byRequest = new HashMap<>();
+
+    private final Map<String, Recorded> bySimilar = new HashMap<>();
+
+    private final Map<String, Recorded> byRoute = new HashMap<>();
+
+    private int size;
+
+    private ReplayStore(Path file, FileChannel channel, boolean lenient) {
+        this.file = file;
+        this.channel = channel;
+        this.lenient = lenient;
+    }
+
+    /**
+     * Creates, or empties, {@code file} and returns a store appending to it.
+     *
+     * @param file the replay file
+     * @return a store in recording mode
+     * @throws IOException if the file cannot be created
+     */
+    public static ReplayStore forRecording(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING);
+        ByteBuffer header = ByteBuffer.allocate(8).putInt(MAGIC).putInt(VERSION).flip();
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+        return new ReplayStore(file, channel, false);
+    }
+
+    /**
+     * Maps {@code file} and indexes every exchange in it.
+     *
+     * @param file a file written by a recording store
+     * @param lenient whether to answer from any exchange of the route, and
+     *                repeat the last exchange, when no unused exchange for
+     *                the request is left
+     * @return a store in replay mode
+     * @throws IOException if the file cannot be read or is not a replay file
+     */
+    public static ReplayStore forReplay(Path file, boolean lenient) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        ReplayStore store = new ReplayStore(file, channel, lenient);
+        try {
+            store.index(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        return store;
+    }
+
+    /**
+     * Appends one exchange.
+     *
+     * @param key the key of the request
+     * @param statusCode the response status code
+     * @param statusLine the response status line
+     * @param headers the response headers
+     * @param body the raw response body
+     */
+    public void append(ExchangeKey key, int statusCode, String statusLine, Headers headers, byte[] body) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(body.length + 512);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(0);
+            writeString(out, key.route());
+            writeString(out, key.body());
+            writeString(out, key.shape());
+            out.writeShort(statusCode);
+            writeString(out, statusLine == null ? "" : statusLine);
+            out.writeInt(headers.size());
+            for (Header header : headers) {
+                writeString(out, header.getName());
+                writeString(out, header.getValue());
+            }
+            out.writeInt(body.length);
+            out.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        ByteBuffer entry = ByteBuffer.wrap(bytes.toByteArray());
+        entry.putInt(0, entry.capacity() - Integer.BYTES);
+        synchronized (this) {
+            try {
+                while (entry.hasRemaining()) {
+                    this.channel.write(entry);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot append to " + this.file, e);
+            }
+            this.size++;
+        }
+    }
+
+    /**
+     * Returns the next recorded answer to a request.
+     *
+     * <p>Exchanges recorded for the same route and body are served in the
+     * order they were recorded, each once. When none is left, e.g. because
+     * the body held generated data, an unused exchange for a body of the
+     * same shape is served. A lenient store then falls back to the unused
+     * exchanges of the route and finally repeats the last matching
+     * exchange.</p>
+     *
+     * @param key the key of the request
+     * @return the recorded exchange
+     * @throws IllegalStateException if no recorded exchange answers the
+     *         request, naming its route and why
+     */
+    public Exchange next(ExchangeKey key) {
+        Recorded exact = this.byRequest.get(key.request());
+        Recorded similar = this.bySimilar.get(key.similar());
+        Recorded route = this.byRoute.get(key.route());
+        Exchange exchange = claim(exact, similar);
+        if (exchange == null && this.lenient) {
+            exchange = claim(route);
+            if (exchange == null) {
+                Recorded last = exact != null ? exact : similar != null ? similar : route;
+                exchange = last == null ? null : last.last();
+            }
+        }
+        if (exchange != null) {
+            return exchange;
+        }
+
+        if (route == null) {
+            throw new IllegalStateException("No recording for " + key.route() + " in " + this.file);
+        }
+        if (exact == null && similar == null) {
+            throw new IllegalStateException("No recording for " + key.route() + " with this body in " + this.file
+                + ": the " + route.size() + " exchange(s) recorded for the route had other bodies; pass -D"
+                + SuiteConfig.REPLAY_LENIENT + "=true to answer with them");
+        }
+        throw new IllegalStateException("No recording left for " + key.route() + " in " + this.file + ": its "
+            + (exact != null ? exact : similar).size() + " recorded exchange(s) were already replayed; pass -D"
+            + SuiteConfig.REPLAY_LENIENT + "=true to repeat the last one");
+    }
+
+    /**
+     * Returns the number of exchanges recorded, or loaded for replay.
+     *
+     * @return the number of exchanges
+     */
+    public synchronized int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns the replay file.
+     *
+     * @return the file backing this store
+     */
+    public Path file() {
+        return this.file;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+
+    private void index(MappedByteBuffer mapped) throws IOException {
+        try {
+            if (mapped.getInt() != MAGIC || mapped.getInt() != VERSION) {
+                throw new IOException(this.file + " is not a version " + VERSION + " replay file");
+            }
+            while (mapped.hasRemaining()) {
+                int end = mapped.getInt() + mapped.position();
+                ExchangeKey key = new ExchangeKey(readString(mapped), readString(mapped), readString(mapped));
+                int status = mapped.getShort() & 0xFFFF;
+                String statusLine = readString(mapped);
+                List<Header> headers = new ArrayList<>();
+                for (int count = mapped.getInt(); count > 0; count--) {
+                    headers.add(new Header(readString(mapped), readString(mapped)));
+                }
+                int length = mapped.getInt();
+                Exchange exchange = new Exchange(status, statusLine, new Headers(headers),
+                    mapped.slice(mapped.position(), length).asReadOnlyBuffer());
+                mapped.position(end);
+
+                Entry entry = new Entry(exchange, new AtomicBoolean());
+                this.byRequest.computeIfAbsent(key.request(), k -> new Recorded()).add(entry);
+                this.bySimilar.computeIfAbsent(key.similar(), k -> new Recorded()).add(entry);
+                this.byRoute.computeIfAbsent(key.route(), k -> new Recorded()).add(entry);
+                this.size++;
+            }
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException
+                | NegativeArraySizeException e) {
+            throw new IOException(this.file + " is truncated or corrupt", e);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * A recorded response; {@link #body()} is a view into the mapped file.
+     *
+     * @param statusCode the response status code
+     * @param statusLine the response status line
+     * @param headers the response headers
+     * @param body the response body
+     */
+    public record Exchange(int statusCode, String statusLine, Headers headers, ByteBuffer body) {
+
+        /**
+         * Returns a stream over the body that reads straight from the
+         * mapping.
+         *
+         * @return a new stream positioned at the start of the body
+         */
+        public InputStream bodyStream() {
+            return new BufferInputStream(this.body.duplicate());
+        }
+    }
+
+    /**
+     * Claims the first unused exchange of the first candidates that have
+     * one.
+     *
+     * @return the claimed exchange, or {@code null} if none is left
+     */
+    private static Exchange claim(Recorded... candidates) {
+        for (Recorded recorded : candidates) {
+            Exchange exchange = recorded == null ? null : recorded.claim();
+            if (exchange != null) {
+                return exchange;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * A recorded exchange and whether a replay already served it; shared by
+     * the indexes, so serving it through one uses it up for all of them.
+     */
+    private record Entry(Exchange exchange, AtomicBoolean served) { }
+
+    /**
+     * The exchanges sharing a key, in recording order.
+     */
+    private static final class Recorded {
+
+        private final List<Entry> entries = new ArrayList<>();
+
+        /**
+         * Every entry before this index has been served.
+         */
+        private final AtomicInteger unserved = new AtomicInteger();
+
+        void add(Entry entry) {
+            this.entries.add(entry);
+        }
+
+        int size() {
+            return this.entries.size();
+        }
+
+        /**
+         * Serves the first entry not served yet.
+         *
+         * @return its exchange, or {@code null} if all were served
+         */
+        Exchange claim() {
+            for (int i = this.unserved.get(); i < this.entries.size(); i++) {
+                Entry entry = this.entries.get(i);
+                if (entry.served().compareAndSet(false, true)) {
+                    this.unserved.accumulateAndGet(i + 1, Math::max);
+                    return entry.exchange();
+                }
+            }
+            return null;
+        }
+
+        Exchange last() {
+            return this.entries.get(this.entries.size() - 1).exchange();
+        }
+    }
+
+    /**
+     * {@link InputStream} over a {@link ByteBuffer}.
+     */
+    private static final class BufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        BufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return this.buffer.hasRemaining() ? this.buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!this.buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, this.buffer.remaining());
+            this.buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return this.buffer.remaining();
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package APITest.utils.schedule;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import APITest.utils.SuiteConfig;
+import APITest.utils.async.ContextExecutor;
+import APITest.utils.data.DataStream;
+import APITest.utils.logging.RequestLog;
+import APITest.utils.metrics.HttpMetrics;
+
+/**
+ * Runs a class's fixtures, such as created records or a bearer token, as a
+ * graph of tasks with explicit data dependencies.
+ *
+ * <p>Tasks are declared with the tasks whose results they take, then
+ * {@link #start() started} together, typically from {@code @BeforeClass}:
+ * every task without inputs begins at once, and each dependent task as
+ * soon as its inputs are ready. Tests
+ * {@link Task#await() await} only the results they use, so a test is held
+ * back by its own inputs rather than by every fixture declared before it,
+ * and fixture round trips overlap each other and the tests that need
+ * none:</p>
+ * <pre>{@code
+ * TaskGraph fixtures = new TaskGraph("orders");
+ * Task<String> token = fixtures.add("token", tokens::token);
+ * Task<String> order = fixtures.add("order", token, this::placeOrder);
+ * fixtures.start();
+ *
+ * @Test public void cancelOrder() { this.cancel(order.await()); }
+ * }</pre>
+ *
+ * <p>Tasks run on a {@link ContextExecutor} allowing {@code maxInFlight} of
+ * them at once, with the test group of the thread that started the graph
+ * and their own {@link DataStream}, keyed by graph and task name. Each task
+ * records its requests into a {@link RequestLog} of its own, which
+ * {@link Task#await()} appends to the awaiting method's log together with
+ * those of the task's inputs, so a test failing on a fixture prints the
+ * fixture's requests even though the graph was started from
+ * {@code @BeforeClass}. A failed task
+ * fails the tasks that depend on it without running them. Instances are
+ * thread-safe.</p>
+ */
+public final class TaskGraph {
+
+    private final String name;
+
+    private final ContextExecutor executor;
+
+    private final CompletableFuture<Void> started = new CompletableFuture<>();
+
+    private final Set<String> names = new HashSet<>();
+
+    private volatile String group;
+
+    /**
+     * Creates a graph running up to {@link SuiteConfig#httpMaxPerRoute()}
+     * tasks at once.
+     *
+     * @param name the graph name, e.g. the test class, used in data stream
+     *             keys and error messages
+     */
+    public TaskGraph(String name) {
+        this(name, SuiteConfig.httpMaxPerRoute());
+    }
+
+    /**
+     * Creates a graph.
+     *
+     * @param name the graph name, e.g. the test class, used in data stream
+     *             keys and error messages
+     * @param maxInFlight how many tasks may run at once
+     */
+    public TaskGraph(String name, int maxInFlight) {
+        this.name = name;
+        this.executor = new ContextExecutor(maxInFlight);
+    }
+
+    /**
+     * A declared task and, once it has run, its result.
+     *
+     * @param <T> the result type
+     */
+    public static final class Task<T> {
+
+        private final String name;
+
+        private final CompletableFuture<Void> started;
+
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+
+        private final List<Task<?>> inputs;
+
+        private final RequestLog log = RequestLog.detached();
+
+        /**
+         * The logs this task's requests were appended to, so awaiting it
+         * twice from one method does not print them twice.
+         */
+        private final Set<RequestLog> reportedTo = Collections.newSetFromMap(new WeakHashMap<>());
+
+        private Task(String name, CompletableFuture<Void> started, List<Task<?>> inputs) {
+            this.name = name;
+            this.started = started;
+            this.inputs = inputs;
+        }
+
+        /**
+         * Returns the task name.
+         *
+         * @return the name given to {@link TaskGraph#add}
+         */
+        public String name() {
+            return this.name;
+        }
+
+        /**
+         * Returns whether the task has completed, normally or not.
+         *
+         * @return {@code true} once a result or failure is available
+         */
+        public boolean isDone() {
+            return this.result.isDone();
+        }
+
+        /**
+         * Waits for the task and returns its result. The requests of the
+         * task and of its completed inputs are appended to the calling
+         * thread's {@link RequestLog}, if one is open.
+         *
+         * @return the result
+         * @throws RuntimeException or {@link Error}: whatever the task threw,
+         *         e.g. the {@code AssertionError} of a failed status check,
+         *         or an {@link IllegalStateException} if an input failed or
+         *         the graph was never started
+         */
+        public T await() {
+            if (!this.started.isDone()) {
+                throw new IllegalStateException("Task '" + this.name + "' awaited before its graph was started");
+            }
+            try {
+                return this.result.join();
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException runtime) {
+                    throw runtime;
+                }
+                if (cause instanceof Error error) {
+                    throw error;
+                }
+                throw new IllegalStateException("Task '" + this.name + "' failed", cause);
+            } finally {
+                this.reportTo(RequestLog.current());
+            }
+        }
+
+        /**
+         * Appends the requests of this task's completed inputs, then its
+         * own, to {@code target}, each task's at most once.
+         */
+        private void reportTo(RequestLog target) {
+            if (target == null || !this.result.isDone()) {
+                return;
+            }
+            for (Task<?> input : this.inputs) {
+                input.reportTo(target);
+            }
+            synchronized (this.reportedTo) {
+                if (!this.reportedTo.add(target)) {
+                    return;
+                }
+            }
+            this.log.appendTo(target);
+        }
+    }
+
+    /**
+     * Declares a task without inputs.
+     *
+     * @param name the task name, unique within the graph
+     * @param work the task
+     * @param <T> the result type
+     * @return the task, to await or pass as an input
+     */
+    public <T> Task<T> add(String name, Supplier<T> work) {
+        return this.schedule(name, List.of(), work);
+    }
+
+    /**
+     * Declares a task taking the result of {@code input}.
+     *
+     * @param name the task name, unique within the graph
+     * @param input the task whose result is needed
+     * @param work the task
+     * @param <A> the input type
+     * @param <T> the result type
+     * @return the task, to await or pass as an input
+     */
+    public <A, T> Task<T> add(String name, Task<A> input, Function<? super A, ? extends T> work) {
+        return this.schedule(name, List.of(input), () -> work.apply(input.result.join()));
+    }
+
+    /**
+     * Declares a task taking the results of {@code first} and
+     * {@code second}.
+     *
+     * @param name the task name, unique within the graph
+     * @param first the first task whose result is needed
+     * @param second the second task whose result is needed
+     * @param work the task
+     * @param <A> the first input type
+     * @param <B> the second input type
+     * @param <T> the result type
+     * @return the task, to await or pass as an input
+     */
+    public <A, B, T> Task<T> add(String name, Task<A> first, Task<B> second,
+            BiFunction<? super A, ? super B, ? extends T> work) {
+        return this.schedule(name, List.of(first, second),
+            () -> work.apply(first.result.join(), second.result.join()));
+    }
+
+    /**
+     * Starts every task whose inputs are ready, i.e. those without inputs.
+     * Tasks declared afterwards start as soon as their inputs are ready.
+     *
+     * @return this graph
+     */
+    public TaskGraph start() {
+        this.group = HttpMetrics.currentGroup();
+        this.started.complete(null);
+        return this;
+    }
+
+    private synchronized <T> Task<T> schedule(String name, List<Task<?>> inputs, Supplier<? extends T> work) {
+        Objects.requireNonNull(work, "work");
+        if (!this.names.add(name)) {
+            throw new IllegalArgumentException("Task '" + name + "' is already declared in graph '" + this.name + "'");
+        }
+        Task<T> task = new Task<>(name, this.started, inputs);
+
+        CompletableFuture<?>[] ready = new CompletableFuture<?>[inputs.size() + 1];
+        ready[0] = this.started;
+        for (int i = 0; i < inputs.size(); i++) {
+            ready[i + 1] = inputs.get(i).result;
+        }
+        CompletableFuture.allOf(ready).whenComplete((ignored, failure) -> {
+            if (failure == null) {
+                this.run(task, work);
+                return;
+            }
+            String failed = inputs.stream()
+                .filter(input -> input.result.isCompletedExceptionally())
+                .map(input -> "'" + input.name + "'")
+                .findFirst()
+                .orElse("an input");
+            task.result.completeExceptionally(new IllegalStateException("Task '" + name + "' of graph '"
+                + this.name + "' did not run: " + failed + " failed",
+                failure instanceof CompletionException ? failure.getCause() : failure));
+        });
+        return task;
+    }
+
+    private <T> void run(Task<T> task, Supplier<? extends T> work) {
+        this.executor.<T>supply(this.group, task.log, this.name + "/" + task.name, work)
+            .whenComplete((value, failure) -> {
+                if (failure == null) {
+                    task.result.complete(value);
+                } else {
+                    task.result.completeExceptionally(failure);
+                }
+            });
+    }
+}
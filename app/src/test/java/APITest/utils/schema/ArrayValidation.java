@@ -0,0 +1,50 @@
+package APITest.utils.schema;
+
+import java.util.List;
+
+/**
+ * Outcome of validating a JSON array item by item with
+ * {@link SchemaRegistry#validateArray}.
+ *
+ * @param schema classpath location of the array schema
+ * @param items number of items read from the body
+ * @param violations the invalid items found, in body order
+ * @param aborted whether reading stopped early after the maximum number of
+ *        violations, leaving the rest of the body unchecked
+ */
+public record ArrayValidation(String schema, long items, List<Violation> violations, boolean aborted) {
+
+    /**
+     * Returns whether every item of the body matched the schema.
+     *
+     * @return {@code true} if there is no violation
+     */
+    public boolean isValid() {
+        return this.violations.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder(String.format("%s: %d items read, %d violations%s",
+            this.schema, this.items, this.violations.size(), this.aborted ? " (aborted)" : ""));
+        for (Violation violation : this.violations) {
+            text.append(System.lineSeparator()).append("  ").append(violation);
+        }
+        return text.toString();
+    }
+
+    /**
+     * An item, or the body itself, that did not match the schema.
+     *
+     * @param index position of the item in the array, or {@code -1} when the
+     *        body is not an array
+     * @param message the validation messages
+     */
+    public record Violation(long index, String message) {
+
+        @Override
+        public String toString() {
+            return (this.index < 0 ? "body" : "[" + this.index + "]") + ": " + this.message;
+        }
+    }
+}
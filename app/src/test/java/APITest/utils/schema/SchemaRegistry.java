@@ -0,0 +1,355 @@
+package APITest.utils.schema;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.HdrHistogram.Histogram;
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+import org.hamcrest.TypeSafeMatcher;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.fge.jackson.JacksonUtils;
+import com.github.fge.jackson.JsonLoader;
+import com.github.fge.jsonschema.core.exceptions.ProcessingException;
+import com.github.fge.jsonschema.core.report.ProcessingMessage;
+import com.github.fge.jsonschema.core.report.ProcessingReport;
+import com.github.fge.jsonschema.main.JsonSchema;
+import com.github.fge.jsonschema.main.JsonSchemaFactory;
+
+import APITest.utils.SuiteConfig;
+import APITest.utils.schema.ArrayValidation.Violation;
+
+/**
+ * Compiled JSON Schemas shared by every test of the suite.
+ *
+ * <p>RestAssured's {@code JsonSchemaValidator.matchesJsonSchemaInClasspath}
+ * builds a new {@link JsonSchemaFactory} and reloads the schema each time a
+ * body is checked. The registry keeps one factory and loads each schema
+ * under {@code src/test/resources/schemas} on first use only; the resulting
+ * {@link JsonSchema} is immutable and validates concurrently, so parallel
+ * tests and load runs share it without locking.</p>
+ *
+ * <p>{@link #matchesJsonSchemaInClasspath(String)} is a drop-in replacement
+ * for RestAssured's matcher, with the same checked validation. Every
+ * validation is counted and timed; see {@link #stats()}, which
+ * {@link SchemaStatsListener} prints when the suite finishes.</p>
+ *
+ * <p>For very large array bodies, {@link #validateArray(String, InputStream)}
+ * checks one item at a time straight from the response stream instead of
+ * parsing the whole body into a tree first.</p>
+ */
+public final class SchemaRegistry {
+
+    private static final SchemaRegistry SHARED = new SchemaRegistry(JsonSchemaFactory.byDefault());
+
+    /**
+     * Parses items the way {@link JsonLoader} parses whole bodies, with
+     * decimals read as {@code BigDecimal}.
+     */
+    private static final ObjectMapper MAPPER = JacksonUtils.newMapper();
+
+    private final JsonSchemaFactory factory;
+
+    private final Map<String, Entry> schemas = new ConcurrentHashMap<>();
+
+    private final Map<String, JsonSchema> itemSchemas = new ConcurrentHashMap<>();
+
+    private final AtomicInteger compilations = new AtomicInteger();
+
+    /**
+     * Creates a registry compiling schemas with {@code factory}.
+     *
+     * @param factory the factory used to load and compile schemas
+     */
+    public SchemaRegistry(JsonSchemaFactory factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * Returns the registry shared by the whole suite.
+     *
+     * @return the shared registry
+     */
+    public static SchemaRegistry shared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns a matcher validating a JSON body against the classpath schema
+     * {@code path} of the {@link #shared()} registry.
+     *
+     * @param path classpath location, e.g. {@code schemas/books-schema.json}
+     * @return a matcher for {@code ValidatableResponse.body(...)}
+     */
+    public static Matcher<String> matchesJsonSchemaInClasspath(String path) {
+        return SHARED.matcher(path);
+    }
+
+    /**
+     * Returns a matcher validating a JSON body against the classpath schema
+     * {@code path}, which is loaded and compiled on first use.
+     *
+     * @param path classpath location of the schema
+     * @return a matcher for {@code ValidatableResponse.body(...)}
+     */
+    public Matcher<String> matcher(String path) {
+        return new SchemaMatcher(path, this.entry(path));
+    }
+
+    /**
+     * Validates {@code instance} against the classpath schema {@code path}
+     * and records the outcome in {@link #stats()}.
+     *
+     * @param path classpath location of the schema
+     * @param instance the JSON document to validate
+     * @return the validation report
+     */
+    public ProcessingReport validate(String path, JsonNode instance) {
+        Entry entry = this.entry(path);
+        long start = System.nanoTime();
+        ProcessingReport report = entry.validate(instance);
+        entry.record(System.nanoTime() - start, report.isSuccess());
+        return report;
+    }
+
+    /**
+     * Validates a JSON array body item by item against the {@code items}
+     * of the classpath schema {@code path}, stopping after
+     * {@code suite.schema.maxViolations} invalid items.
+     *
+     * @param path classpath location of an array schema
+     * @param body the response body; it is closed on return
+     * @return the items read and the violations found
+     * @throws IOException if the body cannot be read or is not well-formed JSON
+     * @see #validateArray(String, InputStream, int)
+     */
+    public ArrayValidation validateArray(String path, InputStream body) throws IOException {
+        return this.validateArray(path, body, SuiteConfig.schemaMaxViolations());
+    }
+
+    /**
+     * Validates a JSON array body item by item against the {@code items}
+     * of the classpath schema {@code path}.
+     *
+     * <p>Only one item is held in memory at a time, so memory use does not
+     * grow with the size of the array. Reading stops as soon as
+     * {@code maxViolations} invalid items were found. Keywords that apply to
+     * the array as a whole, such as {@code minItems} or
+     * {@code uniqueItems}, are not checked. The outcome is recorded in
+     * {@link #stats()} as one validation of {@code path}.</p>
+     *
+     * @param path classpath location of an array schema
+     * @param body the response body; it is closed on return
+     * @param maxViolations number of invalid items after which to stop
+     * @return the items read and the violations found
+     * @throws IOException if the body cannot be read or is not well-formed JSON
+     */
+    public ArrayValidation validateArray(String path, InputStream body, int maxViolations) throws IOException {
+        Entry entry = this.entry(path);
+        JsonSchema items = this.itemSchemas.computeIfAbsent(path, this::loadItems);
+
+        long start = System.nanoTime();
+        List<Violation> violations = new ArrayList<>();
+        long count = 0;
+        boolean aborted = false;
+        try (JsonParser parser = MAPPER.getFactory().createParser(body)) {
+            JsonToken token = parser.nextToken();
+            if (token != JsonToken.START_ARRAY) {
+                violations.add(new Violation(-1, "expected a JSON array but found " + token));
+            } else {
+                while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                    if (token == null) {
+                        throw new EOFException("Body ended inside the array after " + count + " items");
+                    }
+                    ProcessingReport report = Entry.validate(items, MAPPER.readTree(parser));
+                    if (!report.isSuccess()) {
+                        violations.add(new Violation(count, messages(report)));
+                    }
+                    count++;
+                    if (violations.size() >= maxViolations) {
+                        aborted = parser.nextToken() != JsonToken.END_ARRAY;
+                        break;
+                    }
+                }
+            }
+        }
+        entry.record(System.nanoTime() - start, violations.isEmpty());
+        return new ArrayValidation(path, count, List.copyOf(violations), aborted);
+    }
+
+    /**
+     * Returns the validation figures of every schema used so far, by path.
+     *
+     * @return point-in-time statistics, sorted by schema path
+     */
+    public Map<String, SchemaStats> stats() {
+        Map<String, SchemaStats> stats = new TreeMap<>();
+        this.schemas.forEach((path, entry) -> stats.put(path, entry.summarize(path)));
+        return stats;
+    }
+
+    /**
+     * Returns how many schemas the registry compiled, counting the
+     * {@code items} schemas of {@link #validateArray} separately. Each is
+     * compiled once, however often it validates.
+     *
+     * @return the number of compiled schemas
+     */
+    public int compilations() {
+        return this.compilations.get();
+    }
+
+    private Entry entry(String path) {
+        return this.schemas.computeIfAbsent(path, this::load);
+    }
+
+    /**
+     * Loads {@code path} by URI rather than as a parsed node, so relative
+     * {@code $ref}s resolve against the schema's own location, as they do
+     * with RestAssured's matcher.
+     */
+    private Entry load(String path) {
+        try {
+            this.compilations.incrementAndGet();
+            return new Entry(this.factory.getJsonSchema(uri(path)));
+        } catch (ProcessingException e) {
+            throw new IllegalArgumentException("Cannot load schema " + path, e);
+        }
+    }
+
+    /**
+     * Compiles the {@code items} subschema of {@code path} through a JSON
+     * Pointer fragment, so it keeps the schema's base URI.
+     */
+    private JsonSchema loadItems(String path) {
+        String uri = uri(path);
+        try {
+            if (!JsonLoader.fromURL(URI.create(uri).toURL()).path("items").isObject()) {
+                throw new IllegalArgumentException(path + " does not declare a single items schema");
+            }
+            this.compilations.incrementAndGet();
+            return this.factory.getJsonSchema(uri + "#/items");
+        } catch (IOException | ProcessingException e) {
+            throw new IllegalArgumentException("Cannot load schema " + path, e);
+        }
+    }
+
+    private static String uri(String path) {
+        URL url = Thread.currentThread().getContextClassLoader().getResource(path);
+        if (url == null) {
+            throw new IllegalArgumentException("Schema not found on the classpath: " + path);
+        }
+        try {
+            return url.toURI().toString();
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException("Invalid schema location " + url, e);
+        }
+    }
+
+    private static String messages(ProcessingReport report) {
+        List<String> messages = new ArrayList<>();
+        for (ProcessingMessage message : report) {
+            String pointer = message.asJson().path("instance").path("pointer").asText();
+            messages.add(pointer.isEmpty() ? message.getMessage() : pointer + " " + message.getMessage());
+        }
+        return String.join("; ", messages);
+    }
+
+    /**
+     * A compiled schema and its validation timings.
+     */
+    private static final class Entry {
+
+        private final JsonSchema schema;
+
+        private final Histogram histogram = new Histogram(3);
+
+        private long failures;
+
+        Entry(JsonSchema schema) {
+            this.schema = schema;
+        }
+
+        ProcessingReport validate(JsonNode instance) {
+            return validate(this.schema, instance);
+        }
+
+        static ProcessingReport validate(JsonSchema schema, JsonNode instance) {
+            try {
+                return schema.validate(instance);
+            } catch (ProcessingException e) {
+                throw new IllegalStateException("Schema validation could not run", e);
+            }
+        }
+
+        synchronized void record(long nanos, boolean success) {
+            this.histogram.recordValue(nanos);
+            if (!success) {
+                this.failures++;
+            }
+        }
+
+        synchronized SchemaStats summarize(String path) {
+            return new SchemaStats(path, this.histogram.getTotalCount(), this.failures,
+                this.histogram.getValueAtPercentile(50), this.histogram.getValueAtPercentile(99),
+                this.histogram.getMaxValue());
+        }
+    }
+
+    /**
+     * Hamcrest matcher over a cached schema. A body that is not JSON throws,
+     * as it does with RestAssured's matcher.
+     */
+    private static final class SchemaMatcher extends TypeSafeMatcher<String> {
+
+        private final String path;
+
+        private final Entry entry;
+
+        private ProcessingReport report;
+
+        SchemaMatcher(String path, Entry entry) {
+            this.path = path;
+            this.entry = entry;
+        }
+
+        @Override
+        protected boolean matchesSafely(String content) {
+            long start = System.nanoTime();
+            JsonNode instance;
+            try {
+                instance = JsonLoader.fromString(content);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Response body is not valid JSON", e);
+            }
+            this.report = this.entry.validate(instance);
+            this.entry.record(System.nanoTime() - start, this.report.isSuccess());
+            return this.report.isSuccess();
+        }
+
+        @Override
+        public void describeTo(Description description) {
+            description.appendText("a JSON body matching ").appendText(this.path);
+        }
+
+        @Override
+        protected void describeMismatchSafely(String content, Description description) {
+            description.appendText("the schema validation reported ").appendText(String.valueOf(this.report));
+        }
+    }
+}
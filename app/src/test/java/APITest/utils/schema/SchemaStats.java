@@ -0,0 +1,21 @@
+package APITest.utils.schema;
+
+/**
+ * Validation figures for one schema of the {@link SchemaRegistry};
+ * timings are in nanoseconds and cover parsing plus validation of the body.
+ *
+ * @param schema classpath location of the schema
+ * @param validations number of bodies validated
+ * @param failures number of bodies that did not match the schema
+ * @param p50 median validation time
+ * @param p99 99th percentile validation time
+ * @param max slowest validation
+ */
+public record SchemaStats(String schema, long validations, long failures, long p50, long p99, long max) {
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d validations, %d failures, p50 %.2f ms, p99 %.2f ms, max %.2f ms",
+            this.schema, this.validations, this.failures, this.p50 / 1e6, this.p99 / 1e6, this.max / 1e6);
+    }
+}
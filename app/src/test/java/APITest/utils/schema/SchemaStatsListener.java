@@ -0,0 +1,27 @@
+package APITest.utils.schema;
+
+import java.util.Map;
+
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+/**
+ * Prints the validation figures of the {@link SchemaRegistry#shared()
+ * shared schema registry} when the suite finishes, one line per schema.
+ *
+ * <p>Registered through {@code META-INF/services/org.testng.ITestNGListener}.
+ * Suites that validated no body print nothing.</p>
+ */
+public class SchemaStatsListener implements ISuiteListener {
+
+    @Override
+    public void onFinish(ISuite suite) {
+        Map<String, SchemaStats> stats = SchemaRegistry.shared().stats();
+        if (stats.isEmpty()) {
+            return;
+        }
+        System.out.println("JSON schemas (" + suite.getName() + "): " + SchemaRegistry.shared().compilations()
+            + " compiled");
+        stats.values().forEach(schema -> System.out.println("  " + schema));
+    }
+}
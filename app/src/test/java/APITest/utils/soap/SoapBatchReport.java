@@ -0,0 +1,97 @@
+package APITest.utils.soap;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import APITest.utils.load.EndpointStats;
+
+/**
+ * Outcome of a {@link SoapBatchRunner} run: how many inputs passed, why the
+ * others failed, a few failing inputs for diagnosis and the request latency.
+ *
+ * @param operation the SOAP operation swept
+ * @param transport the transport the requests went through
+ * @param maxInFlight the cap on concurrent requests
+ * @param elapsed wall-clock time of the run
+ * @param inputs number of inputs sent
+ * @param passed number of inputs whose result passed the check
+ * @param failures number of failed inputs per outcome; passing outcomes are
+ *        not listed
+ * @param samples the first failing inputs with what went wrong
+ * @param latency latency summary of every request, in nanoseconds
+ */
+public record SoapBatchReport(String operation, String transport, int maxInFlight, Duration elapsed, long inputs,
+        long passed, Map<Outcome, Long> failures, List<String> samples, EndpointStats.Summary latency) {
+
+    /**
+     * What happened to one input.
+     */
+    public enum Outcome {
+        /** The result was present and passed the check. */
+        PASSED,
+        /** The request failed before a response arrived. */
+        TRANSPORT_ERROR,
+        /** The response was a SOAP fault. */
+        FAULT,
+        /** The status was not {@code 200} and the body was not a fault. */
+        HTTP_STATUS,
+        /** The body was not well-formed XML. */
+        MALFORMED,
+        /** The response had no result element. */
+        MISSING_RESULT,
+        /** The result failed the check. */
+        MISMATCH
+    }
+
+    /**
+     * Returns the number of inputs that did not pass.
+     *
+     * @return {@code inputs - passed}
+     */
+    public long failed() {
+        return this.inputs - this.passed;
+    }
+
+    /**
+     * Returns the fraction of inputs that did not pass.
+     *
+     * @return failed inputs divided by inputs, or {@code 0} without inputs
+     */
+    public double failureRatio() {
+        return this.inputs == 0 ? 0 : (double) this.failed() / this.inputs;
+    }
+
+    /**
+     * Returns completed inputs per second.
+     *
+     * @return the sweep throughput
+     */
+    public double inputsPerSecond() {
+        return this.inputs / (Math.max(this.elapsed.toNanos(), 1) / 1_000_000_000.0);
+    }
+
+    /**
+     * Renders the report as a summary line, a latency row, the failure
+     * counts and the failure samples.
+     */
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("%nSOAP sweep %s (%s, max %d in flight) - %d inputs, %d passed, %d failed, "
+                + "%.1f inputs/s over %.1fs%n", this.operation, this.transport, this.maxInFlight, this.inputs,
+            this.passed, this.failed(), this.inputsPerSecond(), this.elapsed.toNanos() / 1_000_000_000.0));
+        out.append(String.format("%9s %9s %9s %9s%n", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        out.append(String.format("%9.2f %9.2f %9.2f %9.2f%n", millis(this.latency.p50()),
+            millis(this.latency.p95()), millis(this.latency.p99()), millis(this.latency.max())));
+        this.failures.forEach((outcome, count) -> out.append(String.format("%-16s %d%n", outcome, count)));
+        for (String sample : this.samples) {
+            out.append("  ").append(sample).append(System.lineSeparator());
+        }
+        return out.toString();
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,272 @@
+package APITest.utils.soap;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiPredicate;
+import java.util.stream.Stream;
+
+import APITest.utils.SuiteConfig;
+import APITest.utils.http.Transport;
+import APITest.utils.http.TransportRequest;
+import APITest.utils.http.TransportResponse;
+import APITest.utils.load.EndpointStats;
+import APITest.utils.soap.SoapBatchReport.Outcome;
+
+/**
+ * Sends one SOAP call per input value and aggregates the results, for
+ * sweeping an operation over far more inputs than TestNG could run as
+ * separate test methods or data-provider rows.
+ *
+ * <p>Inputs are pulled lazily from an iterator or stream, rendered into a
+ * {@link SoapTemplate} and sent through a {@link Transport}, so they share
+ * its pooled connections. At most {@code maxInFlight} requests are
+ * outstanding; the next input is only read once one completes, so memory use
+ * does not depend on the number of inputs. Each response is read with
+ * {@link SoapReader} and its result element passed to a check:</p>
+ * <pre>{@code
+ * SoapBatchReport report = new SoapBatchRunner<Long>(transport, SuiteConfig.soapUri(),
+ *         SoapEnvelope.request(namespace, "NumberToWords").template("ubiNum"))
+ *     .expecting("NumberToWordsResult", (number, words) -> !words.isBlank())
+ *     .run(LongStream.range(0, 1_000_000).boxed());
+ * }</pre>
+ *
+ * <p>Only counters, a latency histogram and the first few failing inputs are
+ * kept, never the responses themselves.</p>
+ *
+ * @param <T> the type of the input values
+ */
+public class SoapBatchRunner<T> {
+
+    private final Transport transport;
+
+    private final String uri;
+
+    private final SoapTemplate template;
+
+    private String resultElement;
+
+    private BiPredicate<? super T, String> check = (input, result) -> true;
+
+    private int maxInFlight = SuiteConfig.soapMaxInFlight();
+
+    private int maxSamples = 10;
+
+    /**
+     * Creates a runner limited to {@code suite.soap.maxInFlight} requests
+     * in flight.
+     *
+     * @param transport the transport to send through; it is not closed
+     * @param uri the SOAP endpoint
+     * @param template the envelope each input is rendered into
+     */
+    public SoapBatchRunner(Transport transport, String uri, SoapTemplate template) {
+        this.transport = transport;
+        this.uri = uri;
+        this.template = template;
+        this.resultElement = template.operation() + "Result";
+    }
+
+    /**
+     * Sets the result element to read and the check it must pass.
+     *
+     * @param element local name of the result element, by default the
+     *        operation name followed by {@code Result}
+     * @param check receives the input and the element's text; {@code false}
+     *        fails the input
+     * @return this instance, for chaining
+     */
+    public SoapBatchRunner<T> expecting(String element, BiPredicate<? super T, String> check) {
+        this.resultElement = element;
+        this.check = check;
+        return this;
+    }
+
+    /**
+     * Sets how many requests may be outstanding at once.
+     *
+     * @param maxInFlight the concurrency cap
+     * @return this instance, for chaining
+     */
+    public SoapBatchRunner<T> withMaxInFlight(int maxInFlight) {
+        this.maxInFlight = Math.max(1, maxInFlight);
+        return this;
+    }
+
+    /**
+     * Sets how many failing inputs the report lists.
+     *
+     * @param maxSamples number of failures described in the report
+     * @return this instance, for chaining
+     */
+    public SoapBatchRunner<T> withFailureSamples(int maxSamples) {
+        this.maxSamples = Math.max(0, maxSamples);
+        return this;
+    }
+
+    /**
+     * Returns the non-blank lines of {@code in}, trimmed, as input values,
+     * for sweeping values kept in a file.
+     *
+     * @param in UTF-8 text with one value per line; closing the returned
+     *        stream closes it
+     * @return the values, read as the stream is consumed
+     */
+    public static Stream<String> lines(InputStream in) {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        return reader.lines()
+            .map(String::trim)
+            .filter(line -> !line.isEmpty())
+            .onClose(() -> {
+                try {
+                    reader.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+    }
+
+    /**
+     * Sends every value of {@code inputs}, then closes the stream.
+     *
+     * @param inputs the values to send
+     * @return the aggregated outcome
+     * @throws InterruptedException if the calling thread is interrupted
+     */
+    public SoapBatchReport run(Stream<? extends T> inputs) throws InterruptedException {
+        try (inputs) {
+            return this.run(inputs.iterator());
+        }
+    }
+
+    /**
+     * Sends every value of {@code inputs} and waits for the last response.
+     *
+     * @param inputs the values to send
+     * @return the aggregated outcome
+     * @throws InterruptedException if the calling thread is interrupted
+     */
+    public SoapBatchReport run(Iterator<? extends T> inputs) throws InterruptedException {
+        Batch batch = new Batch(this.maxSamples);
+        Semaphore inFlight = new Semaphore(this.maxInFlight);
+        Map<String, String> headers = Map.of("Content-Type", SoapEnvelope.CONTENT_TYPE);
+        long start = System.nanoTime();
+
+        while (inputs.hasNext()) {
+            T input = inputs.next();
+            inFlight.acquire();
+            TransportRequest request = new TransportRequest("POST", this.uri, headers, this.template.render(input));
+            long sent = System.nanoTime();
+            CompletableFuture<TransportResponse> response;
+            try {
+                response = this.transport.sendAsync(request);
+            } catch (RuntimeException e) {
+                response = CompletableFuture.failedFuture(e);
+            }
+            response.whenComplete((result, error) -> {
+                try {
+                    long nanos = System.nanoTime() - sent;
+                    if (error != null) {
+                        batch.record(input, nanos, Outcome.TRANSPORT_ERROR, String.valueOf(error));
+                    } else {
+                        this.evaluate(batch, input, nanos, result);
+                    }
+                } catch (RuntimeException e) {
+                    batch.record(input, System.nanoTime() - sent, Outcome.MISMATCH, "check threw " + e);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+        inFlight.acquire(this.maxInFlight);
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        return batch.report(this.template.operation(), this.transport.name(), this.maxInFlight, elapsed);
+    }
+
+    private void evaluate(Batch batch, T input, long nanos, TransportResponse response) {
+        SoapValues values;
+        try {
+            values = SoapReader.read(response.body(), this.resultElement);
+        } catch (UncheckedIOException e) {
+            Outcome outcome = response.status() == 200 ? Outcome.MALFORMED : Outcome.HTTP_STATUS;
+            batch.record(input, nanos, outcome, "HTTP " + response.status());
+            return;
+        }
+        String result = values.get(this.resultElement);
+        if (values.isFault()) {
+            batch.record(input, nanos, Outcome.FAULT, values.fault());
+        } else if (response.status() != 200) {
+            batch.record(input, nanos, Outcome.HTTP_STATUS, "HTTP " + response.status());
+        } else if (result == null) {
+            batch.record(input, nanos, Outcome.MISSING_RESULT, "no " + this.resultElement);
+        } else if (!this.check.test(input, result)) {
+            batch.record(input, nanos, Outcome.MISMATCH, "got '" + result + "'");
+        } else {
+            batch.record(input, nanos, Outcome.PASSED, null);
+        }
+    }
+
+    /**
+     * Counters shared by the completion callbacks of one run.
+     */
+    private static final class Batch {
+
+        private final EndpointStats latency = new EndpointStats();
+
+        private final Map<Outcome, LongAdder> outcomes = new EnumMap<>(Outcome.class);
+
+        private final List<String> samples = new ArrayList<>();
+
+        private final int maxSamples;
+
+        Batch(int maxSamples) {
+            this.maxSamples = maxSamples;
+            for (Outcome outcome : Outcome.values()) {
+                this.outcomes.put(outcome, new LongAdder());
+            }
+        }
+
+        void record(Object input, long nanos, Outcome outcome, String detail) {
+            this.latency.record(nanos, outcome != Outcome.PASSED);
+            this.outcomes.get(outcome).increment();
+            if (outcome != Outcome.PASSED) {
+                synchronized (this.samples) {
+                    if (this.samples.size() < this.maxSamples) {
+                        this.samples.add(input + ": " + outcome + " " + detail);
+                    }
+                }
+            }
+        }
+
+        SoapBatchReport report(String operation, String transport, int maxInFlight, Duration elapsed) {
+            Map<Outcome, Long> failures = new EnumMap<>(Outcome.class);
+            long inputs = 0;
+            for (Map.Entry<Outcome, LongAdder> entry : this.outcomes.entrySet()) {
+                long count = entry.getValue().sum();
+                inputs += count;
+                if (entry.getKey() != Outcome.PASSED && count > 0) {
+                    failures.put(entry.getKey(), count);
+                }
+            }
+            List<String> samples;
+            synchronized (this.samples) {
+                samples = List.copyOf(this.samples);
+            }
+            return new SoapBatchReport(operation, transport, maxInFlight, elapsed, inputs,
+                this.outcomes.get(Outcome.PASSED).sum(), failures, samples, this.latency.summarize(operation));
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package APITest.utils.soap;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+/**
+ * A SOAP 1.1 request envelope for a document/literal operation, written
+ * with StAX.
+ *
+ * <p>Instead of formatting a text block into a {@code String}, the envelope
+ * is serialized element by element onto an output stream, with parameter
+ * values escaped by the writer:</p>
+ * <pre>{@code
+ * SoapEnvelope.request("http://www.dataaccess.com/webservicesserver/", "NumberToWords")
+ *     .with("ubiNum", 500)
+ *     .toBytes();
+ * }</pre>
+ *
+ * <p>{@link #toBytes()} suits ordinary envelopes. {@link #stream()} produces
+ * the envelope while the HTTP client reads it, so large envelopes are never
+ * held in memory. Instances are immutable.</p>
+ */
+public final class SoapEnvelope {
+
+    /**
+     * Namespace of the SOAP 1.1 envelope.
+     */
+    public static final String SOAP_11 = "http://schemas.xmlsoap.org/soap/envelope/";
+
+    /**
+     * Content type of SOAP 1.1 requests.
+     */
+    public static final String CONTENT_TYPE = "text/xml; charset=utf-8";
+
+    /**
+     * The JDK factory creates a new writer per call unless told to reuse
+     * instances, so one factory can serve every thread.
+     */
+    private static final XMLOutputFactory OUTPUT = XMLOutputFactory.newDefaultFactory();
+
+    private final String namespace;
+
+    private final String operation;
+
+    private final List<Map.Entry<String, String>> parameters;
+
+    private SoapEnvelope(String namespace, String operation, List<Map.Entry<String, String>> parameters) {
+        this.namespace = namespace;
+        this.operation = operation;
+        this.parameters = parameters;
+    }
+
+    /**
+     * Starts an envelope calling {@code operation}.
+     *
+     * @param namespace the service namespace the operation element is in
+     * @param operation the operation element, e.g. {@code NumberToWords}
+     * @return an envelope without parameters
+     */
+    public static SoapEnvelope request(String namespace, String operation) {
+        return new SoapEnvelope(namespace, operation, List.of());
+    }
+
+    /**
+     * Returns a copy with one more parameter element.
+     *
+     * @param name the parameter element, e.g. {@code ubiNum}
+     * @param value the parameter value, written with {@code String.valueOf}
+     * @return the new envelope
+     */
+    public SoapEnvelope with(String name, Object value) {
+        List<Map.Entry<String, String>> copy = new ArrayList<>(this.parameters);
+        copy.add(Map.entry(name, String.valueOf(value)));
+        return new SoapEnvelope(this.namespace, this.operation, List.copyOf(copy));
+    }
+
+    /**
+     * Returns a template of this envelope with {@code parameter} appended
+     * last and left open, for sending the same call with many values.
+     *
+     * @param parameter the parameter element each value goes into
+     * @return the template
+     */
+    public SoapTemplate template(String parameter) {
+        return SoapTemplate.of(this, parameter);
+    }
+
+    /**
+     * Returns the service namespace.
+     *
+     * @return the namespace of the operation element
+     */
+    public String namespace() {
+        return this.namespace;
+    }
+
+    /**
+     * Returns the operation name.
+     *
+     * @return the operation element
+     */
+    public String operation() {
+        return this.operation;
+    }
+
+    /**
+     * Writes the envelope, UTF-8 encoded, to {@code out}. The stream is
+     * flushed but not closed.
+     *
+     * @param out the stream to write to, e.g. a request body
+     * @throws IOException if writing fails
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        try {
+            XMLStreamWriter xml = OUTPUT.createXMLStreamWriter(out, "UTF-8");
+            xml.writeStartDocument("UTF-8", "1.0");
+            xml.writeStartElement("soap", "Envelope", SOAP_11);
+            xml.writeNamespace("soap", SOAP_11);
+            xml.writeStartElement("soap", "Body", SOAP_11);
+            xml.writeStartElement("", this.operation, this.namespace);
+            xml.writeDefaultNamespace(this.namespace);
+            for (Map.Entry<String, String> parameter : this.parameters) {
+                xml.writeStartElement("", parameter.getKey(), this.namespace);
+                xml.writeCharacters(parameter.getValue());
+                xml.writeEndElement();
+            }
+            xml.writeEndDocument();
+            xml.flush();
+            xml.close();
+        } catch (XMLStreamException e) {
+            throw new IOException("Cannot write the " + this.operation + " envelope", e);
+        }
+        out.flush();
+    }
+
+    /**
+     * Returns the envelope as UTF-8 bytes.
+     *
+     * @return the serialized envelope
+     */
+    public byte[] toBytes() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(256 + 64 * this.parameters.size());
+        try {
+            this.writeTo(out);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Returns a stream producing the envelope as it is read: a writer
+     * thread fills a 64 KB pipe, so memory use does not depend on the
+     * envelope's size. If writing fails, reading fails with the cause
+     * instead of ending early.
+     *
+     * <p>The writer is a platform thread because pipes wait inside
+     * {@code synchronized} methods, which would pin a virtual thread.</p>
+     *
+     * @return a stream for {@code RequestSpecification.body(InputStream)}
+     */
+    public InputStream stream() {
+        EnvelopeStream in = new EnvelopeStream();
+        PipedOutputStream out;
+        try {
+            out = new PipedOutputStream(in);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        Thread.ofPlatform().daemon().name("soap-envelope-" + this.operation).start(() -> {
+            try {
+                this.writeTo(out);
+            } catch (IOException e) {
+                in.failure = e;
+            } finally {
+                try {
+                    out.close();
+                } catch (IOException ignored) {
+                    // Nothing left to tell the reader.
+                }
+            }
+        });
+        return in;
+    }
+
+    /**
+     * Read side of the {@link #stream()} pipe, reporting a failed write at
+     * the end of the data.
+     */
+    private static final class EnvelopeStream extends PipedInputStream {
+
+        private volatile IOException failure;
+
+        EnvelopeStream() {
+            super(64 * 1024);
+        }
+
+        @Override
+        public synchronized int read() throws IOException {
+            return this.checked(super.read());
+        }
+
+        @Override
+        public synchronized int read(byte[] bytes, int offset, int length) throws IOException {
+            return this.checked(super.read(bytes, offset, length));
+        }
+
+        private int checked(int result) throws IOException {
+            if (result < 0 && this.failure != null) {
+                throw new IOException("The SOAP envelope could not be written", this.failure);
+            }
+            return result;
+        }
+    }
+}
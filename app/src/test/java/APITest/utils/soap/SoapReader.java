@@ -0,0 +1,121 @@
+package APITest.utils.soap;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Reads result elements out of a SOAP response in a single StAX pass.
+ *
+ * <p>Unlike {@code response.xmlPath()}, no DOM or GPath tree is built: the
+ * body is scanned event by event, the text of each requested element is
+ * kept, and reading stops once all of them were found. Elements are matched
+ * by local name, whatever their namespace prefix, and must hold text only,
+ * such as {@code NumberToWordsResult}. A SOAP 1.1 or 1.2 {@code Fault} ends
+ * the scan and is reported through {@link SoapValues#fault()}.</p>
+ */
+public final class SoapReader {
+
+    private static final String SOAP_12 = "http://www.w3.org/2003/05/soap-envelope";
+
+    /**
+     * The JDK factory creates a new reader per call unless told to reuse
+     * instances, so one factory can serve every thread. DTDs are refused, as
+     * a SOAP message must not carry one.
+     */
+    private static final XMLInputFactory INPUT = XMLInputFactory.newDefaultFactory();
+
+    static {
+        INPUT.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        INPUT.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    private SoapReader() { }
+
+    /**
+     * Reads elements from an in-memory response.
+     *
+     * @param body the response body, e.g. {@code response.asByteArray()}
+     * @param elements local names of the elements to read
+     * @return the elements found
+     * @throws UncheckedIOException if the body is not well-formed XML up to
+     *         the point where every element was found
+     */
+    public static SoapValues read(byte[] body, String... elements) {
+        try {
+            return read(new ByteArrayInputStream(body), elements);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads elements from a response stream.
+     *
+     * @param body the response body; it is closed on return
+     * @param elements local names of the elements to read
+     * @return the elements found
+     * @throws IOException if the body cannot be read or is not well-formed XML
+     */
+    public static SoapValues read(InputStream body, String... elements) throws IOException {
+        Set<String> wanted = Set.of(elements);
+        Map<String, String> found = new LinkedHashMap<>();
+        try (body) {
+            XMLStreamReader xml = INPUT.createXMLStreamReader(body);
+            try {
+                while (found.size() < wanted.size() && xml.hasNext()) {
+                    if (xml.next() != XMLStreamConstants.START_ELEMENT) {
+                        continue;
+                    }
+                    String name = xml.getLocalName();
+                    if ("Fault".equals(name) && isEnvelope(xml.getNamespaceURI())) {
+                        return new SoapValues(found, faultString(xml));
+                    }
+                    if (wanted.contains(name) && !found.containsKey(name)) {
+                        found.put(name, xml.getElementText());
+                    }
+                }
+            } finally {
+                xml.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Malformed SOAP response", e);
+        }
+        return new SoapValues(found, null);
+    }
+
+    private static boolean isEnvelope(String namespace) {
+        return SoapEnvelope.SOAP_11.equals(namespace) || SOAP_12.equals(namespace);
+    }
+
+    /**
+     * Reads the rest of a {@code Fault} element and returns its
+     * {@code faultstring} (SOAP 1.1) or first reason {@code Text} (SOAP 1.2).
+     */
+    private static String faultString(XMLStreamReader xml) throws XMLStreamException {
+        String fault = "";
+        for (int depth = 1; depth > 0 && xml.hasNext(); ) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                String name = xml.getLocalName();
+                if (fault.isEmpty() && ("faultstring".equals(name) || "Text".equals(name))) {
+                    fault = xml.getElementText().trim();
+                } else {
+                    depth++;
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+        return fault;
+    }
+}
@@ -0,0 +1,81 @@
+package APITest.utils.soap;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A serialized {@link SoapEnvelope} with one parameter left open, rendered
+ * by splicing each value between the bytes around it.
+ *
+ * <p>The envelope is written once, with StAX, when the template is created;
+ * {@link #render(Object)} then only escapes the value and concatenates three
+ * strings, so a sweep over millions of inputs does not run an XML writer per
+ * request:</p>
+ * <pre>{@code
+ * SoapTemplate template = SoapEnvelope.request(namespace, "NumberToWords").template("ubiNum");
+ * String body = template.render(500);
+ * }</pre>
+ *
+ * <p>Instances are immutable and can be shared between threads.</p>
+ */
+public final class SoapTemplate {
+
+    /**
+     * Placeholder written in place of the open parameter. StAX leaves it
+     * untouched, as it holds no character that needs escaping.
+     */
+    private static final String SLOT = "soap-template-slot";
+
+    private final String operation;
+
+    private final String prefix;
+
+    private final String suffix;
+
+    private SoapTemplate(String operation, String prefix, String suffix) {
+        this.operation = operation;
+        this.prefix = prefix;
+        this.suffix = suffix;
+    }
+
+    /**
+     * Serializes {@code envelope} with {@code parameter} appended as the
+     * open slot.
+     */
+    static SoapTemplate of(SoapEnvelope envelope, String parameter) {
+        String xml = new String(envelope.with(parameter, SLOT).toBytes(), StandardCharsets.UTF_8);
+        int slot = xml.lastIndexOf(SLOT);
+        return new SoapTemplate(envelope.operation(), xml.substring(0, slot), xml.substring(slot + SLOT.length()));
+    }
+
+    /**
+     * Returns the envelope with {@code value} in the open parameter.
+     *
+     * @param value the parameter value, written with {@code String.valueOf}
+     *        and escaped as element text
+     * @return the request body
+     */
+    public String render(Object value) {
+        String text = String.valueOf(value);
+        StringBuilder out = new StringBuilder(this.prefix.length() + text.length() + this.suffix.length() + 16);
+        out.append(this.prefix);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '&' -> out.append("&amp;");
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                default -> out.append(c);
+            }
+        }
+        return out.append(this.suffix).toString();
+    }
+
+    /**
+     * Returns the operation the envelope calls.
+     *
+     * @return the operation element, e.g. {@code NumberToWords}
+     */
+    public String operation() {
+        return this.operation;
+    }
+}
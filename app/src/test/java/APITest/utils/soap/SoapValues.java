@@ -0,0 +1,32 @@
+package APITest.utils.soap;
+
+import java.util.Map;
+
+/**
+ * Elements read from a SOAP response by {@link SoapReader}.
+ *
+ * @param values the text of each requested element found, by local name
+ * @param fault the fault string if the response is a SOAP fault, otherwise
+ *        {@code null}
+ */
+public record SoapValues(Map<String, String> values, String fault) {
+
+    /**
+     * Returns the text of element {@code name}.
+     *
+     * @param name the local name of a requested element
+     * @return its text, or {@code null} if the response did not contain it
+     */
+    public String get(String name) {
+        return this.values.get(name);
+    }
+
+    /**
+     * Returns whether the response was a SOAP fault.
+     *
+     * @return {@code true} if a {@code Fault} element was found
+     */
+    public boolean isFault() {
+        return this.fault != null;
+    }
+}
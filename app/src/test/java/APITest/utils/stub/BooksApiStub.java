@@ -0,0 +1,273 @@
+package APITest.utils.stub;
+
+import java.io.IOException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sun.net.httpserver.HttpExchange;
+
+/**
+ * In-process stand-in for the Simple Books API.
+ *
+ * <p>Implements the subset of {@code https://simple-books-api.click} the
+ * suite relies on ({@code /books}, {@code /books/{id}}, {@code /orders},
+ * {@code /orders/{id}} and {@code /api-clients}) including the error
+ * payloads and status codes asserted by the tests. State (registered
+ * clients and orders) is kept in memory for the lifetime of the instance.</p>
+ */
+public class BooksApiStub extends JsonStubServer<BooksApiStub> {
+
+    /**
+     * Static catalogue mirroring the books served by the public API.
+     */
+    private static final List<Map<String, Object>> BOOKS = List.of(
+        book(1, "The Russian", "James Patterson and James O. Born", "fiction", 12.98, 12),
+        book(2, "Just as I Am", "Cicely Tyson", "non-fiction", 20.33, 0),
+        book(3, "The Vanishing Half", "Brit Bennett", "fiction", 16.20, 987),
+        book(4, "The Midnight Library", "Matt Haig", "fiction", 15.60, 87),
+        book(5, "Untamed", "Glennon Doyle", "non-fiction", 14.37, 23),
+        book(6, "Viscount Who Loved Me", "Julia Quinn", "fiction", 11.45, 43));
+
+    private final SecureRandom random = new SecureRandom();
+
+    /**
+     * Registered client emails mapped to their issued access token.
+     */
+    private final Map<String, String> clients = new ConcurrentHashMap<>();
+
+    /**
+     * Issued access tokens mapped to the owning client email.
+     */
+    private final Map<String, String> tokens = new ConcurrentHashMap<>();
+
+    /**
+     * Orders by id, each tagged with the token that created it.
+     */
+    private final Map<String, Map<String, Object>> orders = new ConcurrentHashMap<>();
+
+    @Override
+    protected void route(HttpExchange exchange, String method, String[] segments) throws IOException {
+        if (segments.length == 0 || segments[0].equals("status")) {
+            send(exchange, 200, Map.of("status", "OK"));
+        } else if (segments[0].equals("books") && segments.length == 1 && method.equals("GET")) {
+            listBooks(exchange);
+        } else if (segments[0].equals("books") && segments.length == 2 && method.equals("GET")) {
+            getBook(exchange, segments[1]);
+        } else if (segments[0].equals("api-clients") && segments.length == 1 && method.equals("POST")) {
+            registerClient(exchange);
+        } else if (segments[0].equals("orders") && segments.length <= 2) {
+            String token = authorize(exchange);
+            if (token != null) {
+                handleOrders(exchange, token, segments.length == 2 ? segments[1] : null);
+            }
+        } else {
+            send(exchange, 404, Map.of("error", "Not found."));
+        }
+    }
+
+    private void listBooks(HttpExchange exchange) throws IOException {
+        Map<String, String> query = query(exchange.getRequestURI().getRawQuery());
+        String type = query.get("type");
+        int limit = Integer.MAX_VALUE;
+        if (query.containsKey("limit")) {
+            try {
+                limit = Integer.parseInt(query.get("limit"));
+            } catch (NumberFormatException e) {
+                limit = -1;
+            }
+            if (limit < 1 || limit > 20) {
+                send(exchange, 400, Map.of("error", "Invalid value for query parameter 'limit'. Must be between 1 and 20."));
+                return;
+            }
+        }
+        if (type != null && !type.equals("fiction") && !type.equals("non-fiction")) {
+            send(exchange, 400, Map.of("error", "Invalid value for query parameter 'type'. Must be one of: fiction, non-fiction."));
+            return;
+        }
+
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (Map<String, Object> book : BOOKS) {
+            if (result.size() == limit) {
+                break;
+            }
+            if (type == null || type.equals(book.get("type"))) {
+                Map<String, Object> summary = new LinkedHashMap<>();
+                summary.put("id", book.get("id"));
+                summary.put("name", book.get("name"));
+                summary.put("type", book.get("type"));
+                summary.put("available", book.get("available"));
+                result.add(summary);
+            }
+        }
+        send(exchange, 200, result);
+    }
+
+    private void getBook(HttpExchange exchange, String id) throws IOException {
+        Map<String, Object> book = findBook(id);
+        if (book == null) {
+            send(exchange, 404, Map.of("error", "No book with id " + id));
+            return;
+        }
+        send(exchange, 200, book);
+    }
+
+    private void registerClient(HttpExchange exchange) throws IOException {
+        JsonNode body = readBody(exchange);
+        String name = text(body, "clientName");
+        String email = text(body, "clientEmail");
+
+        if (name == null || name.isBlank()) {
+            send(exchange, 400, Map.of("error", "Invalid or missing client name."));
+            return;
+        }
+        if (email == null || !email.contains("@")) {
+            send(exchange, 400, Map.of("error", "Invalid or missing client email."));
+            return;
+        }
+
+        String token = HexFormat.of().formatHex(randomBytes(32));
+        if (this.clients.putIfAbsent(email, token) != null) {
+            send(exchange, 409, Map.of("error", "API client already registered. Try a different email."));
+            return;
+        }
+        this.tokens.put(token, email);
+        send(exchange, 201, Map.of("accessToken", token));
+    }
+
+    /**
+     * Validates the bearer token of the exchange, answering 401 when it is
+     * missing or unknown.
+     *
+     * @return the token when valid, otherwise {@code null}
+     */
+    private String authorize(HttpExchange exchange) throws IOException {
+        String header = exchange.getRequestHeaders().getFirst("Authorization");
+        if (header == null || header.isBlank()) {
+            send(exchange, 401, Map.of("error", "Missing Authorization header."));
+            return null;
+        }
+        String token = header.startsWith("Bearer ") ? header.substring(7).trim() : header.trim();
+        if (!this.tokens.containsKey(token)) {
+            send(exchange, 401, Map.of("error", "Invalid bearer token."));
+            return null;
+        }
+        return token;
+    }
+
+    private void handleOrders(HttpExchange exchange, String token, String orderId) throws IOException {
+        String method = exchange.getRequestMethod();
+
+        if (orderId == null && method.equals("GET")) {
+            List<Map<String, Object>> owned = new ArrayList<>();
+            for (Map<String, Object> order : this.orders.values()) {
+                if (token.equals(order.get("clientToken"))) {
+                    owned.add(publicView(order));
+                }
+            }
+            send(exchange, 200, owned);
+            return;
+        }
+        if (orderId == null && method.equals("POST")) {
+            submitOrder(exchange, token);
+            return;
+        }
+        if (orderId == null) {
+            send(exchange, 404, Map.of("error", "Not found."));
+            return;
+        }
+
+        Map<String, Object> order = this.orders.get(orderId);
+        if (order == null || !token.equals(order.get("clientToken"))) {
+            send(exchange, 404, Map.of("error", "No order with id " + orderId + "."));
+            return;
+        }
+        switch (method) {
+            case "GET" -> send(exchange, 200, publicView(order));
+            case "PATCH" -> {
+                String customerName = text(readBody(exchange), "customerName");
+                if (customerName != null) {
+                    order.put("customerName", customerName);
+                }
+                sendEmpty(exchange, 204);
+            }
+            case "DELETE" -> {
+                this.orders.remove(orderId);
+                sendEmpty(exchange, 204);
+            }
+            default -> send(exchange, 404, Map.of("error", "Not found."));
+        }
+    }
+
+    private void submitOrder(HttpExchange exchange, String token) throws IOException {
+        JsonNode body = readBody(exchange);
+        JsonNode bookId = body.get("bookId");
+        Map<String, Object> book = bookId == null || !bookId.canConvertToInt() ? null : findBook(bookId.asText());
+
+        if (book == null) {
+            send(exchange, 400, Map.of("error", "Invalid or missing bookId."));
+            return;
+        }
+        if (!Boolean.TRUE.equals(book.get("available"))) {
+            send(exchange, 404, Map.of("error", "This book is not in stock. Try again later."));
+            return;
+        }
+
+        String id = HexFormat.of().formatHex(randomBytes(11)).substring(0, 21);
+        Map<String, Object> order = new ConcurrentHashMap<>();
+        order.put("id", id);
+        order.put("bookId", book.get("id"));
+        order.put("customerName", String.valueOf(text(body, "customerName")));
+        order.put("createdBy", this.tokens.get(token));
+        order.put("quantity", 1);
+        order.put("timestamp", System.currentTimeMillis());
+        order.put("clientToken", token);
+        this.orders.put(id, order);
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("created", true);
+        response.put("orderId", id);
+        send(exchange, 201, response);
+    }
+
+    private static Map<String, Object> publicView(Map<String, Object> order) {
+        Map<String, Object> view = new LinkedHashMap<>();
+        for (String key : List.of("id", "bookId", "customerName", "createdBy", "quantity", "timestamp")) {
+            view.put(key, order.get(key));
+        }
+        return view;
+    }
+
+    private static Map<String, Object> findBook(String id) {
+        for (Map<String, Object> book : BOOKS) {
+            if (String.valueOf(book.get("id")).equals(id)) {
+                return book;
+            }
+        }
+        return null;
+    }
+
+    private byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        this.random.nextBytes(bytes);
+        return bytes;
+    }
+
+    private static Map<String, Object> book(int id, String name, String author, String type, double price, int stock) {
+        Map<String, Object> book = new LinkedHashMap<>();
+        book.put("id", id);
+        book.put("name", name);
+        book.put("author", author);
+        book.put("isbn", String.format("%013d", 9780000000000L + id));
+        book.put("type", type);
+        book.put("price", price);
+        book.put("current-stock", stock);
+        book.put("available", stock > 0);
+        return book;
+    }
+}
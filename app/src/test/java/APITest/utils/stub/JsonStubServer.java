@@ -0,0 +1,237 @@
+package APITest.utils.stub;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Base class for the suite's in-process JSON API stand-ins.
+ *
+ * <p>Owns the loopback {@link HttpServer} lifecycle, the optional artificial
+ * latency and the JSON request/response helpers; subclasses only implement
+ * {@link #route(HttpExchange, String, String[])}.</p>
+ *
+ * <p>The server binds to the loopback interface on an ephemeral port so the
+ * suite can run without network access. Requests are served on a cached
+ * platform-thread pool so the stub keeps answering even when client virtual
+ * threads pin every carrier thread.</p>
+ *
+ * @param <S> the concrete stub type, returned by the fluent methods
+ */
+public abstract class JsonStubServer<S extends JsonStubServer<S>> {
+
+    /**
+     * Accept backlog large enough for thousands of concurrent clients.
+     */
+    private static final int BACKLOG = 4096;
+
+    private static final Logger LOG = LoggerFactory.getLogger(JsonStubServer.class);
+
+    static {
+        // The JDK server writes headers and body separately; without
+        // TCP_NODELAY, Nagle's algorithm holds the body back until the
+        // client's delayed ACK (~40 ms) on every keep-alive exchange.
+        // Read once, when the first HttpServer is created.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    protected final ObjectMapper mapper = new ObjectMapper();
+
+    private HttpServer server;
+
+    private ExecutorService executor;
+
+    /**
+     * Artificial delay applied to every response, emulating network RTT.
+     */
+    private volatile Duration latency = Duration.ZERO;
+
+    /**
+     * Handles one request. {@code segments} is the request path split on
+     * {@code /} with empty segments removed.
+     *
+     * @param exchange the exchange to answer
+     * @param method the HTTP method
+     * @param segments the non-empty path segments
+     * @throws IOException if the response cannot be written
+     */
+    protected abstract void route(HttpExchange exchange, String method, String[] segments) throws IOException;
+
+    /**
+     * Delays every response by {@code latency}, so concurrency experiments
+     * see realistic I/O wait instead of loopback round trips.
+     *
+     * @param latency delay applied before each response is written
+     * @return this instance, for chaining
+     */
+    public S withLatency(Duration latency) {
+        this.latency = latency;
+        return this.self();
+    }
+
+    /**
+     * Starts the stub on an ephemeral loopback port.
+     *
+     * @return this instance, for chaining
+     * @throws IOException if the server socket cannot be bound
+     */
+    public synchronized S start() throws IOException {
+        if (this.server != null) {
+            return this.self();
+        }
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), BACKLOG);
+        this.server.createContext("/", this::handle);
+        this.executor = Executors.newCachedThreadPool();
+        this.server.setExecutor(this.executor);
+        this.server.start();
+        return this.self();
+    }
+
+    /**
+     * Stops the stub and releases its worker threads.
+     */
+    public synchronized void stop() {
+        if (this.server == null) {
+            return;
+        }
+        this.server.stop(0);
+        this.executor.shutdownNow();
+        this.server = null;
+        this.executor = null;
+    }
+
+    /**
+     * Returns the base URI clients should use to reach the stub.
+     *
+     * @return a {@code http://host:port} URI without a trailing slash
+     */
+    public String baseUri() {
+        InetSocketAddress address = this.server.getAddress();
+        return "http://" + address.getHostString() + ":" + address.getPort();
+    }
+
+    @SuppressWarnings("unchecked")
+    private S self() {
+        return (S) this;
+    }
+
+    /**
+     * Applies the configured latency, routes the exchange and turns
+     * unexpected exceptions into a JSON {@code 500}. The exception is logged
+     * either way; if the route already sent its response headers the status
+     * can no longer change, so the exchange is only closed, which the client
+     * sees as a truncated response.
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!this.latency.isZero()) {
+                Thread.sleep(this.latency);
+            }
+            this.route(exchange, exchange.getRequestMethod(), segments(exchange.getRequestURI().getPath()));
+        } catch (RuntimeException e) {
+            LOG.error("{} failed on {} {}", this.getClass().getSimpleName(), exchange.getRequestMethod(),
+                exchange.getRequestURI(), e);
+            // getResponseCode() stays -1 until sendResponseHeaders was called
+            if (exchange.getResponseCode() == -1) {
+                this.send(exchange, 500, Map.of("error", String.valueOf(e.getMessage())));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Reads the request body as a JSON tree, treating empty or malformed
+     * bodies as an empty object.
+     */
+    protected JsonNode readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] bytes = in.readAllBytes();
+            if (bytes.length == 0) {
+                return this.mapper.createObjectNode();
+            }
+            try {
+                return this.mapper.readTree(bytes);
+            } catch (IOException e) {
+                return this.mapper.createObjectNode();
+            }
+        }
+    }
+
+    /**
+     * Serializes {@code payload} as the JSON response body.
+     */
+    protected void send(HttpExchange exchange, int status, Object payload) throws IOException {
+        sendBytes(exchange, status, "application/json; charset=utf-8", this.mapper.writeValueAsBytes(payload));
+    }
+
+    /**
+     * Answers with {@code status} and a pre-encoded body, for stubs of
+     * services that do not speak JSON.
+     */
+    protected static void sendBytes(HttpExchange exchange, int status, String contentType, byte[] bytes)
+            throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Answers with {@code status} and no body.
+     */
+    protected static void sendEmpty(HttpExchange exchange, int status) throws IOException {
+        exchange.sendResponseHeaders(status, -1);
+    }
+
+    /**
+     * Returns a text field of {@code node}, or {@code null} when absent.
+     */
+    protected static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    /**
+     * Decodes a raw query string into an ordered parameter map.
+     */
+    protected static Map<String, String> query(String rawQuery) {
+        Map<String, String> params = new LinkedHashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return params;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            params.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
+    private static String[] segments(String path) {
+        String trimmed = path.replaceAll("^/+|/+$", "");
+        return trimmed.isEmpty() ? new String[0] : trimmed.split("/+");
+    }
+}
@@ -0,0 +1,147 @@
+package APITest.utils.stub;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+
+import com.sun.net.httpserver.HttpExchange;
+
+import APITest.utils.soap.SoapEnvelope;
+import APITest.utils.soap.SoapReader;
+import APITest.utils.soap.SoapValues;
+
+/**
+ * In-process stand-in for the NumberConversion SOAP service at
+ * {@code https://www.dataaccess.com/webservicesserver/NumberConversion.wso}.
+ *
+ * <p>Answers {@code NumberToWords} ({@code ubiNum}) and
+ * {@code NumberToDollars} ({@code dNum}) on any path, spelling numbers in
+ * lower case with the trailing space the public service adds. Anything else,
+ * including malformed XML and negative numbers, gets a SOAP 1.1 {@code Fault}
+ * with status {@code 500}.</p>
+ */
+public class NumberConversionStub extends JsonStubServer<NumberConversionStub> {
+
+    private static final String CONTENT_TYPE = "text/xml; charset=utf-8";
+
+    private static final String NAMESPACE = "http://www.dataaccess.com/webservicesserver/";
+
+    private static final String[] ONES = {
+        "zero", "one", "two", "three", "four", "five", "six", "seven", "eight", "nine", "ten",
+        "eleven", "twelve", "thirteen", "fourteen", "fifteen", "sixteen", "seventeen", "eighteen", "nineteen"
+    };
+
+    private static final String[] TENS = {
+        "", "", "twenty", "thirty", "forty", "fifty", "sixty", "seventy", "eighty", "ninety"
+    };
+
+    private static final String[] SCALES = {
+        "", "thousand", "million", "billion", "trillion", "quadrillion", "quintillion"
+    };
+
+    @Override
+    protected void route(HttpExchange exchange, String method, String[] segments) throws IOException {
+        if (!method.equals("POST")) {
+            sendEmpty(exchange, 405);
+            return;
+        }
+        SoapValues values;
+        try (InputStream in = exchange.getRequestBody()) {
+            values = SoapReader.read(in.readAllBytes(), "ubiNum", "dNum");
+        } catch (UncheckedIOException e) {
+            fault(exchange, "Malformed request");
+            return;
+        }
+
+        try {
+            if (values.get("ubiNum") != null) {
+                long number = Long.parseLong(values.get("ubiNum").trim());
+                if (number < 0) {
+                    throw new NumberFormatException("negative");
+                }
+                result(exchange, "NumberToWords", words(number) + " ");
+            } else if (values.get("dNum") != null) {
+                BigDecimal amount = new BigDecimal(values.get("dNum").trim()).setScale(2, RoundingMode.HALF_UP);
+                if (amount.signum() < 0) {
+                    throw new NumberFormatException("negative");
+                }
+                result(exchange, "NumberToDollars", dollars(amount));
+            } else {
+                fault(exchange, "Unknown operation");
+            }
+        } catch (NumberFormatException | ArithmeticException e) {
+            fault(exchange, "Invalid number");
+        }
+    }
+
+    /**
+     * Spells a non-negative number in lower case, without "and".
+     *
+     * @param number the number to spell
+     * @return the words, e.g. {@code "one thousand two hundred thirty four"}
+     */
+    public static String words(long number) {
+        if (number == 0) {
+            return ONES[0];
+        }
+        StringBuilder out = new StringBuilder();
+        for (int scale = 0; number > 0; scale++, number /= 1000) {
+            int group = (int) (number % 1000);
+            if (group == 0) {
+                continue;
+            }
+            String chunk = hundreds(group) + (scale == 0 ? "" : " " + SCALES[scale]);
+            out.insert(0, out.isEmpty() ? chunk : chunk + " ");
+        }
+        return out.toString();
+    }
+
+    private static String hundreds(int group) {
+        StringBuilder out = new StringBuilder();
+        if (group >= 100) {
+            out.append(ONES[group / 100]).append(" hundred");
+            group %= 100;
+        }
+        if (group > 0) {
+            if (!out.isEmpty()) {
+                out.append(' ');
+            }
+            if (group < 20) {
+                out.append(ONES[group]);
+            } else {
+                out.append(TENS[group / 10]);
+                if (group % 10 > 0) {
+                    out.append('-').append(ONES[group % 10]);
+                }
+            }
+        }
+        return out.toString();
+    }
+
+    private static String dollars(BigDecimal amount) {
+        long whole = amount.setScale(0, RoundingMode.DOWN).longValueExact();
+        int cents = amount.remainder(BigDecimal.ONE).movePointRight(2).intValue();
+        String text = words(whole) + (whole == 1 ? " dollar" : " dollars");
+        return cents == 0 ? text : text + " and " + words(cents) + (cents == 1 ? " cent" : " cents");
+    }
+
+    private static void result(HttpExchange exchange, String operation, String text) throws IOException {
+        String body = "<?xml version=\"1.0\" encoding=\"utf-8\"?>"
+            + "<soap:Envelope xmlns:soap=\"" + SoapEnvelope.SOAP_11 + "\"><soap:Body>"
+            + "<m:" + operation + "Response xmlns:m=\"" + NAMESPACE + "\">"
+            + "<m:" + operation + "Result>" + text + "</m:" + operation + "Result>"
+            + "</m:" + operation + "Response></soap:Body></soap:Envelope>";
+        sendBytes(exchange, 200, CONTENT_TYPE, body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void fault(HttpExchange exchange, String message) throws IOException {
+        String body = "<?xml version=\"1.0\" encoding=\"utf-8\"?>"
+            + "<soap:Envelope xmlns:soap=\"" + SoapEnvelope.SOAP_11 + "\"><soap:Body><soap:Fault>"
+            + "<faultcode>soap:Client</faultcode><faultstring>" + message + "</faultstring>"
+            + "</soap:Fault></soap:Body></soap:Envelope>";
+        sendBytes(exchange, 500, CONTENT_TYPE, body.getBytes(StandardCharsets.UTF_8));
+    }
+}
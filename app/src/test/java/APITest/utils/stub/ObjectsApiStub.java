@@ -0,0 +1,155 @@
+package APITest.utils.stub;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sun.net.httpserver.HttpExchange;
+
+/**
+ * In-process stand-in for the RESTful API at {@code https://api.restful-api.dev}.
+ *
+ * <p>Implements the {@code /objects} CRUD surface used by
+ * {@code APIRESTTest}: listing, fetching by id, creating, replacing,
+ * patching and deleting objects. The reserved catalogue objects (such as
+ * id {@code 1}, "Google Pixel 6 Pro") are read-only, as on the public
+ * service; objects created through the stub live in memory.</p>
+ */
+public class ObjectsApiStub extends JsonStubServer<ObjectsApiStub> {
+
+    /**
+     * Read-only catalogue mirroring the first objects of the public API.
+     */
+    private static final Map<String, Map<String, Object>> RESERVED = new LinkedHashMap<>();
+
+    static {
+        reserve("1", "Google Pixel 6 Pro", Map.of("color", "Cloudy White", "capacity", "128 GB"));
+        reserve("2", "Apple iPhone 12 Mini, 256GB, Blue", null);
+        reserve("3", "Apple iPhone 12 Pro Max", Map.of("color", "Cloudy White", "capacity GB", 512));
+        reserve("4", "Apple iPhone 11, 64GB", Map.of("price", 389.99, "color", "Purple"));
+        reserve("5", "Samsung Galaxy Z Fold2", Map.of("price", 689.99, "color", "Brown"));
+        reserve("6", "Apple AirPods", Map.of("generation", "3rd", "price", 120));
+        reserve("7", "Apple MacBook Pro 16", Map.of("year", 2019, "price", 1849.99,
+            "CPU model", "Intel Core i9", "Hard disk size", "1 TB"));
+    }
+
+    /**
+     * Objects created through {@code POST /objects}, by id.
+     */
+    private final Map<String, Map<String, Object>> objects = new ConcurrentHashMap<>();
+
+    @Override
+    protected void route(HttpExchange exchange, String method, String[] segments) throws IOException {
+        if (segments.length == 0 || !segments[0].equals("objects") || segments.length > 2) {
+            send(exchange, 404, Map.of("error", "Not found."));
+        } else if (segments.length == 1 && method.equals("GET")) {
+            listObjects(exchange);
+        } else if (segments.length == 1 && method.equals("POST")) {
+            createObject(exchange);
+        } else if (segments.length == 2) {
+            handleObject(exchange, method, segments[1]);
+        } else {
+            send(exchange, 405, Map.of("error", "Method not allowed."));
+        }
+    }
+
+    /**
+     * Returns how many objects created through the stub still exist.
+     *
+     * @return the number of non-reserved objects
+     */
+    public int createdCount() {
+        return this.objects.size();
+    }
+
+    private void listObjects(HttpExchange exchange) throws IOException {
+        String rawQuery = exchange.getRequestURI().getQuery();
+        if (rawQuery == null || !rawQuery.contains("id=")) {
+            send(exchange, 200, new ArrayList<>(RESERVED.values()));
+            return;
+        }
+
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (String pair : rawQuery.split("&")) {
+            Map<String, Object> object = pair.startsWith("id=") ? this.find(pair.substring(3)) : null;
+            if (object != null) {
+                result.add(object);
+            }
+        }
+        send(exchange, 200, result);
+    }
+
+    private void createObject(HttpExchange exchange) throws IOException {
+        JsonNode body = readBody(exchange);
+        String id = UUID.randomUUID().toString().replace("-", "");
+
+        Map<String, Object> object = new LinkedHashMap<>();
+        object.put("id", id);
+        object.put("name", text(body, "name"));
+        object.put("createdAt", Instant.now().toString());
+        object.put("data", body.has("data") ? this.mapper.convertValue(body.get("data"), Map.class) : null);
+        this.objects.put(id, object);
+        send(exchange, 200, object);
+    }
+
+    private void handleObject(HttpExchange exchange, String method, String id) throws IOException {
+        if (RESERVED.containsKey(id)) {
+            if (method.equals("GET")) {
+                send(exchange, 200, RESERVED.get(id));
+            } else {
+                send(exchange, 405, Map.of("error", id + " is a reserved id and the data object of it cannot be"
+                    + " overridden. You can create your own new object via POST request and try to send a "
+                    + method + " request to new generated object."));
+            }
+            return;
+        }
+
+        Map<String, Object> object = this.objects.get(id);
+        if (object == null) {
+            send(exchange, 404, Map.of("error", "Object with id=" + id + " was not found."));
+            return;
+        }
+
+        switch (method) {
+            case "GET" -> send(exchange, 200, object);
+            case "PUT", "PATCH" -> {
+                JsonNode body = readBody(exchange);
+                Map<String, Object> updated = new LinkedHashMap<>(object);
+                updated.remove("createdAt");
+                if (method.equals("PUT") || body.has("name")) {
+                    updated.put("name", text(body, "name"));
+                }
+                if (method.equals("PUT") || body.has("data")) {
+                    updated.put("data", body.has("data") ? this.mapper.convertValue(body.get("data"), Map.class) : null);
+                }
+                updated.put("updatedAt", Instant.now().toString());
+                this.objects.put(id, updated);
+                send(exchange, 200, updated);
+            }
+            case "DELETE" -> {
+                this.objects.remove(id);
+                send(exchange, 200, Map.of("message", "Object with id = " + id + " has been deleted."));
+            }
+            default -> send(exchange, 405, Map.of("error", "Method not allowed."));
+        }
+    }
+
+    private Map<String, Object> find(String id) {
+        Map<String, Object> reserved = RESERVED.get(id);
+        return reserved != null ? reserved : this.objects.get(id);
+    }
+
+    private static void reserve(String id, String name, Map<String, Object> data) {
+        Map<String, Object> object = new LinkedHashMap<>();
+        object.put("id", id);
+        object.put("name", name);
+        object.put("data", data == null ? null : new LinkedHashMap<>(data));
+        RESERVED.put(id, object);
+    }
+}
@@ -0,0 +1,79 @@
+package APITest.utils.stub;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+import APITest.utils.SuiteConfig;
+
+/**
+ * TestNG suite listener that starts the in-process API stubs requested on
+ * the command line.
+ *
+ * <ul>
+ *   <li>{@code -Dsuite.books.stub=true} starts a {@link BooksApiStub} and
+ *   points {@link SuiteConfig#booksBaseUri()} at it.</li>
+ *   <li>{@code -Dsuite.objects.stub=true} starts an {@link ObjectsApiStub}
+ *   and points {@link SuiteConfig#objectsBaseUri()} at it.</li>
+ *   <li>{@code -Dsuite.soap.stub=true} starts a {@link NumberConversionStub}
+ *   and points {@link SuiteConfig#soapUri()} at it.</li>
+ * </ul>
+ *
+ * <p>Every class resolving its base URI through {@link SuiteConfig} then
+ * runs against loopback instead of the public internet. Previous base URIs
+ * are restored when the suite finishes.</p>
+ */
+public class StubServerListener implements ISuiteListener {
+
+    /**
+     * A started stub and the base-URI property it overrides.
+     */
+    private record Running(JsonStubServer<?> stub, String property, String previousValue) { }
+
+    private final List<Running> running = new ArrayList<>();
+
+    @Override
+    public void onStart(ISuite suite) {
+        if (!this.running.isEmpty()) {
+            return;
+        }
+        if (SuiteConfig.useBooksStub()) {
+            this.start(new BooksApiStub(), SuiteConfig.BOOKS_BASE_URI, "Simple Books");
+        }
+        if (SuiteConfig.useObjectsStub()) {
+            this.start(new ObjectsApiStub(), SuiteConfig.OBJECTS_BASE_URI, "RESTful objects");
+        }
+        if (SuiteConfig.useSoapStub()) {
+            this.start(new NumberConversionStub(), SuiteConfig.SOAP_URI, "NumberConversion");
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        for (Running entry : this.running) {
+            entry.stub().stop();
+            if (entry.previousValue() == null) {
+                System.clearProperty(entry.property());
+            } else {
+                System.setProperty(entry.property(), entry.previousValue());
+            }
+        }
+        this.running.clear();
+    }
+
+    private void start(JsonStubServer<?> stub, String property, String name) {
+        try {
+            stub.withLatency(Duration.ofMillis(SuiteConfig.stubLatencyMillis())).start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to start the " + name + " stub", e);
+        }
+        this.running.add(new Running(stub, property, System.getProperty(property)));
+        System.setProperty(property, stub.baseUri());
+        System.out.println(name + " stub listening on " + stub.baseUri());
+    }
+}